@@ -0,0 +1,34 @@
+#!/usr/bin/env sh
+# Runs the k6 catalog mix against the app twice: platform threads, then virtual threads.
+# Requires the docker-compose infrastructure (postgres, redis) and k6 on the PATH.
+set -eu
+
+JAR=${JAR:-$(ls target/*.jar | grep -v original | head -n 1)}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+PROFILE=${PROFILE:-prod}
+
+mkdir -p perf/results
+
+run_mode() {
+    mode=$1
+    virtual=$2
+
+    echo "==> Starting app with spring.threads.virtual.enabled=${virtual}"
+    SPRING_THREADS_VIRTUAL_ENABLED=${virtual} java -Xmx512m -jar "$JAR" \
+        --spring.profiles.active="$PROFILE" > "perf/results/app-${mode}.log" 2>&1 &
+    pid=$!
+
+    until curl -sf "${BASE_URL}/actuator/health/readiness" > /dev/null; do
+        sleep 2
+    done
+
+    k6 run -e BASE_URL="$BASE_URL" -e MODE="$mode" perf/k6/catalog-mix.js || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "==> Summaries written to perf/results/catalog-mix-{platform,virtual}.json"
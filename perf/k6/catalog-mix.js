@@ -0,0 +1,99 @@
+// Mixed read/write load against the catalog API.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform perf/k6/catalog-mix.js
+//
+// MODE only labels the summary file, so runs against both thread modes can be compared.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'unknown';
+const AUTHORS = parseInt(__ENV.AUTHORS || '50');
+const PEAK_VUS = parseInt(__ENV.PEAK_VUS || '800');
+
+const listLatency = new Trend('latency_list_musics', true);
+const searchLatency = new Trend('latency_search_musics', true);
+const authorMusicsLatency = new Trend('latency_author_musics', true);
+const writeLatency = new Trend('latency_create_music', true);
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 10,
+            stages: [
+                { duration: '30s', target: PEAK_VUS / 4 },
+                { duration: '1m', target: PEAK_VUS },
+                { duration: '2m', target: PEAK_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        latency_author_musics: ['p(95)<250'],
+    },
+};
+
+export function setup() {
+    const ids = [];
+    for (let i = 0; i < AUTHORS; i++) {
+        const res = http.post(`${BASE_URL}/api/v1/authors`,
+            JSON.stringify({ name: `Load Author ${i}`, email: `load-${Date.now()}-${i}@example.com` }),
+            { headers: { 'Content-Type': 'application/json' } });
+        if (res.status === 201) {
+            ids.push(res.json('data.id'));
+        }
+    }
+    return { authorIds: ids };
+}
+
+export default function (data) {
+    const authorId = data.authorIds[Math.floor(Math.random() * data.authorIds.length)];
+    const roll = Math.random();
+
+    if (roll < 0.40) {
+        const res = http.get(`${BASE_URL}/api/v1/authors/${authorId}/musics`, { tags: { name: 'author-musics' } });
+        authorMusicsLatency.add(res.timings.duration);
+        check(res, { 'author musics 200': (r) => r.status === 200 });
+    } else if (roll < 0.70) {
+        const page = Math.floor(Math.random() * 5);
+        const res = http.get(`${BASE_URL}/api/v1/musics?page=${page}&size=20`, { tags: { name: 'list-musics' } });
+        listLatency.add(res.timings.duration);
+        check(res, { 'list 200': (r) => r.status === 200 });
+    } else if (roll < 0.95) {
+        const res = http.get(`${BASE_URL}/api/v1/musics/search?genre=Rock&minDuration=120&maxDuration=300`,
+            { tags: { name: 'search-musics' } });
+        searchLatency.add(res.timings.duration);
+        check(res, { 'search 200': (r) => r.status === 200 });
+    } else {
+        const res = http.post(`${BASE_URL}/api/v1/musics`,
+            JSON.stringify({
+                name: `Track ${__VU}-${__ITER}-${Date.now()}`,
+                durationSeconds: 120 + Math.floor(Math.random() * 240),
+                genre: 'Rock',
+                authorId: authorId,
+            }),
+            { headers: { 'Content-Type': 'application/json' }, tags: { name: 'create-music' } });
+        writeLatency.add(res.timings.duration);
+        check(res, { 'create 201': (r) => r.status === 201 });
+    }
+}
+
+export function handleSummary(data) {
+    return {
+        [`perf/results/catalog-mix-${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n[${MODE}] p95 author-musics=${fmt(data, 'latency_author_musics')} `
+            + `list=${fmt(data, 'latency_list_musics')} search=${fmt(data, 'latency_search_musics')} `
+            + `create=${fmt(data, 'latency_create_music')} `
+            + `reqs/s=${data.metrics.http_reqs.values.rate.toFixed(1)} `
+            + `failed=${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+    };
+}
+
+function fmt(data, metric) {
+    const m = data.metrics[metric];
+    return m ? `${m.values['p(95)'].toFixed(1)}ms` : 'n/a';
+}
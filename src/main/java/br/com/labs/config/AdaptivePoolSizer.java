@@ -0,0 +1,200 @@
+package br.com.labs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizes the Hikari pool between {@code app.datasource.adaptive-pool.min-size}
+ * and {@code max-size} instead of trusting a fixed
+ * {@code maximum-pool-size} per environment.
+ * <p>
+ * Every {@code sample-interval} the pool is sampled for callers waiting on a
+ * connection and for the share of connections in use; both are published as
+ * histograms ({@code db.pool.pending}, {@code db.pool.saturation}). Every
+ * {@code adjust-interval} the checkouts, hold times and wait times recorded
+ * by Hikari since the last adjustment are handed to {@link PoolSizePolicy},
+ * and the pool and the {@link ConcurrencyLimitedDataSource} in front of it,
+ * when there is one, are resized to its answer.
+ * <p>
+ * A larger pool takes effect on the next checkout that finds no idle
+ * connection. A smaller one only stops Hikari from opening connections past
+ * it: the ones already open keep being lent until they stay idle past
+ * {@code idle-timeout}, so only the {@link ConcurrencyLimitedDataSource}, when
+ * there is one, caps checkouts at the new size right away. Saturation is
+ * measured against the connections open while they exceed the maximum, so it
+ * never reads above 1.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.adaptive-pool.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private final HikariDataSource pool;
+    private final ConcurrencyLimitedDataSource limiter;
+    private final MeterRegistry meterRegistry;
+    private final PoolSizePolicy policy;
+    private final int configuredMinimumIdle;
+    private final DistributionSummary pendingSummary;
+    private final DistributionSummary saturationSummary;
+
+    private double pendingTotal;
+    private int samples;
+    private Usage lastUsage;
+    private volatile double demand;
+
+    public AdaptivePoolSizer(DataSource dataSource, MeterRegistry meterRegistry,
+                             @Value("${app.datasource.adaptive-pool.min-size:5}") int minSize,
+                             @Value("${app.datasource.adaptive-pool.max-size:20}") int maxSize,
+                             @Value("${app.datasource.adaptive-pool.wait-threshold:5ms}") Duration waitThreshold,
+                             @Value("${app.datasource.adaptive-pool.headroom:0.25}") double headroom,
+                             @Value("${app.datasource.adaptive-pool.latency-tolerance:2.0}") double latencyTolerance) {
+        this.pool = unwrap(dataSource, HikariDataSource.class);
+        this.limiter = unwrap(dataSource, ConcurrencyLimitedDataSource.class);
+        this.meterRegistry = meterRegistry;
+        this.policy = new PoolSizePolicy(minSize, Math.max(minSize, maxSize), waitThreshold.toNanos(),
+                headroom, latencyTolerance);
+        this.configuredMinimumIdle = pool != null ? pool.getMinimumIdle() : 0;
+        this.pendingSummary = DistributionSummary.builder("db.pool.pending")
+                .description("Callers waiting for a database connection, sampled")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry);
+        this.saturationSummary = DistributionSummary.builder("db.pool.saturation")
+                .description("Share of the connection pool in use, sampled")
+                .serviceLevelObjectives(0.25, 0.5, 0.75, 0.9, 1.0)
+                .register(meterRegistry);
+        Gauge.builder("db.pool.demand", this, sizer -> sizer.demand)
+                .description("Connections busy on average over the last adjustment interval")
+                .register(meterRegistry);
+
+        if (pool == null) {
+            log.info("DataSource is not a Hikari pool, its size will not be adjusted");
+        } else {
+            resize(Math.clamp(pool.getMaximumPoolSize(), minSize, Math.max(minSize, maxSize)));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.datasource.adaptive-pool.sample-interval:1s}")
+    public void sample() {
+        HikariPoolMXBean poolBean = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (poolBean == null) {
+            return;
+        }
+        int pending = poolBean.getThreadsAwaitingConnection() + (limiter != null ? limiter.getWaiting() : 0);
+        pendingSummary.record(pending);
+        // After a shrink, connections above the new maximum stay open until they idle out
+        int capacity = Math.max(pool.getMaximumPoolSize(), poolBean.getTotalConnections());
+        saturationSummary.record((double) poolBean.getActiveConnections() / capacity);
+        synchronized (this) {
+            pendingTotal += pending;
+            samples++;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.adaptive-pool.adjust-interval:10s}",
+            initialDelayString = "${app.datasource.adaptive-pool.adjust-interval:10s}")
+    public void adjust() {
+        if (pool == null || pool.getHikariPoolMXBean() == null) {
+            return;
+        }
+        Usage usage = usage();
+        double meanPending;
+        synchronized (this) {
+            meanPending = samples > 0 ? pendingTotal / samples : 0;
+            pendingTotal = 0;
+            samples = 0;
+        }
+        Usage previous = lastUsage;
+        lastUsage = usage;
+        if (usage == null || previous == null) {
+            return;
+        }
+
+        PoolSizePolicy.Interval interval = usage.since(previous, meanPending);
+        demand = PoolSizePolicy.demand(interval);
+        int current = pool.getMaximumPoolSize();
+        int next = policy.next(current, interval);
+        log.debug("Connection pool of {}: {}", current, interval);
+        if (next != current) {
+            log.info("Resizing connection pool from {} to {} (demand {}, mean wait {}ms, mean pending {})",
+                    current, next, String.format("%.1f", demand),
+                    String.format("%.1f", interval.meanWaitNanos() / 1e6), String.format("%.1f", meanPending));
+            resize(next);
+            Counter.builder("db.pool.resizes")
+                    .description("Connection pool size changes, by direction")
+                    .tag("direction", next > current ? "grow" : "shrink")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private void resize(int size) {
+        // Shrink the minimum first, Hikari expects it never to exceed the maximum
+        pool.getHikariConfigMXBean().setMinimumIdle(Math.min(configuredMinimumIdle, size));
+        pool.getHikariConfigMXBean().setMaximumPoolSize(size);
+        if (limiter != null) {
+            limiter.resize(size);
+        }
+    }
+
+    /**
+     * Totals of Hikari's checkout meters, plus the time spent waiting on the
+     * concurrency limit in front of the pool; null until Hikari has
+     * registered them.
+     */
+    private Usage usage() {
+        String poolName = pool.getPoolName();
+        Timer held = meterRegistry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+        Timer acquired = meterRegistry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+        if (held == null || acquired == null) {
+            return null;
+        }
+        Timer limited = meterRegistry.find("db.concurrency.wait").timer();
+        return new Usage(System.nanoTime(), held.count(), held.totalTime(TimeUnit.NANOSECONDS),
+                acquired.count(), acquired.totalTime(TimeUnit.NANOSECONDS),
+                limited != null ? limited.count() : 0, limited != null ? limited.totalTime(TimeUnit.NANOSECONDS) : 0);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private record Usage(long takenAtNanos, long held, double heldNanos, long acquired, double acquireNanos,
+                         long limited, double limitNanos) {
+
+        PoolSizePolicy.Interval since(Usage previous, double meanPending) {
+            double seconds = Math.max(1, takenAtNanos - previous.takenAtNanos) / 1e9;
+            long checkouts = held - previous.held;
+            double meanHold = checkouts > 0 ? (heldNanos - previous.heldNanos) / checkouts : 0;
+            double meanWait = mean(acquireNanos - previous.acquireNanos, acquired - previous.acquired)
+                    + mean(limitNanos - previous.limitNanos, limited - previous.limited);
+            return new PoolSizePolicy.Interval(checkouts / seconds, meanHold, meanWait, meanPending);
+        }
+
+        private static double mean(double totalNanos, long count) {
+            return count > 0 ? totalNanos / count : 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.labs.config;
+
+import br.com.labs.web.AdmissionControl;
+import br.com.labs.web.AdmissionControlInterceptor;
+import br.com.labs.web.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Admission control in front of the catalog controllers. Streaming endpoints
+ * (changes, events) are long-lived by design and are not limited here.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<AdmissionControlInterceptor> interceptor;
+
+    public AdmissionControlConfig(ObjectProvider<AdmissionControlInterceptor> interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @Bean
+    public AdmissionControl admissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        return new AdmissionControl(properties, meterRegistry);
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(AdmissionControl admissionControl) {
+        return new AdmissionControlInterceptor(admissionControl);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor.getObject())
+                .addPathPatterns("/api/v1/authors/**", "/api/v1/musics/**");
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.labs.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Spring Boot's {@code applicationTaskExecutor}, which
+ * switches to virtual threads together with Tomcat and the scheduler when
+ * {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,39 @@
+package br.com.labs.config;
+
+import br.com.labs.event.CatalogEventRelay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class CatalogEventsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogEventsConfig.class);
+
+    @Bean
+    public RedisMessageListenerContainer catalogEventListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CatalogEventRelay catalogEventRelay,
+                                                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("catalog-events-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
+
+        if (catalogEventRelay.isRedisEnabled()) {
+            log.info("Subscribing to catalog events on Redis channel: {}", catalogEventRelay.getChannel());
+            container.addMessageListener(catalogEventRelay, new ChannelTopic(catalogEventRelay.getChannel()));
+        }
+
+        return container;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.labs.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most {@code permits} callers into the connection pool at a time.
+ * With virtual threads, thousands of requests can reach the pool at once; parking
+ * them on a fair semaphore is far cheaper than letting them all contend inside
+ * Hikari until {@code connection-timeout}. The permit is returned when the
+ * connection is closed. {@link #resize(int)} changes the number of permits
+ * while callers hold and wait for them.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final ResizableSemaphore permits;
+    private int limit;
+    private final long acquireTimeoutNanos;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int permits, Duration acquireTimeout,
+                                        MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new ResizableSemaphore(permits);
+        this.limit = permits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.waitTimer = Timer.builder("db.concurrency.wait")
+                .description("Time spent waiting for a database concurrency permit")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("db.concurrency.rejections")
+                .description("Connection requests that timed out waiting for a permit")
+                .register(meterRegistry);
+        Gauge.builder("db.concurrency.waiting", this.permits, Semaphore::getQueueLength)
+                .description("Threads queued for a database concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("db.concurrency.available", this.permits, Semaphore::availablePermits)
+                .description("Free database concurrency permits")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return permitReleasing(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return permitReleasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Sets the number of callers admitted at a time. When shrinking, callers
+     * already admitted keep their connections; new ones wait until enough of
+     * them have closed theirs.
+     */
+    public synchronized void resize(int newLimit) {
+        if (newLimit > limit) {
+            permits.release(newLimit - limit);
+        } else if (newLimit < limit) {
+            permits.reducePermits(limit - newLimit);
+        }
+        limit = newLimit;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejections.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out waiting for a database concurrency permit after "
+                                + Duration.ofNanos(acquireTimeoutNanos).toMillis() + "ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", ex);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Connection permitReleasing(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                try {
+                    return invoke(connection, method, args);
+                } finally {
+                    permits.release();
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                ConcurrencyLimitedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
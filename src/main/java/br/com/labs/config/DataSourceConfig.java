@@ -0,0 +1,43 @@
+package br.com.labs.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment,
+                                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+
+                int permits = environment.getProperty("app.datasource.concurrency-limit.permits", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration acquireTimeout = environment.getProperty("app.datasource.concurrency-limit.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+
+                log.info("Limiting DataSource '{}' to {} concurrent connections (acquire timeout {})",
+                        beanName, permits, acquireTimeout);
+                return new ConcurrencyLimitedDataSource(dataSource, permits, acquireTimeout, meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.labs.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cancels statements that are still running when the {@link QueryDeadline} of
+ * the thread that started them passes, so a request that has run out of time
+ * stops holding its pooled connection and its Postgres backend.
+ * <p>
+ * Each execution schedules a {@link Statement#cancel()} for the time left and
+ * unschedules it when the statement returns; a statement started after the
+ * deadline fails without reaching the database. Running statements are also
+ * registered with their deadline, which cancels them when the request is
+ * {@linkplain QueryDeadline#abort() aborted}. Cancellations surface as
+ * {@code SQLState 57014} and are counted in {@code db.query.cancellations}.
+ * Connections taken by threads without a deadline are returned unwrapped.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineAwareDataSource.class);
+
+    // Postgres "query_canceled", also what the driver reports for Statement.cancel()
+    private static final String QUERY_CANCELED = "57014";
+
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor canceller;
+
+    public DeadlineAwareDataSource(DataSource target, MeterRegistry meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.canceller = new ScheduledThreadPoolExecutor(1,
+                Thread.ofPlatform().name("query-canceller").daemon().factory());
+        // Almost every cancellation is unscheduled; don't keep them queued until they would have fired
+        this.canceller.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return QueryDeadline.current() != null ? deadlineBound(connection) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return QueryDeadline.current() != null ? deadlineBound(connection) : connection;
+    }
+
+    /**
+     * Stops the canceller and closes the pool this data source wraps, which is
+     * no longer the bean the container would close.
+     */
+    @Override
+    public void close() throws Exception {
+        canceller.shutdownNow();
+        DataSource target = getTargetDataSource();
+        while (target instanceof DelegatingDataSource delegating) {
+            target = delegating.getTargetDataSource();
+        }
+        if (target instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection deadlineBound(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement", "prepareStatement", "prepareCall":
+                    return deadlineBound((Statement) invoke(connection, method, args), method.getReturnType());
+                default:
+                    return invoke(connection, method, args);
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                DeadlineAwareDataSource.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private Statement deadlineBound(Statement statement, Class<?> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (method.getName().startsWith("execute")) {
+                return execute(statement, method, args);
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(
+                DeadlineAwareDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private Object execute(Statement statement, Method method, Object[] args) throws Throwable {
+        QueryDeadline deadline = QueryDeadline.current();
+        if (deadline == null) {
+            return invoke(statement, method, args);
+        }
+        long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos <= 0) {
+            count(deadline, "expired");
+            throw new SQLTimeoutException("Request deadline passed before the statement was sent", QUERY_CANCELED);
+        }
+        // Registered before the check, so an abort in between still cancels it
+        deadline.started(statement);
+        if (deadline.aborted()) {
+            deadline.finished(statement);
+            count(deadline, "aborted");
+            throw new SQLException("Request aborted before the statement was sent", QUERY_CANCELED);
+        }
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ScheduledFuture<?> cancellation = canceller.schedule(() -> {
+            cancelled.set(true);
+            try {
+                // A no-op when the statement has already returned
+                statement.cancel();
+            } catch (SQLException ex) {
+                log.debug("Could not cancel statement past its deadline: {}", ex.getMessage());
+            }
+        }, remainingNanos, TimeUnit.NANOSECONDS);
+        try {
+            return invoke(statement, method, args);
+        } catch (SQLException ex) {
+            if (QUERY_CANCELED.equals(ex.getSQLState())) {
+                if (cancelled.get()) {
+                    count(deadline, deadline.clientDeadline() ? "deadline" : "timeout");
+                } else if (deadline.aborted()) {
+                    count(deadline, "aborted");
+                }
+            }
+            throw ex;
+        } finally {
+            cancellation.cancel(false);
+            deadline.finished(statement);
+        }
+    }
+
+    private void count(QueryDeadline deadline, String reason) {
+        Counter.builder("db.query.cancellations")
+                .description("Statements cancelled, or never sent, because their request ran out of time or was aborted")
+                .tag("group", deadline.group())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
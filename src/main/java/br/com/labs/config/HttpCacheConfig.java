@@ -0,0 +1,51 @@
+package br.com.labs.config;
+
+import br.com.labs.web.HttpCacheProperties;
+import br.com.labs.web.HttpSurrogateKeyPurger;
+import br.com.labs.web.LocalSurrogateKeyPurger;
+import br.com.labs.web.SurrogateKeyPurgeListener;
+import br.com.labs.web.SurrogateKeyPurger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Edge caching: purging of changed surrogate keys after commit (the headers are
+ * added by {@link br.com.labs.web.HttpCacheHeadersAdvice}). The purger is pluggable;
+ * any {@link SurrogateKeyPurger} bean replaces the built-in ones.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.http-cache.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class HttpCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpCacheConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean(SurrogateKeyPurger.class)
+    @ConditionalOnProperty(name = "app.http-cache.purge.type", havingValue = "http")
+    public SurrogateKeyPurger httpSurrogateKeyPurger(RestClient.Builder restClientBuilder, HttpCacheProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        log.info("Purging surrogate keys with {} {}", properties.purge().method(), properties.purge().url());
+        return new HttpSurrogateKeyPurger(restClientBuilder, properties.purge(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SurrogateKeyPurger.class)
+    public SurrogateKeyPurger localSurrogateKeyPurger() {
+        return new LocalSurrogateKeyPurger();
+    }
+
+    @Bean
+    public SurrogateKeyPurgeListener surrogateKeyPurgeListener(SurrogateKeyPurger purger) {
+        return new SurrogateKeyPurgeListener(purger);
+    }
+}
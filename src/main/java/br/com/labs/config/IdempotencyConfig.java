@@ -0,0 +1,39 @@
+package br.com.labs.config;
+
+import br.com.labs.web.IdempotencyFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} handling for the create endpoints listed in
+ * {@code app.idempotency.paths}. Runs before the dispatcher, so replays skip
+ * admission control and the controllers entirely.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            RedisConnectionFactory connectionFactory, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.idempotency.paths:/api/v1/musics,/api/v1/authors,/api/v1/jobs}") List<String> paths,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout,
+            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                connectionFactory, objectMapper, meterRegistry, ttl, inFlightTimeout, waitTimeout));
+        registration.setUrlPatterns(paths);
+        return registration;
+    }
+}
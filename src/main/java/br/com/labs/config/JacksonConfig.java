@@ -0,0 +1,50 @@
+package br.com.labs.config;
+
+import br.com.labs.web.IsoLocalDateTimeSerializer;
+import br.com.labs.web.PrefetchingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serialization tuning for the response DTOs. Module beans are installed by
+ * Spring Boot into the shared {@code ObjectMapper} (and the Smile/CBOR mappers
+ * built from the same builder), after {@code JavaTimeModule}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Record accessors invoked through generated lambdas instead of reflection.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module isoLocalDateTimeModule() {
+        return localDateTimeModule();
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter so writers are reused per body type.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new PrefetchingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    public static Module localDateTimeModule() {
+        return new SimpleModule("iso-local-date-time")
+                .addSerializer(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE);
+    }
+}
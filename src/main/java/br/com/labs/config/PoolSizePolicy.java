@@ -0,0 +1,78 @@
+package br.com.labs.config;
+
+/**
+ * Picks the connection pool size for the next interval from what the last one
+ * looked like.
+ * <p>
+ * Demand is estimated with Little's law: connections checked out per second
+ * times how long each was held. The pool grows, to that demand plus
+ * {@code headroom} or by a quarter, whichever is larger, only while callers
+ * wait for connections; it shrinks by one per interval while nobody waits and
+ * the demand fits in a smaller pool. Growth stops while hold times exceed
+ * {@code latencyTolerance} times the best seen in an interval that kept at
+ * least one connection busy without anyone waiting: the database itself is
+ * slowing down, and more connections would only add contention. That best
+ * drifts up a little every interval, so a lasting change of workload, or a
+ * pool that starts out too small, is eventually given connections to try.
+ * Not thread-safe.
+ */
+final class PoolSizePolicy {
+
+    // How much the best hold time may rise per interval, so it follows lasting changes in workload
+    private static final double BASELINE_DRIFT = 0.02;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long waitThresholdNanos;
+    private final double headroom;
+    private final double latencyTolerance;
+
+    private double baselineHoldNanos;
+
+    PoolSizePolicy(int minSize, int maxSize, long waitThresholdNanos, double headroom, double latencyTolerance) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.waitThresholdNanos = waitThresholdNanos;
+        this.headroom = headroom;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    int next(int current, Interval interval) {
+        int size = Math.clamp(current, minSize, maxSize);
+        if (interval.checkoutsPerSecond() <= 0) {
+            return Math.max(minSize, size - 1);
+        }
+
+        boolean starved = interval.meanPending() > 0 || interval.meanWaitNanos() > waitThresholdNanos;
+        double demand = demand(interval);
+        if (baselineHoldNanos > 0) {
+            baselineHoldNanos *= 1 + BASELINE_DRIFT;
+        }
+        boolean degraded = baselineHoldNanos > 0 && interval.meanHoldNanos() > baselineHoldNanos * latencyTolerance;
+        // Only intervals that kept connections busy without queueing say how fast the database can be
+        if (!starved && demand >= 1 && (baselineHoldNanos == 0 || interval.meanHoldNanos() < baselineHoldNanos)) {
+            baselineHoldNanos = interval.meanHoldNanos();
+        }
+
+        int wanted = (int) Math.ceil(demand * (1 + headroom));
+        if (starved) {
+            return degraded ? size : Math.min(maxSize, Math.max(wanted, size + Math.max(1, size / 4)));
+        }
+        return wanted < size ? Math.max(minSize, size - 1) : size;
+    }
+
+    /**
+     * Connections busy on average over {@code interval}.
+     */
+    static double demand(Interval interval) {
+        return interval.checkoutsPerSecond() * interval.meanHoldNanos() / 1e9;
+    }
+
+    /**
+     * Pool usage over one interval: connection checkouts per second, mean
+     * time each was held, mean time callers waited for one, and mean number of
+     * callers waiting.
+     */
+    record Interval(double checkoutsPerSecond, double meanHoldNanos, double meanWaitNanos, double meanPending) {
+    }
+}
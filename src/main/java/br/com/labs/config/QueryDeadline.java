@@ -0,0 +1,103 @@
+package br.com.labs.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The point in time by which the database work of the current request has to
+ * be done. The web layer sets it on the request thread and
+ * {@link DeadlineAwareDataSource} reads it on every statement, so it reaches
+ * JDBC through the services without being passed along. Threads without one
+ * (schedulers, the author loader) run their statements unbounded.
+ * <p>
+ * The statements running under a deadline are tracked, so the web layer can
+ * {@link #abort()} them when the servlet container reports that the client
+ * went away.
+ */
+public final class QueryDeadline {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryDeadline.class);
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final String group;
+    private final boolean clientDeadline;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean aborted;
+
+    /**
+     * @param group          endpoint group the deadline was derived for, used as a metric tag
+     * @param clientDeadline whether the caller's {@code X-Request-Deadline} was
+     *                       sooner than the group's statement timeout
+     */
+    public QueryDeadline(long deadlineNanos, String group, boolean clientDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.group = group;
+        this.clientDeadline = clientDeadline;
+    }
+
+    /**
+     * The deadline of the current thread, or {@code null}.
+     */
+    public static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    public static void set(QueryDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public String group() {
+        return group;
+    }
+
+    public boolean clientDeadline() {
+        return clientDeadline;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean aborted() {
+        return aborted;
+    }
+
+    /**
+     * Cancels the statements running under this deadline; later ones fail
+     * before they are sent.
+     */
+    public void abort() {
+        aborted = true;
+        for (Statement statement : running) {
+            try {
+                // A no-op when the statement has already returned
+                statement.cancel();
+            } catch (SQLException ex) {
+                log.debug("Could not cancel statement of an aborted request: {}", ex.getMessage());
+            }
+        }
+    }
+
+    void started(Statement statement) {
+        running.add(statement);
+    }
+
+    void finished(Statement statement) {
+        running.remove(statement);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.labs.config;
+
+import br.com.labs.web.QueryDeadlineInterceptor;
+import br.com.labs.web.QueryTimeoutProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Statement timeouts per endpoint group, shortened by the caller's
+ * {@code X-Request-Deadline}. Like admission control, it leaves out the
+ * streaming endpoints (changes, events), which are long-lived by design.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.query-timeout.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryTimeoutProperties.class)
+public class QueryTimeoutConfig implements WebMvcConfigurer {
+
+    private final QueryDeadlineInterceptor deadlineInterceptor;
+
+    public QueryTimeoutConfig(QueryTimeoutProperties properties) {
+        this.deadlineInterceptor = new QueryDeadlineInterceptor(properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor deadlineAwareDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DeadlineAwareDataSource) {
+                    return bean;
+                }
+                return new DeadlineAwareDataSource(dataSource, meterRegistry.getObject());
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor)
+                .addPathPatterns("/api/v1/authors/**", "/api/v1/musics/**", "/api/v1/analytics/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Only requests the interceptor above gave a deadline carry one to their async thread
+        configurer.registerCallableInterceptors(deadlineInterceptor);
+    }
+}
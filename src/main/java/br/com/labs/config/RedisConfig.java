@@ -1,5 +1,8 @@
 package br.com.labs.config;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
@@ -28,6 +31,7 @@ public class RedisConfig {
     private static final Logger log = LoggerFactory.getLogger(RedisConfig.class);
 
     public static final String AUTHOR_MUSICS_CACHE = "authorMusics";
+    public static final String AUTHOR_MUSIC_CHUNKS_CACHE = "authorMusicChunks";
 
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
@@ -36,7 +40,7 @@ public class RedisConfig {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer()))
                 .disableCachingNullValues();
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
@@ -44,7 +48,14 @@ public class RedisConfig {
         cacheConfigurations.put(AUTHOR_MUSICS_CACHE, RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer()))
+                .disableCachingNullValues());
+
+        // Orphaned by a new header generation rather than evicted, so they only expire
+        cacheConfigurations.put(AUTHOR_MUSIC_CHUNKS_CACHE, RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(5))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer()))
                 .disableCachingNullValues());
 
         log.info("Redis Cache configured with {} custom caches", cacheConfigurations.size());
@@ -56,9 +67,21 @@ public class RedisConfig {
                 .build();
     }
 
-    @CacheEvict(allEntries = true, cacheNames = {AUTHOR_MUSICS_CACHE})
+    /**
+     * Typed JSON values shared by every reader of the cache, including the reactive
+     * read pods. Response DTOs carry {@code LocalDateTime} fields, so the JSR-310
+     * module is required; Blackbird replaces reflective accessors on every hit.
+     */
+    public static GenericJackson2JsonRedisSerializer cacheValueSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @CacheEvict(allEntries = true, cacheNames = {AUTHOR_MUSICS_CACHE, AUTHOR_MUSIC_CHUNKS_CACHE})
     @Scheduled(fixedDelay = 3600000)
     public void evictAuthorMusicsCache() {
-        log.info("Evicting all entries from {} cache", AUTHOR_MUSICS_CACHE);
+        log.info("Evicting all entries from {} and {} caches", AUTHOR_MUSICS_CACHE, AUTHOR_MUSIC_CHUNKS_CACHE);
     }
 }
@@ -0,0 +1,72 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorDistribution;
+import br.com.labs.dto.response.GenreDurationStats;
+import br.com.labs.service.AnalyticsService;
+import br.com.labs.web.AdmissionGroup;
+import br.com.labs.web.EndpointGroup;
+import br.com.labs.web.HttpCachePolicy;
+import br.com.labs.web.SurrogateKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@Tag(name = "Analytics", description = "Aggregates over the whole catalog")
+public class AnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/durations")
+    @HttpCachePolicy(value = "analytics", surrogateKeys = SurrogateKeys.MUSICS)
+    @AdmissionGroup(EndpointGroup.CACHED_READ)
+    @Operation(summary = "Duration percentiles by genre",
+            description = "Count, range, mean and percentiles of music durations per genre, computed from an "
+                    + "in-memory columnar snapshot of the catalog that lags commits slightly")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Statistics computed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Percentile out of range"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Snapshot is still being loaded")
+    })
+    public ResponseEntity<ApiResponse<List<GenreDurationStats>>> durations(
+            @Parameter(description = "Percentiles to compute, each greater than 0 and at most 100")
+            @RequestParam(defaultValue = "50,90,99") List<Double> percentiles) {
+        log.debug("REST request to get duration percentiles {} by genre", percentiles);
+
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.durationsByGenre(percentiles)));
+    }
+
+    @GetMapping("/author-distribution")
+    @HttpCachePolicy(value = "analytics", surrogateKeys = SurrogateKeys.MUSICS)
+    @AdmissionGroup(EndpointGroup.CACHED_READ)
+    @Operation(summary = "Musics per author histogram",
+            description = "Number of authors per range of musics per author (app.analytics.author-music-buckets), "
+                    + "computed from an in-memory columnar snapshot of the catalog")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Histogram computed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Snapshot is still being loaded")
+    })
+    public ResponseEntity<ApiResponse<AuthorDistribution>> authorDistribution() {
+        log.debug("REST request to get the distribution of musics per author");
+
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.authorDistribution()));
+    }
+}
@@ -3,9 +3,17 @@ package br.com.labs.controller;
 import br.com.labs.dto.request.AuthorRequest;
 import br.com.labs.dto.response.ApiResponse;
 import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.AuthorStatsResponse;
 import br.com.labs.dto.response.AuthorWithMusicsResponse;
 import br.com.labs.dto.response.PageResponse;
 import br.com.labs.service.AuthorService;
+import br.com.labs.web.AdmissionGroup;
+import br.com.labs.web.EndpointGroup;
+import br.com.labs.web.HttpCachePolicy;
+import br.com.labs.web.ResourceVersion;
+import br.com.labs.web.ResourceVersions;
+import br.com.labs.web.ResponseBodyCache;
+import br.com.labs.web.SurrogateKeys;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,7 +24,9 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,9 +36,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/authors")
@@ -38,9 +53,14 @@ public class AuthorController {
     private static final Logger log = LoggerFactory.getLogger(AuthorController.class);
 
     private final AuthorService authorService;
+    private final ResourceVersions resourceVersions;
+    private final ResponseBodyCache responseBodyCache;
 
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, ResourceVersions resourceVersions,
+                            ResponseBodyCache responseBodyCache) {
         this.authorService = authorService;
+        this.resourceVersions = resourceVersions;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @PostMapping
@@ -62,38 +82,125 @@ public class AuthorController {
     }
 
     @GetMapping("/{id}")
+    @HttpCachePolicy("author")
     @Operation(summary = "Get author by ID", description = "Retrieves an author by their unique identifier")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Author found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
     })
     public ResponseEntity<ApiResponse<AuthorResponse>> findById(
             @Parameter(description = "Author ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            NativeWebRequest webRequest) throws IOException {
         log.debug("REST request to get author by ID: {}", id);
 
+        ResourceVersion version = resourceVersions.author(id);
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
+        if (responseBodyCache.write(webRequest, "author", version,
+                () -> ApiResponse.success(authorService.findById(id)))) {
+            return null;
+        }
+
         AuthorResponse author = authorService.findById(id);
 
         return ResponseEntity.ok(ApiResponse.success(author));
     }
 
     @GetMapping("/{id}/musics")
+    @HttpCachePolicy("author-musics")
+    @AdmissionGroup(EndpointGroup.CACHED_READ)
     @Operation(summary = "Get author with musics (Cached)",
-            description = "Retrieves an author with all their musics. This endpoint uses Redis cache with 5 min TTL.")
+            description = "Retrieves an author with one page of their musics, ordered by ID. "
+                    + "The author and chunks of musics are cached in Redis with 5 min TTL.")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Author found with musics"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
     })
     public ResponseEntity<ApiResponse<AuthorWithMusicsResponse>> findByIdWithMusics(
             @Parameter(description = "Author ID", required = true)
-            @PathVariable Long id) {
-        log.info("REST request to get author with musics by ID: {} (cached endpoint)", id);
+            @PathVariable Long id,
+            @Parameter(description = "Pagination of the musics (sort is ignored, musics are ordered by ID)")
+            @PageableDefault(size = 100) Pageable pageable,
+            NativeWebRequest webRequest) throws IOException {
+        log.info("REST request to get author with musics by ID: {} (cached endpoint) - page: {}, size: {}",
+                id, pageable.getPageNumber(), pageable.getPageSize());
+
+        ResourceVersion version = resourceVersions.author(id);
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
 
-        AuthorWithMusicsResponse author = authorService.findByIdWithMusics(id);
+        String page = pageable.getPageNumber() + "x" + pageable.getPageSize();
+        if (responseBodyCache.write(webRequest, "author-musics", page, version,
+                () -> ApiResponse.success(authorService.findByIdWithMusics(id, pageable)))) {
+            return null;
+        }
+
+        AuthorWithMusicsResponse author = authorService.findByIdWithMusics(id, pageable);
 
         return ResponseEntity.ok(ApiResponse.success(author));
     }
 
+    @GetMapping("/{id}/stats")
+    @HttpCachePolicy("author-stats")
+    @AdmissionGroup(EndpointGroup.READ)
+    @Operation(summary = "Get author statistics",
+            description = "Music count, total and average duration and musics per genre of an author, "
+                    + "read from totals maintained on every music change")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Author statistics found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
+    })
+    public ResponseEntity<ApiResponse<AuthorStatsResponse>> getStats(
+            @Parameter(description = "Author ID", required = true)
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        log.debug("REST request to get stats of author ID: {}", id);
+
+        ResourceVersion version = resourceVersions.author(id);
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
+        AuthorStatsResponse stats = authorService.getStats(id);
+
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    @GetMapping("/top")
+    @HttpCachePolicy(value = "authors-top", surrogateKeys = {SurrogateKeys.AUTHORS, SurrogateKeys.MUSICS})
+    @AdmissionGroup(EndpointGroup.READ)
+    @Operation(summary = "Top authors",
+            description = "Authors with at least one music ranked by musicCount, totalDurationSeconds or "
+                    + "averageDurationSeconds (sort=property,asc|desc; default musicCount,desc)")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Top authors retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag")
+    })
+    public ResponseEntity<ApiResponse<List<AuthorStatsResponse>>> findTop(
+            @Parameter(description = "Ranking, e.g. totalDurationSeconds,desc")
+            @SortDefault(sort = "musicCount", direction = Sort.Direction.DESC) Sort sort,
+            @Parameter(description = "Number of authors")
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
+        log.debug("REST request to get top {} authors by {}", limit, sort);
+
+        ResourceVersion version = resourceVersions.catalog();
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
+        List<AuthorStatsResponse> authors = authorService.findTop(sort, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(authors));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update author", description = "Updates an existing author with the provided information")
     @ApiResponses(value = {
@@ -132,15 +239,23 @@ public class AuthorController {
     }
 
     @GetMapping
+    @HttpCachePolicy(value = "authors", surrogateKeys = SurrogateKeys.AUTHORS)
     @Operation(summary = "List all authors", description = "Retrieves a paginated list of all authors")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Authors retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag")
     })
     public ResponseEntity<ApiResponse<PageResponse<AuthorResponse>>> findAll(
             @Parameter(description = "Pagination parameters")
-            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            WebRequest webRequest) {
         log.debug("REST request to list authors - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
+        ResourceVersion version = resourceVersions.catalog();
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
         PageResponse<AuthorResponse> authors = authorService.findAll(pageable);
 
         return ResponseEntity.ok(ApiResponse.success(authors));
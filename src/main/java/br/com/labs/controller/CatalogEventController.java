@@ -0,0 +1,39 @@
+package br.com.labs.controller;
+
+import br.com.labs.event.CatalogEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@Tag(name = "Events", description = "Live stream of catalog mutations")
+public class CatalogEventController {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogEventController.class);
+
+    private final CatalogEventBroadcaster broadcaster;
+
+    public CatalogEventController(CatalogEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to catalog changes",
+            description = "Server-sent events stream pushing author and music mutations after they are committed")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Subscription opened")
+    })
+    public SseEmitter subscribe() {
+        log.debug("REST request to subscribe to catalog events");
+
+        return broadcaster.subscribe();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.request.ChangeToken;
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.ChangeFeedResponse;
+import br.com.labs.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@Tag(name = "Changes", description = "Incremental feed of catalog changes for downstream replicas")
+public class ChangeFeedController {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get catalog changes",
+            description = "Returns created, updated and deleted authors and musics after the given token, in commit order")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid token"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "410", description = "Token older than the tombstone retention, a full resync is required")
+    })
+    public ResponseEntity<ApiResponse<ChangeFeedResponse>> getChanges(
+            @Parameter(description = "Token returned by the previous call; omit to start from the beginning")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes to return")
+            @RequestParam(defaultValue = "500") int limit) {
+        log.debug("REST request to get changes since token: {}", since);
+
+        ChangeFeedResponse changes = changeFeedService.getChanges(since, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+
+    @GetMapping(produces = NDJSON_VALUE)
+    @Operation(summary = "Stream catalog changes",
+            description = "Streams changes as newline-delimited JSON, ending with a checkpoint line holding the next token")
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @Parameter(description = "Token returned by the previous call; omit to start from the beginning")
+            @RequestParam(required = false) String since) {
+        log.info("REST request to stream changes since token: {}", since);
+
+        ChangeToken token = changeFeedService.parseToken(since);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(output -> changeFeedService.streamChanges(token, output));
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.JobResponse;
+import br.com.labs.service.BulkJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+@Tag(name = "Jobs", description = "Bulk maintenance jobs, run in the background in chunks")
+public class JobController {
+
+    private static final Logger log = LoggerFactory.getLogger(JobController.class);
+
+    private final BulkJobService jobService;
+
+    public JobController(BulkJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Submit a bulk job",
+            description = "Queues the job and returns at once; any pod may run it. Poll the Location for progress")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job queued"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing or invalid parameters for the job type"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
+    })
+    public ResponseEntity<ApiResponse<JobResponse>> submit(@RequestBody @Valid JobRequest request) {
+        log.info("REST request to submit bulk job: {}", request.type());
+
+        JobResponse job = jobService.submit(request);
+
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/jobs/" + job.id()))
+                .body(ApiResponse.success(job, "Job queued"));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get job state", description = "Status, progress and outcome of a bulk job")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Job not found")
+    })
+    public ResponseEntity<ApiResponse<JobResponse>> findById(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable Long id) {
+        log.debug("REST request to get bulk job: {}", id);
+
+        return ResponseEntity.ok(ApiResponse.success(jobService.findById(id)));
+    }
+}
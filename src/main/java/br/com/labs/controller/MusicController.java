@@ -4,8 +4,19 @@ import br.com.labs.dto.request.MusicRequest;
 import br.com.labs.dto.request.MusicSearchRequest;
 import br.com.labs.dto.response.ApiResponse;
 import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
 import br.com.labs.dto.response.PageResponse;
+import br.com.labs.dto.response.TrendingMusic;
 import br.com.labs.service.MusicService;
+import br.com.labs.service.PlayCounter;
+import br.com.labs.service.TrendingService;
+import br.com.labs.web.AdmissionGroup;
+import br.com.labs.web.EndpointGroup;
+import br.com.labs.web.HttpCachePolicy;
+import br.com.labs.web.ResourceVersion;
+import br.com.labs.web.ResourceVersions;
+import br.com.labs.web.ResponseBodyCache;
+import br.com.labs.web.SurrogateKeys;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -25,8 +36,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/musics")
@@ -36,9 +51,18 @@ public class MusicController {
     private static final Logger log = LoggerFactory.getLogger(MusicController.class);
 
     private final MusicService musicService;
+    private final PlayCounter playCounter;
+    private final TrendingService trendingService;
+    private final ResourceVersions resourceVersions;
+    private final ResponseBodyCache responseBodyCache;
 
-    public MusicController(MusicService musicService) {
+    public MusicController(MusicService musicService, PlayCounter playCounter, TrendingService trendingService,
+                           ResourceVersions resourceVersions, ResponseBodyCache responseBodyCache) {
         this.musicService = musicService;
+        this.playCounter = playCounter;
+        this.trendingService = trendingService;
+        this.resourceVersions = resourceVersions;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @PostMapping
@@ -60,21 +84,54 @@ public class MusicController {
     }
 
     @GetMapping("/{id}")
+    @HttpCachePolicy("music")
     @Operation(summary = "Get music by ID", description = "Retrieves a music by its unique identifier")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Music found"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Music not found")
     })
     public ResponseEntity<ApiResponse<MusicResponse>> findById(
             @Parameter(description = "Music ID", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            NativeWebRequest webRequest) throws IOException {
         log.debug("REST request to get music by ID: {}", id);
 
+        ResourceVersion version = resourceVersions.music(id);
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
+        // Recorded once the music is known to exist, so unknown ids never trend
+        if (responseBodyCache.write(webRequest, "music", version,
+                () -> ApiResponse.success(musicService.findById(id)))) {
+            trendingService.recordRequest(id);
+            return null;
+        }
+
         MusicResponse music = musicService.findById(id);
+        trendingService.recordRequest(id);
 
         return ResponseEntity.ok(ApiResponse.success(music));
     }
 
+    @GetMapping("/trending")
+    @HttpCachePolicy("trending")
+    @AdmissionGroup(EndpointGroup.CACHED_READ)
+    @Operation(summary = "Trending musics",
+            description = "Musics most requested through GET /musics/{id} and /musics/search over all pods, with "
+                    + "requests decaying by app.trending.half-life; refreshed every app.trending.publish-interval")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Trending musics retrieved successfully")
+    })
+    public ResponseEntity<ApiResponse<List<TrendingMusic>>> trending(
+            @Parameter(description = "Number of musics, at most app.trending.size")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("REST request to get the {} trending musics", limit);
+
+        return ResponseEntity.ok(ApiResponse.success(trendingService.trending(limit)));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update music", description = "Updates an existing music with the provided information")
     @ApiResponses(value = {
@@ -111,27 +168,54 @@ public class MusicController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/plays")
+    @AdmissionGroup(EndpointGroup.PLAY)
+    @Operation(summary = "Record a play",
+            description = "Counts one play of the music. Plays are buffered in memory and written every "
+                    + "app.plays.flush-interval; plays of a music that no longer exists are dropped then")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Play recorded")
+    })
+    public ResponseEntity<Void> recordPlay(
+            @Parameter(description = "Music ID", required = true)
+            @PathVariable Long id) {
+        // Not logged: this endpoint takes tens of thousands of requests per second
+        playCounter.record(id);
+        return ResponseEntity.accepted().build();
+    }
+
     @GetMapping
+    @HttpCachePolicy(value = "musics", surrogateKeys = SurrogateKeys.MUSICS)
     @Operation(summary = "List all musics", description = "Retrieves a paginated list of all musics")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Musics retrieved successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Musics retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag")
     })
     public ResponseEntity<ApiResponse<PageResponse<MusicResponse>>> findAll(
             @Parameter(description = "Pagination parameters")
-            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            WebRequest webRequest) {
         log.debug("REST request to list musics - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
+        ResourceVersion version = resourceVersions.catalog();
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
         PageResponse<MusicResponse> musics = musicService.findAll(pageable);
 
         return ResponseEntity.ok(ApiResponse.success(musics));
     }
 
     @GetMapping("/search")
+    @HttpCachePolicy(value = "music-search", surrogateKeys = SurrogateKeys.MUSICS)
+    @AdmissionGroup(EndpointGroup.SEARCH)
     @Operation(summary = "Search musics", description = "Search musics with dynamic filters using Criteria API")
     @ApiResponses(value = {
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag")
     })
-    public ResponseEntity<ApiResponse<PageResponse<MusicResponse>>> search(
+    public ResponseEntity<ApiResponse<MusicSearchResponse>> search(
             @Parameter(description = "Filter by music name (partial match)")
             @RequestParam(required = false) String name,
             @Parameter(description = "Filter by genre")
@@ -142,30 +226,47 @@ public class MusicController {
             @RequestParam(required = false) Integer minDuration,
             @Parameter(description = "Maximum duration in seconds")
             @RequestParam(required = false) Integer maxDuration,
+            @Parameter(description = "Also count all matches per genre and duration range")
+            @RequestParam(defaultValue = "false") boolean facets,
             @Parameter(description = "Pagination parameters")
-            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            WebRequest webRequest) {
 
         log.info("REST request to search musics with filters");
 
+        ResourceVersion version = resourceVersions.catalog();
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
         MusicSearchRequest searchRequest = new MusicSearchRequest(name, genre, authorId, minDuration, maxDuration);
-        PageResponse<MusicResponse> musics = musicService.search(searchRequest, pageable);
+        MusicSearchResponse musics = musicService.search(searchRequest, pageable, facets);
+        trendingService.recordRequests(musics.content().stream().map(MusicResponse::id).toList());
 
         return ResponseEntity.ok(ApiResponse.success(musics));
     }
 
     @GetMapping("/author/{authorId}")
+    @HttpCachePolicy(value = "musics", surrogateKeys = SurrogateKeys.MUSICS)
     @Operation(summary = "Get musics by author", description = "Retrieves all musics by a specific author")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Musics retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Author not found")
     })
     public ResponseEntity<ApiResponse<PageResponse<MusicResponse>>> findByAuthor(
             @Parameter(description = "Author ID", required = true)
             @PathVariable Long authorId,
             @Parameter(description = "Pagination parameters")
-            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            WebRequest webRequest) {
         log.debug("REST request to get musics by author ID: {}", authorId);
 
+        ResourceVersion version = resourceVersions.catalog();
+        if (resourceVersions.isNotModified(webRequest, version)) {
+            return null;
+        }
+
         PageResponse<MusicResponse> musics = musicService.findByAuthorId(authorId, pageable);
 
         return ResponseEntity.ok(ApiResponse.success(musics));
@@ -0,0 +1,68 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.service.SearchService;
+import br.com.labs.web.AdmissionGroup;
+import br.com.labs.web.EndpointGroup;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@Tag(name = "Search", description = "Full-text search over the catalog")
+public class SearchController {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchController.class);
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    @AdmissionGroup(EndpointGroup.SEARCH)
+    @Operation(summary = "Full-text search musics",
+            description = "Ranks musics by how well their name, author name and genre match q, the last word "
+                    + "also matching as a prefix. Served from an in-process index that lags commits slightly")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Search index is still being built")
+    })
+    public ResponseEntity<ApiResponse<PageResponse<MusicResponse>>> search(
+            @Parameter(description = "Free text matched against music name, author name and genre")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Filter by words of the music name (last one as a prefix)")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Filter by genre")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Filter by author ID")
+            @RequestParam(required = false) Long authorId,
+            @Parameter(description = "Minimum duration in seconds")
+            @RequestParam(required = false) Integer minDuration,
+            @Parameter(description = "Maximum duration in seconds")
+            @RequestParam(required = false) Integer maxDuration,
+            @Parameter(description = "Pagination parameters (results are always ordered by relevance)")
+            @PageableDefault(size = 20) Pageable pageable) {
+        log.debug("REST request to full-text search musics: {}", q);
+
+        MusicSearchRequest filters = new MusicSearchRequest(name, genre, authorId, minDuration, maxDuration);
+        PageResponse<MusicResponse> musics = searchService.search(q, filters, pageable);
+
+        return ResponseEntity.ok(ApiResponse.success(musics));
+    }
+}
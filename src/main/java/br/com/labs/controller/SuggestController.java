@@ -0,0 +1,56 @@
+package br.com.labs.controller;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.SuggestionResponse;
+import br.com.labs.service.SuggestService;
+import br.com.labs.web.AdmissionGroup;
+import br.com.labs.web.EndpointGroup;
+import br.com.labs.web.HttpCachePolicy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggest")
+@Tag(name = "Search", description = "Full-text search over the catalog")
+public class SuggestController {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestController.class);
+
+    private final SuggestService suggestService;
+
+    public SuggestController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    @GetMapping
+    @HttpCachePolicy("suggest")
+    @AdmissionGroup(EndpointGroup.CACHED_READ)
+    @Operation(summary = "Suggest completions",
+            description = "Music titles and author names starting with the prefix, most popular first. "
+                    + "Served from an in-memory index rebuilt periodically")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Blank prefix"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Suggestion index is still being built")
+    })
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @Parameter(description = "Typed prefix (case and accents are ignored)", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to suggest completions of: {}", prefix);
+
+        return ResponseEntity.ok(ApiResponse.success(suggestService.suggest(prefix, limit)));
+    }
+}
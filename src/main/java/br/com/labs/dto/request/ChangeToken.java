@@ -0,0 +1,57 @@
+package br.com.labs.dto.request;
+
+import br.com.labs.exception.BusinessException;
+import br.com.labs.model.CatalogEntityType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in the change feed, exchanged with clients as an opaque string.
+ * Changes are ordered by (changedAt, entityType, entityId), so a token resumes
+ * strictly after the last change a consumer has applied.
+ */
+public record ChangeToken(LocalDateTime changedAt, String entityType, long entityId) {
+
+    private static final String VERSION = "v1";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static final ChangeToken BEGINNING = new ChangeToken(EPOCH, "", 0L);
+
+    public static ChangeToken after(LocalDateTime changedAt, CatalogEntityType entityType, long entityId) {
+        return new ChangeToken(changedAt, entityType.name(), entityId);
+    }
+
+    public static ChangeToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return BEGINNING;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new BusinessException("Invalid change token: " + token);
+            }
+            long micros = Long.parseLong(parts[1]);
+            LocalDateTime changedAt = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            CatalogEntityType.valueOf(parts[2]);
+            return new ChangeToken(changedAt, parts[2], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid change token: " + token, ex);
+        }
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(EPOCH, changedAt);
+        String raw = VERSION + ":" + micros + ":" + entityType + ":" + entityId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isBeginning() {
+        return entityType.isEmpty();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.labs.dto.request;
+
+import br.com.labs.model.JobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request DTO for submitting a bulk job; which parameters apply depends on the type")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobRequest(
+        @Schema(description = "Job type", example = "REGENRE")
+        @NotNull(message = "Job type is required")
+        JobType type,
+
+        @Schema(description = "REGENRE: genre to replace, matched ignoring case", example = "rock")
+        @Size(max = 100, message = "Genre must be at most 100 characters")
+        String fromGenre,
+
+        @Schema(description = "REGENRE: new genre", example = "Rock")
+        @Size(max = 100, message = "Genre must be at most 100 characters")
+        String toGenre,
+
+        @Schema(description = "MOVE_MUSICS: author whose musics are moved", example = "2")
+        Long fromAuthorId,
+
+        @Schema(description = "MOVE_MUSICS: author receiving the musics", example = "1")
+        Long toAuthorId
+) {
+}
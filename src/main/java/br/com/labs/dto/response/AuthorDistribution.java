@@ -0,0 +1,33 @@
+package br.com.labs.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "How musics are spread across authors")
+public record AuthorDistribution(
+        @Schema(description = "Authors with at least one music", example = "120")
+        long authors,
+
+        @Schema(description = "Total number of musics", example = "4310")
+        long musics,
+
+        @Schema(description = "Musics of the most prolific author", example = "451")
+        int maxMusics,
+
+        @Schema(description = "Authors per range of music count, smallest first, including empty ranges")
+        List<MusicCountRange> ranges
+) {
+
+    public record MusicCountRange(
+            @Schema(description = "Inclusive lower bound of musics per author", example = "10")
+            int minMusics,
+
+            @Schema(description = "Exclusive upper bound of musics per author, absent for the last range", example = "50")
+            Integer maxMusics,
+
+            @Schema(description = "Number of authors", example = "17")
+            long authors
+    ) {
+    }
+}
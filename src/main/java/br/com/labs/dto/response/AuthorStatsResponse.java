@@ -0,0 +1,44 @@
+package br.com.labs.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "Response DTO for the statistics of an author's musics")
+public record AuthorStatsResponse(
+        @Schema(description = "Author ID", example = "1")
+        Long authorId,
+
+        @Schema(description = "Author's full name", example = "John Lennon")
+        String authorName,
+
+        @Schema(description = "Number of musics by this author", example = "5")
+        long musicCount,
+
+        @Schema(description = "Sum of the durations of the author's musics, in seconds", example = "1020")
+        long totalDurationSeconds,
+
+        @Schema(description = "Average music duration in seconds, absent without musics", example = "204.00")
+        BigDecimal averageDurationSeconds,
+
+        @Schema(description = "Musics per genre, most frequent first; only on /authors/{id}/stats")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<GenreCount> genres
+) {
+
+    public record GenreCount(
+            @Schema(description = "Genre as stored", example = "Rock")
+            String genre,
+
+            @Schema(description = "Number of the author's musics in this genre", example = "3")
+            long musicCount
+    ) {
+    }
+
+    public AuthorStatsResponse withGenres(List<GenreCount> genres) {
+        return new AuthorStatsResponse(authorId, authorName, musicCount, totalDurationSeconds,
+                averageDurationSeconds, genres);
+    }
+}
@@ -1,8 +1,8 @@
 package br.com.labs.dto.response;
 
-import br.com.labs.model.Author;
 import br.com.labs.model.Music;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Pageable;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -19,9 +19,12 @@ public record AuthorWithMusicsResponse(
         @Schema(description = "Author's email address", example = "john.lennon@beatles.com")
         String email,
 
-        @Schema(description = "List of musics by this author")
+        @Schema(description = "One page of musics by this author, ordered by ID")
         List<MusicSummary> musics,
 
+        @Schema(description = "Position of this page among all musics of the author")
+        MusicsPage musicsPage,
+
         @Schema(description = "Creation timestamp")
         LocalDateTime createdAt,
 
@@ -29,23 +32,6 @@ public record AuthorWithMusicsResponse(
         LocalDateTime updatedAt
 ) implements Serializable {
 
-    public static AuthorWithMusicsResponse fromEntity(Author author) {
-        List<MusicSummary> musicSummaries = author.getMusics() != null
-                ? author.getMusics().stream()
-                    .map(MusicSummary::fromEntity)
-                    .toList()
-                : List.of();
-
-        return new AuthorWithMusicsResponse(
-                author.getId(),
-                author.getName(),
-                author.getEmail(),
-                musicSummaries,
-                author.getCreatedAt(),
-                author.getUpdatedAt()
-        );
-    }
-
     @Schema(description = "Summary of music information")
     public record MusicSummary(
             @Schema(description = "Music ID", example = "1")
@@ -70,4 +56,38 @@ public record AuthorWithMusicsResponse(
             );
         }
     }
+
+    @Schema(description = "Pagination of the musics list")
+    public record MusicsPage(
+            @Schema(description = "Current page number (0-indexed)", example = "0")
+            int page,
+
+            @Schema(description = "Page size", example = "100")
+            int size,
+
+            @Schema(description = "Total number of musics by this author", example = "250")
+            long totalElements,
+
+            @Schema(description = "Total number of pages", example = "3")
+            int totalPages,
+
+            @Schema(description = "Whether this is the first page")
+            boolean first,
+
+            @Schema(description = "Whether this is the last page")
+            boolean last
+    ) implements Serializable {
+
+        public static MusicsPage of(Pageable pageable, long totalElements) {
+            int totalPages = (int) ((totalElements + pageable.getPageSize() - 1) / pageable.getPageSize());
+            return new MusicsPage(
+                    pageable.getPageNumber(),
+                    pageable.getPageSize(),
+                    totalElements,
+                    totalPages,
+                    pageable.getPageNumber() == 0,
+                    pageable.getPageNumber() + 1 >= totalPages
+            );
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package br.com.labs.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Batch of catalog changes in commit order")
+public record ChangeFeedResponse(
+        @Schema(description = "Changes after the requested token")
+        List<ChangeResponse> changes,
+
+        @Schema(description = "Token to pass as 'since' on the next call")
+        String nextToken,
+
+        @Schema(description = "Whether more changes are immediately available")
+        boolean hasMore
+) {
+}
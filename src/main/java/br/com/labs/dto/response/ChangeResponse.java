@@ -0,0 +1,43 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "A single created, updated or deleted catalog entry")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeResponse(
+        @Schema(description = "Changed entity type", example = "MUSIC")
+        CatalogEntityType entityType,
+
+        @Schema(description = "Changed entity ID", example = "1")
+        Long entityId,
+
+        @Schema(description = "Kind of change", example = "UPDATED")
+        ChangeOperation operation,
+
+        @Schema(description = "When the change happened")
+        LocalDateTime changedAt,
+
+        @Schema(description = "Author ID of a music change", example = "1")
+        Long authorId,
+
+        @Schema(description = "Author or music name (absent for deletions)", example = "Imagine")
+        String name,
+
+        @Schema(description = "Author's email address (authors only)", example = "john.lennon@beatles.com")
+        String email,
+
+        @Schema(description = "Duration in seconds (musics only)", example = "180")
+        Integer durationSeconds,
+
+        @Schema(description = "Music genre (musics only)", example = "Rock")
+        String genre,
+
+        @Schema(description = "Opaque token to resume the feed right after this change")
+        String token
+) {
+}
@@ -0,0 +1,36 @@
+package br.com.labs.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Duration distribution of the musics of one genre")
+public record GenreDurationStats(
+        @Schema(description = "Genre as stored, null for musics without a genre", example = "Rock")
+        String genre,
+
+        @Schema(description = "Number of musics", example = "42")
+        long count,
+
+        @Schema(description = "Shortest duration in seconds", example = "95")
+        int minSeconds,
+
+        @Schema(description = "Longest duration in seconds", example = "612")
+        int maxSeconds,
+
+        @Schema(description = "Mean duration in seconds", example = "231.4")
+        double averageSeconds,
+
+        @Schema(description = "Requested percentiles, in the order asked")
+        List<Percentile> percentiles
+) {
+
+    public record Percentile(
+            @Schema(description = "Percentile, between 0 (exclusive) and 100", example = "90")
+            double percentile,
+
+            @Schema(description = "Nearest-rank duration in seconds", example = "340")
+            int seconds
+    ) {
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.model.JobStatus;
+import br.com.labs.model.JobType;
+import br.com.labs.repository.BulkJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "State and progress of a bulk job")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobResponse(
+        Long id,
+        JobType type,
+        JobStatus status,
+        JobRequest parameters,
+
+        @Schema(description = "Items to process, counted when the job started")
+        Long total,
+
+        @Schema(description = "Items processed so far")
+        long processed,
+
+        @Schema(description = "Items actually modified so far (skipped or already correct ones excluded)")
+        long changed,
+
+        @Schema(description = "processed / total, between 0 and 1")
+        Double progress,
+
+        @Schema(description = "Pod running the job")
+        String owner,
+
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static JobResponse fromJob(BulkJob job) {
+        Double progress = null;
+        if (job.status() == JobStatus.SUCCEEDED) {
+            progress = 1.0;
+        } else if (job.total() != null) {
+            progress = job.total() == 0 ? 1.0 : Math.min(1.0, (double) job.processed() / job.total());
+        }
+        return new JobResponse(job.id(), job.type(), job.status(), job.parameters(), job.total(),
+                job.processed(), job.changed(), progress, job.owner(), job.error(), job.createdAt(),
+                job.startedAt(), job.finishedAt());
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.labs.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Schema(description = "Counts of the musics matching the search filters, per genre and per duration range")
+public record MusicFacets(
+        @Schema(description = "Musics per genre, most frequent first")
+        List<GenreCount> genres,
+
+        @Schema(description = "Musics per duration range, shortest first, including empty ranges")
+        List<DurationRange> durations
+) {
+
+    public record GenreCount(
+            @Schema(description = "Genre as most often stored; counts every case variant of it", example = "Rock")
+            String genre,
+
+            @Schema(description = "Number of matching musics", example = "42")
+            long count
+    ) {
+    }
+
+    public record DurationRange(
+            @Schema(description = "Inclusive lower bound in seconds", example = "180")
+            int minSeconds,
+
+            @Schema(description = "Exclusive upper bound in seconds, absent for the last range", example = "240")
+            Integer maxSeconds,
+
+            @Schema(description = "Number of matching musics", example = "17")
+            long count
+    ) {
+    }
+
+    /**
+     * One row of the grouped facet query: the musics of a genre whose duration
+     * falls in range {@code bucket}: 0 below the first bound,
+     * {@code bounds.size()} from the last bound on.
+     */
+    public record Cell(String genre, int bucket, long count) {
+    }
+
+    private static final Comparator<GenreCount> MOST_FREQUENT_FIRST = Comparator
+            .comparingLong(GenreCount::count).reversed()
+            .thenComparing(GenreCount::genre, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Rolls the genre x duration range cells up into both facets. Case
+     * variants of a genre are one genre to the search filter, so they are
+     * counted as one, under the variant most musics use.
+     */
+    public static MusicFacets of(List<Cell> cells, List<Integer> bounds) {
+        Map<String, Long> variants = new HashMap<>();
+        long[] durations = new long[bounds.size() + 1];
+        for (Cell cell : cells) {
+            variants.merge(cell.genre(), cell.count(), Long::sum);
+            durations[cell.bucket()] += cell.count();
+        }
+
+        Map<String, String> names = new HashMap<>();
+        Map<String, Long> genres = new HashMap<>();
+        variants.entrySet().stream()
+                .map(entry -> new GenreCount(entry.getKey(), entry.getValue()))
+                .sorted(MOST_FREQUENT_FIRST)
+                .forEach(variant -> {
+                    String genre = variant.genre() != null ? variant.genre().toLowerCase(Locale.ROOT) : null;
+                    names.putIfAbsent(genre, variant.genre());
+                    genres.merge(genre, variant.count(), Long::sum);
+                });
+        List<GenreCount> genreCounts = genres.entrySet().stream()
+                .map(entry -> new GenreCount(names.get(entry.getKey()), entry.getValue()))
+                .sorted(MOST_FREQUENT_FIRST)
+                .toList();
+
+        List<DurationRange> ranges = new ArrayList<>(durations.length);
+        for (int bucket = 0; bucket < durations.length; bucket++) {
+            ranges.add(new DurationRange(bucket == 0 ? 0 : bounds.get(bucket - 1),
+                    bucket < bounds.size() ? bounds.get(bucket) : null, durations[bucket]));
+        }
+        return new MusicFacets(genreCounts, ranges);
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.labs.dto.response;
 
 import br.com.labs.model.Music;
+import br.com.labs.repository.AuthorRef;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
@@ -26,7 +28,12 @@ public record MusicResponse(
         LocalDateTime createdAt,
 
         @Schema(description = "Last update timestamp")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        @Schema(description = "Plays recorded, written a few seconds behind; absent from search results",
+                example = "1024")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long playCount
 ) {
     public static MusicResponse fromEntity(Music music) {
         return new MusicResponse(
@@ -39,7 +46,25 @@ public record MusicResponse(
                         music.getAuthor().getName()
                 ) : null,
                 music.getCreatedAt(),
-                music.getUpdatedAt()
+                music.getUpdatedAt(),
+                music.getPlayCount()
+        );
+    }
+
+    /**
+     * Same as {@link #fromEntity(Music)}, naming the author from {@code author}
+     * instead of the (possibly lazy) association.
+     */
+    public static MusicResponse fromEntity(Music music, AuthorRef author) {
+        return new MusicResponse(
+                music.getId(),
+                music.getName(),
+                music.getDurationSeconds(),
+                music.getGenre(),
+                new AuthorSummary(author.id(), author.name()),
+                music.getCreatedAt(),
+                music.getUpdatedAt(),
+                music.getPlayCount()
         );
     }
 
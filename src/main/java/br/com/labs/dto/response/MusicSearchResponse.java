@@ -0,0 +1,55 @@
+package br.com.labs.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * A {@link PageResponse} of musics plus, when requested, the facet counts of
+ * the whole result set. Without facets it serializes exactly like the page.
+ */
+@Schema(description = "Paginated music search result with optional facet counts")
+public record MusicSearchResponse(
+        @Schema(description = "Page content")
+        List<MusicResponse> content,
+
+        @Schema(description = "Current page number (0-indexed)", example = "0")
+        int page,
+
+        @Schema(description = "Page size", example = "20")
+        int size,
+
+        @Schema(description = "Total number of elements", example = "100")
+        long totalElements,
+
+        @Schema(description = "Total number of pages", example = "5")
+        int totalPages,
+
+        @Schema(description = "Whether this is the first page")
+        boolean first,
+
+        @Schema(description = "Whether this is the last page")
+        boolean last,
+
+        @Schema(description = "Counts per genre and duration range, only with facets=true")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        MusicFacets facets
+) {
+    public static MusicSearchResponse of(PageResponse<MusicResponse> page, MusicFacets facets) {
+        return new MusicSearchResponse(
+                page.content(),
+                page.page(),
+                page.size(),
+                page.totalElements(),
+                page.totalPages(),
+                page.first(),
+                page.last(),
+                facets
+        );
+    }
+
+    public PageResponse<MusicResponse> toPage() {
+        return new PageResponse<>(content, page, size, totalElements, totalPages, first, last);
+    }
+}
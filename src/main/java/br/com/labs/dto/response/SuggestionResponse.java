@@ -0,0 +1,17 @@
+package br.com.labs.dto.response;
+
+import br.com.labs.model.CatalogEntityType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Type-ahead suggestion for a prefix")
+public record SuggestionResponse(
+        @Schema(description = "Suggested music title or author name", example = "Imagine")
+        String text,
+
+        @Schema(description = "Whether the suggestion is a music title or an author name", example = "MUSIC")
+        CatalogEntityType type,
+
+        @Schema(description = "Popularity weight the suggestions are ordered by", example = "3")
+        long weight
+) {
+}
@@ -0,0 +1,14 @@
+package br.com.labs.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A music and how often it was requested recently")
+public record TrendingMusic(
+        @Schema(description = "Music ID", example = "1")
+        long musicId,
+
+        @Schema(description = "Requests counted with decay: one request now weighs 1, one a half-life ago 0.5",
+                example = "1532.7")
+        double score
+) {
+}
@@ -0,0 +1,34 @@
+package br.com.labs.event;
+
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+
+import java.time.Instant;
+
+/**
+ * Published by the services inside the mutating transaction. Listeners that
+ * must only see committed data use {@code @TransactionalEventListener}.
+ * For authors, {@code authorId} equals {@code entityId}; for musics moved to
+ * another author, {@code previousAuthorId} holds the former owner.
+ */
+public record CatalogChangeEvent(
+        CatalogEntityType entityType,
+        ChangeOperation operation,
+        Long entityId,
+        Long authorId,
+        Long previousAuthorId,
+        Instant occurredAt
+) {
+    public static CatalogChangeEvent author(ChangeOperation operation, Long authorId) {
+        return new CatalogChangeEvent(CatalogEntityType.AUTHOR, operation, authorId, authorId, null, Instant.now());
+    }
+
+    public static CatalogChangeEvent music(ChangeOperation operation, Long musicId, Long authorId) {
+        return new CatalogChangeEvent(CatalogEntityType.MUSIC, operation, musicId, authorId, null, Instant.now());
+    }
+
+    public static CatalogChangeEvent musicMoved(Long musicId, Long authorId, Long previousAuthorId) {
+        return new CatalogChangeEvent(CatalogEntityType.MUSIC, ChangeOperation.UPDATED, musicId, authorId,
+                previousAuthorId, Instant.now());
+    }
+}
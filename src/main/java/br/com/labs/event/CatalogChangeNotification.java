@@ -0,0 +1,10 @@
+package br.com.labs.event;
+
+/**
+ * Committed catalog change as seen by every pod. The pod that made the change
+ * relays it through Redis pub/sub, and each subscriber re-publishes it locally,
+ * so listeners that keep per-pod state should listen to this instead of
+ * {@link CatalogChangeEvent}.
+ */
+public record CatalogChangeNotification(CatalogChangeEvent event) {
+}
@@ -0,0 +1,198 @@
+package br.com.labs.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed catalog changes out to SSE subscribers. Idle subscribers hold
+ * no thread; each one owns a bounded buffer that is drained on a virtual thread
+ * only while there is something to send. When a buffer overflows the subscriber
+ * is considered too slow and is either disconnected or loses its oldest events.
+ */
+@Component
+public class CatalogEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogEventBroadcaster.class);
+
+    static final String EVENT_NAME = "catalog-change";
+
+    // Empty payloads are heartbeat comments that keep proxies from closing idle streams
+    private static final String HEARTBEAT = "";
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectWriter eventWriter;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+    private final Counter disconnectedSubscribers;
+
+    public CatalogEventBroadcaster(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.events.buffer-size:256}") int bufferSize,
+                                   @Value("${app.events.sse-timeout:30m}") Duration timeout,
+                                   @Value("${app.events.overflow-policy:DISCONNECT}") OverflowPolicy overflowPolicy) {
+        this.eventWriter = objectMapper.writerFor(CatalogChangeEvent.class);
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("catalog.events.subscribers", subscribers, Set::size)
+                .description("Open SSE subscriptions to catalog changes")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("catalog.events.published")
+                .description("Catalog events fanned out to SSE subscribers")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("catalog.events.dropped")
+                .description("Events dropped because a subscriber buffer was full")
+                .register(meterRegistry);
+        this.disconnectedSubscribers = Counter.builder("catalog.events.slow.disconnects")
+                .description("Subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        log.debug("New catalog event subscriber, {} active", subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onCatalogChange(CatalogChangeNotification notification) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = eventWriter.writeValueAsString(notification.event());
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to serialize catalog event: {}", ex.getMessage());
+            return;
+        }
+
+        publishedEvents.increment();
+        subscribers.forEach(subscriber -> enqueue(subscriber, payload));
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, String payload) {
+        if (!subscriber.buffer.offer(payload)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                droppedEvents.increment();
+                disconnect(subscriber);
+                return;
+            }
+            // Events and heartbeats are enqueued from different threads, so the slot freed
+            // here can be taken by the other producer before the offer; only count real drops
+            do {
+                if (subscriber.buffer.poll() != null) {
+                    droppedEvents.increment();
+                }
+            } while (!subscriber.buffer.offer(payload));
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            String payload;
+            while ((payload = subscriber.buffer.poll()) != null) {
+                if (HEARTBEAT.equals(payload)) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping catalog event subscriber: {}", ex.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // An enqueue may have raced with the end of the loop above
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.info("Disconnecting slow catalog event subscriber");
+            disconnectedSubscribers.increment();
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<String> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
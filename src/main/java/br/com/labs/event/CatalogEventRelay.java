@@ -0,0 +1,82 @@
+package br.com.labs.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+
+@Component
+public class CatalogEventRelay implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogEventRelay.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final boolean redisEnabled;
+    private final Counter relayFailures;
+
+    public CatalogEventRelay(StringRedisTemplate redisTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.events.channel:catalog-events}") String channel,
+                             @Value("${app.events.redis-relay-enabled:true}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.redisEnabled = redisEnabled;
+        this.relayFailures = Counter.builder("catalog.events.relay.failures")
+                .description("Catalog events that could not be relayed through Redis")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(CatalogChangeEvent event) {
+        if (!redisEnabled) {
+            eventPublisher.publishEvent(new CatalogChangeNotification(event));
+            return;
+        }
+
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // Other pods miss this one, but local subscribers should still see it
+            log.warn("Failed to relay catalog event through Redis, delivering locally only: {}", ex.getMessage());
+            relayFailures.increment();
+            eventPublisher.publishEvent(new CatalogChangeNotification(event));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            CatalogChangeEvent event = objectMapper.readValue(message.getBody(), CatalogChangeEvent.class);
+            eventPublisher.publishEvent(new CatalogChangeNotification(event));
+        } catch (IOException ex) {
+            log.warn("Discarding malformed catalog event from Redis: {}", ex.getMessage());
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public boolean isRedisEnabled() {
+        return redisEnabled;
+    }
+}
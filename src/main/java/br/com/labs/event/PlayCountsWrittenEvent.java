@@ -0,0 +1,13 @@
+package br.com.labs.event;
+
+import br.com.labs.repository.PlayedMusic;
+
+import java.util.List;
+
+/**
+ * Published by {@code PlayCounter} after a batch of play count deltas is
+ * written, so representations carrying the counts can be revalidated. Plays
+ * are not catalog changes and raise no {@link CatalogChangeEvent}.
+ */
+public record PlayCountsWrittenEvent(List<PlayedMusic> musics) {
+}
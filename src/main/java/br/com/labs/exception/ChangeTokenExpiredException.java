@@ -0,0 +1,16 @@
+package br.com.labs.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown for a change token older than the tombstone retention: deletions
+ * after it may already be purged, so the consumer has to resync from scratch.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
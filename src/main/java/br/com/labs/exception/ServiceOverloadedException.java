@@ -0,0 +1,30 @@
+package br.com.labs.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Thrown by admission control when a request is shed. {@code 429} means the
+ * endpoint group is at its concurrency limit; {@code 503} means the pod is
+ * saturated and the request's group is not allowed to use the remaining capacity.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(HttpStatus status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.labs.model;
+
+public enum CatalogEntityType {
+    AUTHOR,
+    MUSIC
+}
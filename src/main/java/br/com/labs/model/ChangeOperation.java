@@ -0,0 +1,7 @@
+package br.com.labs.model;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
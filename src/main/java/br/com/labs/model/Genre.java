@@ -0,0 +1,35 @@
+package br.com.labs.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A row of the {@code genre} lookup table. Genres are created and resolved
+ * through {@code GenreDictionary}; the entity only exists so queries can join
+ * a music to its genre name, e.g. to sort by it.
+ */
+@Entity
+@Immutable
+@Table(name = "genre")
+public class Genre {
+
+    @Id
+    private Short id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    protected Genre() {
+    }
+
+    public Short getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
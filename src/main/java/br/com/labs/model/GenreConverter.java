@@ -0,0 +1,34 @@
+package br.com.labs.model;
+
+import br.com.labs.repository.GenreDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a genre name as its {@code genre} table code. Names must have been
+ * registered with {@link GenreDictionary#register} before they are written,
+ * so converting never inserts.
+ */
+@Converter
+public class GenreConverter implements AttributeConverter<String, Short> {
+
+    private final GenreDictionary genreDictionary;
+
+    public GenreConverter(GenreDictionary genreDictionary) {
+        this.genreDictionary = genreDictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String genre) {
+        if (genre == null) {
+            return null;
+        }
+        return genreDictionary.codeOf(genre)
+                .orElseThrow(() -> new IllegalStateException("Genre '" + genre + "' is not registered"));
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code == null ? null : genreDictionary.nameOf(code);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.labs.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
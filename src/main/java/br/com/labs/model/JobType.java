@@ -0,0 +1,13 @@
+package br.com.labs.model;
+
+/**
+ * Maintenance operations run by the bulk job subsystem.
+ */
+public enum JobType {
+    // Moves every music of fromGenre (any case) to toGenre
+    REGENRE,
+    // Moves every music of fromAuthorId to toAuthorId, except those whose name toAuthorId already uses
+    MOVE_MUSICS,
+    // Recomputes author_stats and author_genre_stats from music
+    RECOMPUTE_AUTHOR_STATS
+}
@@ -2,6 +2,7 @@ package br.com.labs.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
@@ -11,6 +12,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.PartitionKey;
 
 @Entity
 @Table(name = "music")
@@ -27,13 +30,43 @@ public class Music extends BaseEntity {
     private Integer durationSeconds;
 
     @Size(max = 100, message = "Genre must be at most 100 characters")
+    @Convert(converter = GenreConverter.class)
+    @Column(name = "genre_id")
     private String genre;
 
+    /**
+     * The same column as {@link #genre}, read-only, so that musics can be
+     * sorted by genre name rather than by code.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "genre_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private Genre genreEntry;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     @JsonIgnore
     private Author author;
 
+    /**
+     * Read-only copy of the author's id, the column {@code music} is partitioned
+     * on. Hibernate adds its loaded value to the WHERE clause of updates and
+     * deletes, so they touch the music's partition only, even when the update
+     * moves it to another author.
+     */
+    @PartitionKey
+    @Column(name = "author_id", insertable = false, updatable = false)
+    @JsonIgnore
+    private Long authorId;
+
+    /**
+     * Plays written to {@code music_play_count} so far; plays still buffered by
+     * {@code PlayCounter} are not included.
+     */
+    @Formula("COALESCE((SELECT p.play_count FROM music_play_count p WHERE p.music_id = id), 0)")
+    @JsonIgnore
+    private long playCount;
+
     public Music() {
     }
 
@@ -41,7 +74,7 @@ public class Music extends BaseEntity {
         this.name = name;
         this.durationSeconds = durationSeconds;
         this.genre = genre;
-        this.author = author;
+        setAuthor(author);
     }
 
     public String getName() {
@@ -74,6 +107,11 @@ public class Music extends BaseEntity {
 
     public void setAuthor(Author author) {
         this.author = author;
+        this.authorId = author != null ? author.getId() : null;
+    }
+
+    public long getPlayCount() {
+        return playCount;
     }
 
     @Override
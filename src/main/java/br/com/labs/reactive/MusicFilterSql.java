@@ -0,0 +1,93 @@
+package br.com.labs.reactive;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL rendering of {@code MusicSpecification.withFilters}: the same optional filters
+ * with the same matching rules (case-insensitive partial name, case-insensitive
+ * genre, exact author, inclusive duration range). Keep both in sync.
+ */
+final class MusicFilterSql {
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "m.id",
+            "name", "m.name",
+            "durationSeconds", "m.duration_seconds",
+            "genre", "g.name",
+            "createdAt", "m.created_at",
+            "updatedAt", "m.updated_at"
+    );
+
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    private MusicFilterSql() {
+    }
+
+    static MusicFilterSql none() {
+        return new MusicFilterSql();
+    }
+
+    static MusicFilterSql of(MusicSearchRequest searchRequest) {
+        MusicFilterSql filter = new MusicFilterSql();
+
+        if (searchRequest.name() != null && !searchRequest.name().isBlank()) {
+            filter.add("LOWER(m.name) LIKE :name", "name", "%" + searchRequest.name().toLowerCase() + "%");
+        }
+
+        if (searchRequest.genre() != null && !searchRequest.genre().isBlank()) {
+            // Codes of every stored variant of the genre, so music rows compare smallints
+            filter.add("m.genre_id IN (SELECT id FROM genre WHERE LOWER(name) = :genre)", "genre",
+                    searchRequest.genre().toLowerCase());
+        }
+
+        if (searchRequest.authorId() != null) {
+            filter.add("m.author_id = :authorId", "authorId", searchRequest.authorId());
+        }
+
+        if (searchRequest.minDuration() != null) {
+            filter.add("m.duration_seconds >= :minDuration", "minDuration", searchRequest.minDuration());
+        }
+
+        if (searchRequest.maxDuration() != null) {
+            filter.add("m.duration_seconds <= :maxDuration", "maxDuration", searchRequest.maxDuration());
+        }
+
+        return filter;
+    }
+
+    String where() {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+
+    static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        orders.add("m.id ASC");
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private void add(String condition, String name, Object value) {
+        conditions.add(condition);
+        parameters.put(name, value);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.labs.reactive;
+
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.MusicFacets;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.service.AuthorMusicsChunk;
+import br.com.labs.service.AuthorMusicsHeader;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveMusicReadRepository {
+
+    private static final String MUSIC_COLUMNS = """
+            SELECT m.id, m.name, m.duration_seconds, g.name AS genre, m.created_at, m.updated_at,
+                   a.id AS author_id, a.name AS author_name, COALESCE(p.play_count, 0) AS play_count
+            FROM music m
+            JOIN author a ON a.id = m.author_id
+            LEFT JOIN genre g ON g.id = m.genre_id
+            LEFT JOIN music_play_count p ON p.music_id = m.id""";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveMusicReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<MusicResponse> findMusics(MusicFilterSql filter, Pageable pageable) {
+        String sql = MUSIC_COLUMNS + filter.where() + MusicFilterSql.orderBy(pageable.getSort())
+                + " LIMIT :limit OFFSET :offset";
+
+        return filter.bind(databaseClient.sql(sql))
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveMusicReadRepository::mapMusic)
+                .all();
+    }
+
+    public Mono<Long> countMusics(MusicFilterSql filter) {
+        return filter.bind(databaseClient.sql("SELECT COUNT(*) AS total FROM music m" + filter.where()))
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Same single grouped query as {@code MusicFacetRepository}, grouping by genre
+     * code and joining the names to the grouped rows only; the bucket bounds are
+     * configuration integers, so they are inlined into the CASE.
+     */
+    public Flux<MusicFacets.Cell> countByGenreAndDuration(MusicFilterSql filter, List<Integer> bounds) {
+        StringBuilder bucket = new StringBuilder(bounds.isEmpty() ? "0" : "CASE");
+        for (int i = 0; i < bounds.size(); i++) {
+            bucket.append(" WHEN m.duration_seconds < ").append(bounds.get(i).intValue()).append(" THEN ").append(i);
+        }
+        if (!bounds.isEmpty()) {
+            bucket.append(" ELSE ").append(bounds.size()).append(" END");
+        }
+
+        String sql = "SELECT g.name AS genre, c.bucket, c.total FROM (SELECT m.genre_id, " + bucket
+                + " AS bucket, COUNT(*) AS total FROM music m" + filter.where() + " GROUP BY 1, 2) c"
+                + " LEFT JOIN genre g ON g.id = c.genre_id";
+        return filter.bind(databaseClient.sql(sql))
+                .map(row -> new MusicFacets.Cell(
+                        row.get("genre", String.class),
+                        row.get("bucket", Integer.class),
+                        row.get("total", Long.class)))
+                .all();
+    }
+
+    public Mono<AuthorMusicsHeader> findAuthorMusicsHeader(Long authorId, int chunkSize) {
+        return databaseClient
+                .sql("""
+                        SELECT a.id, a.name, a.email, a.created_at, a.updated_at,
+                               (SELECT COUNT(*) FROM music m WHERE m.author_id = a.id) AS music_count
+                        FROM author a
+                        WHERE a.id = :id""")
+                .bind("id", authorId)
+                .map(row -> new AuthorMusicsHeader(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("email", String.class),
+                        row.get("music_count", Long.class),
+                        chunkSize,
+                        AuthorMusicsHeader.newGeneration(),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Mono<AuthorMusicsChunk> findAuthorMusicsChunk(AuthorMusicsHeader header, int chunk) {
+        return databaseClient
+                .sql("""
+                        SELECT m.id, m.name, m.duration_seconds, g.name AS genre
+                        FROM music m
+                        LEFT JOIN genre g ON g.id = m.genre_id
+                        WHERE m.author_id = :authorId ORDER BY m.id LIMIT :limit OFFSET :offset""")
+                .bind("authorId", header.id())
+                .bind("limit", header.chunkSize())
+                .bind("offset", (long) chunk * header.chunkSize())
+                .map(row -> new AuthorWithMusicsResponse.MusicSummary(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("duration_seconds", Integer.class),
+                        row.get("genre", String.class)))
+                .all()
+                .collectList()
+                .map(AuthorMusicsChunk::new);
+    }
+
+    private static MusicResponse mapMusic(Readable row) {
+        return new MusicResponse(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("duration_seconds", Integer.class),
+                row.get("genre", String.class),
+                new MusicResponse.AuthorSummary(row.get("author_id", Long.class), row.get("author_name", String.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("play_count", Long.class)
+        );
+    }
+}
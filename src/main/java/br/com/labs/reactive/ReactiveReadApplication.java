@@ -0,0 +1,31 @@
+package br.com.labs.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Entry point for read-only pods serving the hot GET endpoints with WebFlux and R2DBC.
+ * Shares the jar with {@code DemoApplication}; select it with
+ * {@code -Dloader.main=br.com.labs.reactive.ReactiveReadApplication}.
+ * The condition keeps this package out of the servlet application's component scan.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadApplication.class);
+
+    public static final String PROFILE = "read";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+        log.info("Music API reactive read pod started");
+    }
+}
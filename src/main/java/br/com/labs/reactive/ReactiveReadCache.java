@@ -0,0 +1,75 @@
+package br.com.labs.reactive;
+
+import br.com.labs.config.RedisConfig;
+import br.com.labs.service.AuthorMusicsChunk;
+import br.com.labs.service.AuthorMusicsHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking read-through cache. Author-with-musics headers and chunks use the
+ * same {@code authorMusics::{id}} and {@code authorMusicChunks::{id}:{generation}:{chunk}}
+ * keys and value format as the servlet application's cache manager, so evictions
+ * made by the write pods apply here too. Query results have no eviction path and
+ * rely on a short TTL instead.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadCache.class);
+
+    private static final String QUERY_CACHE = "readQueries";
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final Duration authorMusicsTtl;
+    private final Duration queryTtl;
+
+    public ReactiveReadCache(ReactiveRedisTemplate<String, Object> readCacheRedisTemplate,
+                             @Value("${app.read.author-musics-ttl:5m}") Duration authorMusicsTtl,
+                             @Value("${app.read.query-ttl:30s}") Duration queryTtl) {
+        this.redisTemplate = readCacheRedisTemplate;
+        this.authorMusicsTtl = authorMusicsTtl;
+        this.queryTtl = queryTtl;
+    }
+
+    public Mono<AuthorMusicsHeader> authorMusicsHeader(Long authorId, Mono<AuthorMusicsHeader> loader) {
+        return getOrLoad(RedisConfig.AUTHOR_MUSICS_CACHE + "::" + authorId, AuthorMusicsHeader.class, loader,
+                authorMusicsTtl);
+    }
+
+    public Mono<AuthorMusicsChunk> authorMusicsChunk(AuthorMusicsHeader header, int chunk,
+                                                     Mono<AuthorMusicsChunk> loader) {
+        return getOrLoad(RedisConfig.AUTHOR_MUSIC_CHUNKS_CACHE + "::" + header.chunkKey(chunk), AuthorMusicsChunk.class,
+                loader, authorMusicsTtl);
+    }
+
+    public <T> Mono<T> query(String key, Class<T> type, Mono<T> loader) {
+        return getOrLoad(QUERY_CACHE + "::" + key, type, loader, queryTtl);
+    }
+
+    private <T> Mono<T> getOrLoad(String key, Class<T> type, Mono<T> loader, Duration ttl) {
+        Mono<T> loadAndStore = loader.flatMap(value -> redisTemplate.opsForValue().set(key, value, ttl)
+                .onErrorResume(ex -> {
+                    log.warn("Failed to cache read result for key {}: {}", key, ex.getMessage());
+                    return Mono.just(false);
+                })
+                .thenReturn(value));
+
+        return redisTemplate.opsForValue().get(key)
+                .filter(type::isInstance)
+                .map(type::cast)
+                .onErrorResume(ex -> {
+                    log.warn("Read cache unavailable for key {}: {}", key, ex.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loadAndStore));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.labs.reactive;
+
+import br.com.labs.config.RedisConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadConfig implements WebFluxConfigurer {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType SMILE_SUFFIXED = MediaType.parseMediaType("application/*+x-jackson-smile");
+
+    private final ObjectMapper objectMapper;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public ReactiveReadConfig(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapper = objectMapper;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    /**
+     * Same representations as {@link br.com.labs.config.ContentNegotiationConfig}:
+     * Smile, CBOR and protobuf next to the default JSON.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        // Custom codecs are ordered before the defaults, and with "*/*" or no Accept header the first
+        // writer wins: JSON goes first again so binary formats are only sent when asked for
+        configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+        // Without explicit mime types these encoders default to JSON's and take over JSON responses
+        configurer.customCodecs().register(new Jackson2SmileEncoder(
+                objectMapperBuilder.factory(new SmileFactory()).build(), SMILE, SMILE_SUFFIXED));
+        configurer.customCodecs().register(new Jackson2CborEncoder(
+                objectMapperBuilder.factory(new CBORFactory()).build(), MediaType.APPLICATION_CBOR) {
+            // Spring's CBOR encoder only implements encodeValue; every body here is a single value
+            @Override
+            public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                           ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+                return Flux.from(inputStream)
+                        .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+            }
+        });
+        configurer.customCodecs().register(new CatalogProtobufEncoder());
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> readCacheRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(RedisConfig.cacheValueSerializer())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.labs.reactive;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.MusicFacets;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.service.AuthorMusicsHeader;
+import br.com.labs.web.RepresentationFormat;
+import br.com.labs.web.ResourceVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Non-blocking counterparts of the read endpoints in {@code MusicController} and
+ * {@code AuthorController}, with identical paths, parameters and response bodies.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadController.class);
+
+    private final ReactiveMusicReadRepository repository;
+    private final ReactiveReadCache cache;
+    private final ReactiveResourceVersions resourceVersions;
+    private final int authorMusicsChunkSize;
+    private final int maxMusicsPageSize;
+    private final List<Integer> durationBuckets;
+
+    public ReactiveReadController(ReactiveMusicReadRepository repository, ReactiveReadCache cache,
+                                  ReactiveResourceVersions resourceVersions,
+                                  @Value("${app.author-musics.chunk-size:200}") int authorMusicsChunkSize,
+                                  @Value("${app.author-musics.max-page-size:500}") int maxMusicsPageSize,
+                                  @Value("${app.music-search.duration-buckets:120,180,240,300,420}")
+                                  List<Integer> durationBuckets) {
+        this.repository = repository;
+        this.cache = cache;
+        this.resourceVersions = resourceVersions;
+        this.authorMusicsChunkSize = authorMusicsChunkSize;
+        this.maxMusicsPageSize = maxMusicsPageSize;
+        this.durationBuckets = durationBuckets.stream().sorted().distinct().toList();
+    }
+
+    @GetMapping("/musics")
+    public Mono<ResponseEntity<ApiResponse<PageResponse<MusicResponse>>>> findAll(
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            ServerWebExchange exchange) {
+        log.debug("Reactive request to list musics - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
+
+        return page(MusicFilterSql.none(), pageable, "musics:" + pageable, exchange);
+    }
+
+    @GetMapping("/musics/search")
+    public Mono<ResponseEntity<ApiResponse<MusicSearchResponse>>> search(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Integer minDuration,
+            @RequestParam(required = false) Integer maxDuration,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @PageableDefault(size = 20, sort = "name") Pageable pageable,
+            ServerWebExchange exchange) {
+        MusicSearchRequest searchRequest = new MusicSearchRequest(name, genre, authorId, minDuration, maxDuration);
+        log.debug("Reactive request to search musics: {}, facets: {}", searchRequest, facets);
+
+        MusicFilterSql filter = MusicFilterSql.of(searchRequest);
+        Mono<MusicSearchResponse> loader = facets
+                ? Mono.zip(loadPage(filter, pageable),
+                                repository.countByGenreAndDuration(filter, durationBuckets).collectList())
+                        .map(result -> MusicSearchResponse.of(result.getT1(),
+                                MusicFacets.of(result.getT2(), durationBuckets)))
+                : loadPage(filter, pageable).map(page -> MusicSearchResponse.of(page, null));
+
+        String cacheKey = "search:" + searchRequest + ":" + pageable + (facets ? ":facets" : "");
+        return unlessNotModified(resourceVersions.catalog(), exchange,
+                cache.query(cacheKey, MusicSearchResponse.class, loader)
+                        .map(body -> ResponseEntity.ok(ApiResponse.success(body))));
+    }
+
+    @GetMapping("/authors/{id}/musics")
+    public Mono<ResponseEntity<ApiResponse<AuthorWithMusicsResponse>>> findAuthorWithMusics(
+            @PathVariable Long id,
+            @PageableDefault(size = 100) Pageable pageable,
+            ServerWebExchange exchange) {
+        Pageable musicsPage = PageRequest.of(pageable.getPageNumber(),
+                Math.min(pageable.getPageSize(), maxMusicsPageSize));
+        log.debug("Reactive request to get author with musics by ID: {} - page: {}, size: {}",
+                id, musicsPage.getPageNumber(), musicsPage.getPageSize());
+
+        Mono<AuthorMusicsHeader> headerLoader = repository.findAuthorMusicsHeader(id, authorMusicsChunkSize)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Author", "id", id)));
+
+        Mono<AuthorWithMusicsResponse> author = cache.authorMusicsHeader(id, headerLoader)
+                .flatMap(header -> Flux.fromStream(header.chunks(musicsPage).boxed())
+                        .concatMap(chunk -> cache.authorMusicsChunk(header, chunk,
+                                repository.findAuthorMusicsChunk(header, chunk)))
+                        .collectList()
+                        .map(chunks -> header.page(musicsPage, chunks)));
+
+        return unlessNotModified(resourceVersions.author(id), exchange,
+                author.map(body -> ResponseEntity.ok(ApiResponse.success(body))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<ResponseEntity<ApiResponse<PageResponse<MusicResponse>>>> page(MusicFilterSql filter, Pageable pageable,
+                                                                                String cacheKey,
+                                                                                ServerWebExchange exchange) {
+        return unlessNotModified(resourceVersions.catalog(), exchange,
+                cache.query(cacheKey, PageResponse.class, loadPage(filter, pageable).map(PageResponse.class::cast))
+                        .map(page -> ResponseEntity.ok(ApiResponse.success((PageResponse<MusicResponse>) page))));
+    }
+
+    private Mono<PageResponse<MusicResponse>> loadPage(MusicFilterSql filter, Pageable pageable) {
+        return Mono.zip(
+                        repository.findMusics(filter, pageable).collectList(),
+                        repository.countMusics(filter))
+                .map(result -> PageResponse.fromPage(new PageImpl<>(result.getT1(), pageable, result.getT2())));
+    }
+
+    /**
+     * Completes empty with a prepared 304 when the client's validators match
+     * those of the negotiated representation; otherwise subscribes to
+     * {@code response}, which then carries the validators unless it fails.
+     */
+    private <T> Mono<ResponseEntity<T>> unlessNotModified(Mono<ResourceVersion> version, ServerWebExchange exchange,
+                                                          Mono<ResponseEntity<T>> response) {
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        RepresentationFormat format = RepresentationFormat.negotiate(
+                exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT));
+        return version
+                .map(current -> current.in(format != null ? format : RepresentationFormat.JSON))
+                .map(current -> exchange.checkNotModified(current.etag(), Instant.ofEpochMilli(current.lastModified())))
+                .defaultIfEmpty(false)
+                .flatMap(notModified -> notModified ? Mono.<ResponseEntity<T>>empty() : response)
+                // An error response describes no version of the resource
+                .doOnError(ex -> {
+                    headers.remove(HttpHeaders.ETAG);
+                    headers.remove(HttpHeaders.LAST_MODIFIED);
+                });
+    }
+}
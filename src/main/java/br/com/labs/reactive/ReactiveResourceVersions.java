@@ -0,0 +1,53 @@
+package br.com.labs.reactive;
+
+import br.com.labs.web.ResourceVersion;
+import br.com.labs.web.ResourceVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Non-blocking lookup of the validators maintained by {@link ResourceVersions}
+ * on the write pods, so read pods hand out and honour the same ETags.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveResourceVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveResourceVersions.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public ReactiveResourceVersions(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Mono<ResourceVersion> author(Long authorId) {
+        return lookup("a" + authorId, ResourceVersions.authorKey(authorId));
+    }
+
+    public Mono<ResourceVersion> catalog() {
+        return lookup("c", ResourceVersions.CATALOG_KEY);
+    }
+
+    /**
+     * Empty when Redis is unavailable; the request is then served unconditionally.
+     */
+    private Mono<ResourceVersion> lookup(String prefix, String key) {
+        return redisTemplate.execute(ResourceVersions.LOOKUP_SCRIPT, List.of(ResourceVersions.EPOCH_KEY, key),
+                        List.of(String.valueOf(Instant.now().toEpochMilli())))
+                .next()
+                .map(result -> ResourceVersions.fromLookup(prefix, result))
+                .onErrorResume(ex -> {
+                    log.warn("Resource versions unavailable, skipping conditional request handling: {}",
+                            ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.labs.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Source rows of the analytics snapshot: only the columns it aggregates, read
+ * without going through the persistence context.
+ */
+@Repository
+public class AnalyticsSnapshotRepository {
+
+    private static final int FETCH_SIZE = 2000;
+
+    private static final String MUSIC_SQL = """
+            SELECT m.id, m.author_id, m.duration_seconds, g.name AS genre
+            FROM music m
+            LEFT JOIN genre g ON g.id = m.genre_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AnalyticsSnapshotRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Streams every music in id order. Must run inside a transaction so the
+     * driver uses a cursor instead of buffering the whole catalog.
+     */
+    public void streamAll(Consumer<MusicColumnsRow> consumer) {
+        jdbcTemplate.query(MUSIC_SQL + "ORDER BY m.id", new MapSqlParameterSource(),
+                (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    public Optional<MusicColumnsRow> findById(Long musicId) {
+        return jdbcTemplate.query(MUSIC_SQL + "WHERE m.id = :id", new MapSqlParameterSource("id", musicId),
+                (rs, rowNum) -> mapRow(rs)).stream().findFirst();
+    }
+
+    private static MusicColumnsRow mapRow(ResultSet rs) throws SQLException {
+        return new MusicColumnsRow(
+                rs.getLong("id"),
+                rs.getLong("author_id"),
+                rs.getInt("duration_seconds"),
+                rs.getString("genre")
+        );
+    }
+}
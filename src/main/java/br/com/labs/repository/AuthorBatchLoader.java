@@ -0,0 +1,195 @@
+package br.com.labs.repository;
+
+import br.com.labs.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Author lookups from concurrent requests, resolved together: the first lookup
+ * to arrive opens a window of {@code app.author-loader.max-wait}, and every
+ * lookup queued until it closes (at most {@code app.author-loader.max-batch-size})
+ * is answered by one {@code IN} query, with identical ids asked for once.
+ * <p>
+ * The query runs on its own connection, so callers must not hold one while they
+ * wait: with every pooled connection taken by waiting callers, the batch could
+ * not run until the pool timed out. Up to {@code app.author-loader.max-in-flight}
+ * batches run at once; lookups queued meanwhile join the next one. A lookup
+ * not answered within {@code app.author-loader.timeout} fails with a 503, and
+ * lookups still queued when the loader stops fail at once.
+ */
+@Repository
+public class AuthorBatchLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorBatchLoader.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Lookup> queue = new LinkedBlockingQueue<>();
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+    private final DistributionSummary batchSize;
+    private final Timer waitTime;
+    private final Thread dispatcher;
+
+    private volatile boolean stopped;
+
+    public AuthorBatchLoader(DataSource dataSource, MeterRegistry meterRegistry,
+                             @Value("${app.author-loader.max-wait:2ms}") Duration maxWait,
+                             @Value("${app.author-loader.max-batch-size:100}") int maxBatchSize,
+                             @Value("${app.author-loader.max-in-flight:4}") int maxInFlight,
+                             @Value("${app.author-loader.timeout:5s}") Duration timeout) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timeoutNanos = timeout.toNanos();
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxInFlight),
+                Thread.ofPlatform().name("author-loader-batch-", 0).daemon().factory());
+        this.batchSize = DistributionSummary.builder("author.loader.batch.size")
+                .description("Distinct author ids resolved by one batched query")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("author.loader.wait")
+                .description("Time an author lookup waited for its batch to be sent")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dispatcher = Thread.ofPlatform().name("author-loader").daemon().start(this::dispatch);
+    }
+
+    public Optional<AuthorRef> findById(long id) {
+        if (stopped) {
+            throw new IllegalStateException("Author loader is shut down");
+        }
+        Lookup lookup = new Lookup(id, System.nanoTime(), new CompletableFuture<>());
+        queue.add(lookup);
+        try {
+            return lookup.result().get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            queue.remove(lookup);
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Author lookup timed out", Duration.ofSeconds(1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            queue.remove(lookup);
+            throw new IllegalStateException("Interrupted while waiting for author " + id, ex);
+        }
+    }
+
+    public boolean existsById(long id) {
+        return findById(id).isPresent();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopped = true;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        failPending(List.of());
+    }
+
+    private void dispatch() {
+        List<Lookup> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Lookup first = queue.take();
+                batch.add(first);
+                long closesAt = first.queuedAt() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    Lookup next = queue.poll(closesAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                // Lookups that queued while every batch was in flight ride along
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                List<Lookup> sent = batch;
+                executor.execute(() -> {
+                    try {
+                        resolve(sent);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error ex) {
+            log.error("Author loader stopped dispatching", ex);
+            throw ex;
+        } finally {
+            // Nothing answers lookups any more; fail them rather than leave callers to time out
+            stopped = true;
+            failPending(batch);
+        }
+    }
+
+    private void failPending(List<Lookup> taken) {
+        IllegalStateException shutDown = new IllegalStateException("Author loader is shut down");
+        List<Lookup> pending = new ArrayList<>(taken);
+        queue.drainTo(pending);
+        pending.forEach(lookup -> lookup.result().completeExceptionally(shutDown));
+    }
+
+    private void resolve(List<Lookup> batch) {
+        long sentAt = System.nanoTime();
+        Map<Long, List<Lookup>> byId = new HashMap<>();
+        for (Lookup lookup : batch) {
+            waitTime.record(sentAt - lookup.queuedAt(), TimeUnit.NANOSECONDS);
+            byId.computeIfAbsent(lookup.id(), id -> new ArrayList<>(1)).add(lookup);
+        }
+        batchSize.record(byId.size());
+        try {
+            Map<Long, AuthorRef> found = new HashMap<>();
+            jdbcTemplate.query("SELECT id, name FROM author WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", byId.keySet()), rs -> {
+                        AuthorRef author = new AuthorRef(rs.getLong("id"), rs.getString("name"));
+                        found.put(author.id(), author);
+                    });
+            byId.forEach((id, lookups) -> {
+                Optional<AuthorRef> author = Optional.ofNullable(found.get(id));
+                lookups.forEach(lookup -> lookup.result().complete(author));
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Failed to resolve a batch of {} author ids", byId.size(), ex);
+            batch.forEach(lookup -> lookup.result().completeExceptionally(ex));
+        }
+    }
+
+    private record Lookup(long id, long queuedAt, CompletableFuture<Optional<AuthorRef>> result) {
+    }
+}
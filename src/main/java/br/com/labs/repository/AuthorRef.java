@@ -0,0 +1,8 @@
+package br.com.labs.repository;
+
+/**
+ * Identity and display name of an existing author, as resolved by
+ * {@link AuthorBatchLoader}.
+ */
+public record AuthorRef(long id, String name) {
+}
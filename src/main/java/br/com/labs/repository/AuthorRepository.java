@@ -1,12 +1,17 @@
 package br.com.labs.repository;
 
 import br.com.labs.model.Author;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long>, JpaSpecificationExecutor<Author> {
@@ -15,6 +20,17 @@ public interface AuthorRepository extends JpaRepository<Author, Long>, JpaSpecif
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT a FROM Author a LEFT JOIN FETCH a.musics WHERE a.id = :id")
-    Optional<Author> findByIdWithMusics(Long id);
+    /**
+     * Every author name, ignoring case, weighted by the number of musics of the
+     * authors carrying it and spelled as the one with the most musics spells
+     * it. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new br.com.labs.repository.WeightedTerm(t.name, t.weight) FROM (
+                SELECT a.name AS name, SUM(COUNT(m)) OVER (PARTITION BY LOWER(a.name)) AS weight,
+                       ROW_NUMBER() OVER (PARTITION BY LOWER(a.name) ORDER BY COUNT(m) DESC, a.name) AS spelling
+                FROM Author a LEFT JOIN a.musics m GROUP BY a.id, a.name) t
+            WHERE t.spelling = 1""")
+    Stream<WeightedTerm> streamNameWeights();
 }
@@ -0,0 +1,139 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.response.AuthorStatsResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code author_stats} and {@code author_genre_stats} tables: running totals
+ * per author, adjusted by deltas inside the transaction that changes a music, so
+ * reads never aggregate {@code music}.
+ */
+@Repository
+public class AuthorStatsRepository {
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "musicCount", "s.music_count",
+            "totalDurationSeconds", "s.total_duration_seconds",
+            "averageDurationSeconds", "s.average_duration_seconds"
+    );
+
+    private static final String STATS_SQL = """
+            SELECT s.author_id, a.name AS author_name, s.music_count, s.total_duration_seconds,
+                   s.average_duration_seconds
+            FROM author_stats s
+            JOIN author a ON a.id = s.author_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final GenreDictionary genreDictionary;
+
+    public AuthorStatsRepository(DataSource dataSource, GenreDictionary genreDictionary) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.genreDictionary = genreDictionary;
+    }
+
+    /**
+     * Starts an author at zero, so it has stats before its first music.
+     */
+    public void initialize(Long authorId) {
+        jdbcTemplate.update("INSERT INTO author_stats (author_id) VALUES (:authorId) ON CONFLICT DO NOTHING",
+                new MapSqlParameterSource("authorId", authorId));
+    }
+
+    /**
+     * Adds {@code count} musics of {@code durationSeconds} total to the author and,
+     * unless {@code genre} is null, to its genre; negative values remove them.
+     */
+    public void add(Long authorId, String genre, int count, long durationSeconds) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("authorId", authorId)
+                .addValue("genreId", genre != null ? genreDictionary.register(genre) : null)
+                .addValue("count", count)
+                .addValue("duration", durationSeconds);
+
+        jdbcTemplate.update("""
+                INSERT INTO author_stats (author_id, music_count, total_duration_seconds, updated_at)
+                VALUES (:authorId, :count, :duration, CURRENT_TIMESTAMP)
+                ON CONFLICT (author_id) DO UPDATE SET
+                    music_count = author_stats.music_count + EXCLUDED.music_count,
+                    total_duration_seconds = author_stats.total_duration_seconds + EXCLUDED.total_duration_seconds,
+                    updated_at = EXCLUDED.updated_at""", parameters);
+
+        if (genre == null || count == 0) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO author_genre_stats (author_id, genre_id, music_count)
+                VALUES (:authorId, :genreId, :count)
+                ON CONFLICT (author_id, genre_id) DO UPDATE SET
+                    music_count = author_genre_stats.music_count + EXCLUDED.music_count""", parameters);
+        if (count < 0) {
+            jdbcTemplate.update("""
+                    DELETE FROM author_genre_stats
+                    WHERE author_id = :authorId AND genre_id = :genreId AND music_count <= 0""", parameters);
+        }
+    }
+
+    public Optional<AuthorStatsResponse> findByAuthorId(Long authorId) {
+        return jdbcTemplate.query(STATS_SQL + "WHERE s.author_id = :authorId",
+                        new MapSqlParameterSource("authorId", authorId),
+                        (rs, rowNum) -> mapStats(rs))
+                .stream().findFirst();
+    }
+
+    public List<AuthorStatsResponse.GenreCount> findGenres(Long authorId) {
+        return jdbcTemplate.query("""
+                        SELECT g.name AS genre, s.music_count
+                        FROM author_genre_stats s
+                        JOIN genre g ON g.id = s.genre_id
+                        WHERE s.author_id = :authorId
+                        ORDER BY s.music_count DESC, g.name""",
+                new MapSqlParameterSource("authorId", authorId),
+                (rs, rowNum) -> new AuthorStatsResponse.GenreCount(rs.getString("genre"), rs.getLong("music_count")));
+    }
+
+    /**
+     * The first {@code limit} authors with at least one music in {@code sort}
+     * order; properties other than the sortable ones are ignored.
+     */
+    public List<AuthorStatsResponse> findTop(Sort sort, int limit) {
+        List<Sort.Order> sortable = sort.filter(order -> SORTABLE_COLUMNS.containsKey(order.getProperty())).toList();
+        if (sortable.isEmpty()) {
+            sortable = List.of(Sort.Order.desc("musicCount"));
+        }
+
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sortable) {
+            orders.add(SORTABLE_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Same direction as the leading column, so its index can be scanned either way
+        orders.add("s.author_id " + (sortable.get(0).isAscending() ? "ASC" : "DESC"));
+
+        return jdbcTemplate.query(STATS_SQL + "WHERE s.music_count > 0 ORDER BY " + String.join(", ", orders)
+                        + " LIMIT :limit",
+                new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> mapStats(rs));
+    }
+
+    private static AuthorStatsResponse mapStats(ResultSet rs) throws SQLException {
+        return new AuthorStatsResponse(
+                rs.getLong("author_id"),
+                rs.getString("author_name"),
+                rs.getLong("music_count"),
+                rs.getLong("total_duration_seconds"),
+                rs.getBigDecimal("average_duration_seconds"),
+                null
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.model.JobStatus;
+import br.com.labs.model.JobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of {@code bulk_job}; {@code cursor} is the last music or author id
+ * the job has processed.
+ */
+public record BulkJob(
+        long id,
+        JobType type,
+        JobStatus status,
+        JobRequest parameters,
+        Long total,
+        long processed,
+        long changed,
+        long cursor,
+        String owner,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+}
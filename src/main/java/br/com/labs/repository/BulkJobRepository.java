@@ -0,0 +1,177 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.model.JobStatus;
+import br.com.labs.model.JobType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The {@code bulk_job} table. A pod owns a running job while it keeps
+ * {@code heartbeat_at} within the lease; every write made on behalf of a job
+ * is conditional on still owning it.
+ */
+@Repository
+public class BulkJobRepository {
+
+    private static final String COLUMNS = """
+            id, type, status, parameters, total, processed, changed, cursor, owner, error,
+            created_at, started_at, finished_at""";
+    private static final String SELECT_JOB = "SELECT " + COLUMNS + " FROM bulk_job ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public BulkJobRepository(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    public BulkJob insert(JobRequest request) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("type", request.type().name())
+                .addValue("status", JobStatus.QUEUED.name())
+                .addValue("parameters", toJson(request));
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO bulk_job (type, status, parameters)
+                VALUES (:type, :status, CAST(:parameters AS JSONB))
+                RETURNING\s""" + COLUMNS, parameters, this::mapJob);
+    }
+
+    public Optional<BulkJob> findById(long id) {
+        return jdbcTemplate.query(SELECT_JOB + "WHERE id = :id",
+                new MapSqlParameterSource("id", id), this::mapJob).stream().findFirst();
+    }
+
+    /**
+     * Takes the oldest job that is queued, or running on a pod that has not
+     * sent a heartbeat within {@code lease}, for {@code owner}. The lease is
+     * measured on the database clock, which also stamps the heartbeats, so
+     * pod clocks and time zones cannot shorten it.
+     */
+    public Optional<BulkJob> claim(String owner, Duration lease) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("leaseSeconds", lease.toMillis() / 1000.0);
+        return jdbcTemplate.query("""
+                UPDATE bulk_job
+                SET status = 'RUNNING', owner = :owner, heartbeat_at = CURRENT_TIMESTAMP,
+                    started_at = COALESCE(started_at, CURRENT_TIMESTAMP)
+                WHERE id = (
+                    SELECT id FROM bulk_job
+                    WHERE status = 'QUEUED'
+                       OR (status = 'RUNNING' AND heartbeat_at < CURRENT_TIMESTAMP - make_interval(secs => :leaseSeconds))
+                    ORDER BY id
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING\s""" + COLUMNS, parameters, this::mapJob).stream().findFirst();
+    }
+
+    /**
+     * Locks the job for the rest of the transaction, provided {@code owner}
+     * still runs it; other pods skip it while it is locked.
+     */
+    public Optional<BulkJob> lockOwned(long id, String owner) {
+        return jdbcTemplate.query(SELECT_JOB + "WHERE id = :id AND owner = :owner AND status = 'RUNNING' FOR UPDATE",
+                new MapSqlParameterSource().addValue("id", id).addValue("owner", owner), this::mapJob)
+                .stream().findFirst();
+    }
+
+    public void setTotal(long id, long total) {
+        jdbcTemplate.update("UPDATE bulk_job SET total = :total WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", id).addValue("total", total));
+    }
+
+    /**
+     * Records a chunk; meant for the chunk's own transaction, after
+     * {@link #lockOwned}.
+     */
+    public void advance(long id, long cursor, long processed, long changed) {
+        jdbcTemplate.update("""
+                        UPDATE bulk_job
+                        SET cursor = :cursor, processed = processed + :processed, changed = changed + :changed,
+                            heartbeat_at = CURRENT_TIMESTAMP
+                        WHERE id = :id""",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("cursor", cursor)
+                        .addValue("processed", processed)
+                        .addValue("changed", changed));
+    }
+
+    /**
+     * Extends the lease; {@code false} when {@code owner} no longer runs the job.
+     */
+    public boolean heartbeat(long id, String owner) {
+        return jdbcTemplate.update("""
+                        UPDATE bulk_job SET heartbeat_at = CURRENT_TIMESTAMP
+                        WHERE id = :id AND owner = :owner AND status = 'RUNNING'""",
+                new MapSqlParameterSource().addValue("id", id).addValue("owner", owner)) > 0;
+    }
+
+    public void finish(long id, String owner, JobStatus status, String error) {
+        jdbcTemplate.update("""
+                        UPDATE bulk_job
+                        SET status = :status, error = :error, finished_at = CURRENT_TIMESTAMP, heartbeat_at = NULL
+                        WHERE id = :id AND owner = :owner AND status = 'RUNNING'""",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("owner", owner)
+                        .addValue("status", status.name())
+                        .addValue("error", error));
+    }
+
+    /**
+     * Hands a running job back to the queue, for any pod to resume from its cursor.
+     */
+    public void requeue(long id, String owner) {
+        jdbcTemplate.update("""
+                        UPDATE bulk_job SET status = 'QUEUED', owner = NULL, heartbeat_at = NULL
+                        WHERE id = :id AND owner = :owner AND status = 'RUNNING'""",
+                new MapSqlParameterSource().addValue("id", id).addValue("owner", owner));
+    }
+
+    private BulkJob mapJob(ResultSet rs, int rowNum) throws SQLException {
+        return new BulkJob(
+                rs.getLong("id"),
+                JobType.valueOf(rs.getString("type")),
+                JobStatus.valueOf(rs.getString("status")),
+                fromJson(rs.getString("parameters")),
+                rs.getObject("total", Long.class),
+                rs.getLong("processed"),
+                rs.getLong("changed"),
+                rs.getLong("cursor"),
+                rs.getString("owner"),
+                rs.getString("error"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("started_at", LocalDateTime.class),
+                rs.getObject("finished_at", LocalDateTime.class));
+    }
+
+    private String toJson(JobRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Job parameters cannot be serialized", ex);
+        }
+    }
+
+    private JobRequest fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, JobRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored job parameters cannot be read", ex);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.labs.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based statements behind the bulk jobs. Each one handles the next chunk
+ * after a cursor (the last music or author id handled), in id order, and locks
+ * the rows it is about to change, so the chunk is safe against concurrent
+ * single-row writes. Callers keep derived data (author stats, events) in step.
+ */
+@Repository
+public class CatalogBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CatalogBulkRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    public long countByGenres(Collection<Short> genreIds, short excludedGenreId) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT COUNT(*) FROM music WHERE genre_id IN (:genreIds) AND genre_id <> :excluded""",
+                new MapSqlParameterSource().addValue("genreIds", genreIds).addValue("excluded", excludedGenreId),
+                Long.class);
+    }
+
+    /**
+     * Sets {@code genreId} on the next {@code limit} musics with one of
+     * {@code fromGenreIds}, returning them as they were before.
+     */
+    public List<MusicRow> regenre(Collection<Short> fromGenreIds, short genreId, long afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("fromGenreIds", fromGenreIds)
+                .addValue("genreId", genreId)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query("""
+                WITH chunk AS (
+                    SELECT id, author_id, genre_id
+                    FROM music
+                    WHERE genre_id IN (:fromGenreIds) AND genre_id <> :genreId AND id > :afterId
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE
+                )
+                UPDATE music m
+                SET genre_id = :genreId, updated_at = CURRENT_TIMESTAMP
+                FROM chunk c
+                WHERE m.id = c.id AND m.author_id = c.author_id
+                RETURNING m.id, m.author_id, c.genre_id, m.duration_seconds""", parameters, this::mapMusic);
+    }
+
+    public long countByAuthor(long authorId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM music WHERE author_id = :authorId",
+                new MapSqlParameterSource("authorId", authorId), Long.class);
+    }
+
+    /**
+     * Ids of the next {@code limit} musics of the author, locked until the
+     * transaction ends.
+     */
+    public List<Long> lockMusicIdsOfAuthor(long authorId, long afterId, int limit) {
+        return jdbcTemplate.queryForList("""
+                        SELECT id FROM music
+                        WHERE author_id = :authorId AND id > :afterId
+                        ORDER BY id
+                        LIMIT :limit
+                        FOR UPDATE""",
+                new MapSqlParameterSource()
+                        .addValue("authorId", authorId)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit),
+                Long.class);
+    }
+
+    /**
+     * Moves {@code musicIds} from one author to the other, except musics named
+     * like one the new author already has; returns the moved ones.
+     */
+    public List<MusicRow> move(List<Long> musicIds, long fromAuthorId, long toAuthorId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("musicIds", musicIds)
+                .addValue("fromAuthorId", fromAuthorId)
+                .addValue("toAuthorId", toAuthorId);
+        return jdbcTemplate.query("""
+                UPDATE music m
+                SET author_id = :toAuthorId, updated_at = CURRENT_TIMESTAMP
+                WHERE m.author_id = :fromAuthorId AND m.id IN (:musicIds)
+                  AND NOT EXISTS (SELECT 1 FROM music t WHERE t.author_id = :toAuthorId AND t.name = m.name)
+                RETURNING m.id, :fromAuthorId AS author_id, m.genre_id, m.duration_seconds""",
+                parameters, this::mapMusic);
+    }
+
+    public long countAuthors() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM author", Long.class);
+    }
+
+    public List<Long> findAuthorIds(long afterId, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM author WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource().addValue("afterId", afterId).addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Recomputes {@code author_stats} and {@code author_genre_stats} of
+     * {@code authorIds} from {@code music}, returning the authors whose stats
+     * were wrong.
+     * <p>
+     * The stats rows are locked before {@code music} is read: a concurrent
+     * write either committed its delta before (and its music change is seen)
+     * or applies it after this transaction, on top of the recomputed totals.
+     */
+    public Set<Long> recomputeAuthorStats(List<Long> authorIds) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("authorIds", authorIds);
+        jdbcTemplate.update("""
+                INSERT INTO author_stats (author_id)
+                SELECT id FROM author WHERE id IN (:authorIds)
+                ON CONFLICT DO NOTHING""", parameters);
+        jdbcTemplate.queryForList("""
+                SELECT author_id FROM author_stats
+                WHERE author_id IN (:authorIds)
+                ORDER BY author_id
+                FOR UPDATE""", parameters, Long.class);
+
+        Set<Long> corrected = new HashSet<>(jdbcTemplate.queryForList("""
+                UPDATE author_stats s
+                SET music_count = c.music_count, total_duration_seconds = c.total_duration_seconds,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM (
+                    SELECT a.id AS author_id, COUNT(m.id) AS music_count,
+                           COALESCE(SUM(m.duration_seconds), 0) AS total_duration_seconds
+                    FROM author a
+                    LEFT JOIN music m ON m.author_id = a.id
+                    WHERE a.id IN (:authorIds)
+                    GROUP BY a.id
+                ) c
+                WHERE s.author_id = c.author_id
+                  AND (s.music_count, s.total_duration_seconds)
+                      IS DISTINCT FROM (c.music_count::INTEGER, c.total_duration_seconds::BIGINT)
+                RETURNING s.author_id""", parameters, Long.class));
+        corrected.addAll(jdbcTemplate.queryForList("""
+                WITH actual AS (
+                    SELECT author_id, genre_id, COUNT(*)::INTEGER AS music_count
+                    FROM music
+                    WHERE author_id IN (:authorIds) AND genre_id IS NOT NULL
+                    GROUP BY author_id, genre_id
+                ), removed AS (
+                    DELETE FROM author_genre_stats s
+                    WHERE s.author_id IN (:authorIds)
+                      AND NOT EXISTS (SELECT 1 FROM actual a WHERE a.author_id = s.author_id AND a.genre_id = s.genre_id)
+                    RETURNING s.author_id
+                ), upserted AS (
+                    INSERT INTO author_genre_stats (author_id, genre_id, music_count)
+                    SELECT author_id, genre_id, music_count FROM actual
+                    ON CONFLICT (author_id, genre_id) DO UPDATE SET music_count = EXCLUDED.music_count
+                    WHERE author_genre_stats.music_count <> EXCLUDED.music_count
+                    RETURNING author_id
+                )
+                SELECT author_id FROM removed
+                UNION
+                SELECT author_id FROM upserted""", parameters, Long.class));
+        return corrected;
+    }
+
+    private MusicRow mapMusic(ResultSet rs, int rowNum) throws SQLException {
+        return new MusicRow(rs.getLong("id"), rs.getLong("author_id"), rs.getObject("genre_id", Short.class),
+                rs.getInt("duration_seconds"));
+    }
+
+    /**
+     * A music as it was before a bulk statement changed it.
+     */
+    public record MusicRow(long id, long authorId, Short genreId, int durationSeconds) {
+    }
+}
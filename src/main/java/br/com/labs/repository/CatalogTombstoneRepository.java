@@ -0,0 +1,24 @@
+package br.com.labs.repository;
+
+import br.com.labs.model.CatalogTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CatalogTombstoneRepository extends JpaRepository<CatalogTombstone, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO catalog_tombstone (entity_type, entity_id, author_id, deleted_at)
+            SELECT 'MUSIC', m.id, m.author_id, :deletedAt FROM music m WHERE m.author_id = :authorId
+            """, nativeQuery = true)
+    int insertForMusicsOfAuthor(Long authorId, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM CatalogTombstone t WHERE t.deletedAt < :threshold")
+    int deleteOlderThan(LocalDateTime threshold);
+}
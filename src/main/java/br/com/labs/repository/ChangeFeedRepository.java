@@ -0,0 +1,137 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.ChangeToken;
+import br.com.labs.dto.response.ChangeResponse;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class ChangeFeedRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String CHANGES_SQL = """
+            SELECT * FROM (
+                SELECT 'AUTHOR' AS entity_type, a.id AS entity_id,
+                       CASE WHEN a.created_at = a.updated_at THEN 'CREATED' ELSE 'UPDATED' END AS operation,
+                       a.updated_at AS changed_at, CAST(NULL AS BIGINT) AS author_id,
+                       a.name AS name, a.email AS email,
+                       CAST(NULL AS INTEGER) AS duration_seconds, CAST(NULL AS VARCHAR) AS genre
+                FROM author a
+                WHERE a.updated_at >= :since AND a.updated_at <= :until
+                UNION ALL
+                SELECT 'MUSIC', m.id,
+                       CASE WHEN m.created_at = m.updated_at THEN 'CREATED' ELSE 'UPDATED' END,
+                       m.updated_at, m.author_id,
+                       m.name, CAST(NULL AS VARCHAR),
+                       m.duration_seconds, g.name
+                FROM music m
+                LEFT JOIN genre g ON g.id = m.genre_id
+                WHERE m.updated_at >= :since AND m.updated_at <= :until
+                UNION ALL
+                SELECT t.entity_type, t.entity_id, 'DELETED',
+                       t.deleted_at, t.author_id,
+                       CAST(NULL AS VARCHAR), CAST(NULL AS VARCHAR),
+                       CAST(NULL AS INTEGER), CAST(NULL AS VARCHAR)
+                FROM catalog_tombstone t
+                WHERE t.deleted_at >= :since AND t.deleted_at <= :until
+            ) c
+            WHERE (c.changed_at, c.entity_type, c.entity_id) > (:since, :sinceType, :sinceId)
+            ORDER BY c.changed_at, c.entity_type, c.entity_id
+            LIMIT :limit
+            """;
+
+    // Each maximum is read from the end of an index
+    private static final String LAST_CHANGED_AT_SQL = """
+            SELECT GREATEST(
+                (SELECT MAX(updated_at) FROM author),
+                (SELECT MAX(updated_at) FROM music),
+                (SELECT MAX(deleted_at) FROM catalog_tombstone))
+            """;
+
+    // Sessions get a transaction id on their first write or row lock
+    private static final String OLDEST_OPEN_WRITE_SQL = """
+            SELECT CAST(MIN(xact_start) AS TIMESTAMP) FROM pg_stat_activity
+            WHERE datname = current_database() AND backend_xid IS NOT NULL AND pid <> pg_backend_pid()
+            """;
+
+    private static final RowMapper<ChangeResponse> CHANGE_ROW_MAPPER = ChangeFeedRepository::mapChange;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ChangeFeedRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    public List<ChangeResponse> findChanges(ChangeToken since, LocalDateTime until, int limit) {
+        return jdbcTemplate.query(CHANGES_SQL, parameters(since, until, limit), CHANGE_ROW_MAPPER);
+    }
+
+    /**
+     * Streams changes row by row. Must run inside a transaction so the driver
+     * uses a cursor instead of buffering the whole result set.
+     */
+    public void streamChanges(ChangeToken since, LocalDateTime until, int limit, Consumer<ChangeResponse> consumer) {
+        jdbcTemplate.query(CHANGES_SQL, parameters(since, until, limit),
+                (RowCallbackHandler) rs -> consumer.accept(mapChange(rs, rs.getRow())));
+    }
+
+    /**
+     * Time of the latest change in the feed; null while the catalog is empty
+     * and has no tombstones.
+     */
+    public LocalDateTime lastChangedAt() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(LAST_CHANGED_AT_SQL, LocalDateTime.class);
+    }
+
+    /**
+     * Start of the oldest transaction of another session that has written or
+     * locked rows and not committed yet; null when there is none.
+     */
+    public LocalDateTime oldestOpenWriteStartedAt() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject(OLDEST_OPEN_WRITE_SQL, LocalDateTime.class);
+    }
+
+    private MapSqlParameterSource parameters(ChangeToken since, LocalDateTime until, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("since", since.changedAt())
+                .addValue("sinceType", since.entityType())
+                .addValue("sinceId", since.entityId())
+                .addValue("until", until)
+                .addValue("limit", limit);
+    }
+
+    private static ChangeResponse mapChange(ResultSet rs, int rowNum) throws SQLException {
+        CatalogEntityType entityType = CatalogEntityType.valueOf(rs.getString("entity_type"));
+        long entityId = rs.getLong("entity_id");
+        LocalDateTime changedAt = rs.getObject("changed_at", LocalDateTime.class);
+
+        return new ChangeResponse(
+                entityType,
+                entityId,
+                ChangeOperation.valueOf(rs.getString("operation")),
+                changedAt,
+                rs.getObject("author_id", Long.class),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getObject("duration_seconds", Integer.class),
+                rs.getString("genre"),
+                ChangeToken.after(changedAt, entityType, entityId).encode()
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.labs.repository;
+
+import br.com.labs.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The {@code genre} table held in memory in both directions: name to
+ * {@code SMALLINT} code for writes and exact filters, and code to name for
+ * reads. Case-insensitive matches always go to the table (see
+ * {@link #codesOf}).
+ * <p>
+ * Entries are loaded on first use and reloaded every
+ * {@code app.genres.refresh-interval}, to pick up genres registered by other
+ * pods. A genre missing from memory is looked up in the database, and is only
+ * remembered once the transaction that saw it commits, so a code whose insert
+ * is rolled back is never handed out.
+ */
+@Repository
+public class GenreDictionary {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxCount;
+
+    private volatile Entries entries;
+
+    public GenreDictionary(DataSource dataSource, @Value("${app.genres.max-count:1000}") int maxCount) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.maxCount = Math.min(maxCount, Short.MAX_VALUE);
+    }
+
+    public Optional<Short> codeOf(String genre) {
+        Short code = entries().codes().get(genre);
+        if (code != null) {
+            return Optional.of(code);
+        }
+        Optional<Short> stored = jdbcTemplate.queryForList("SELECT id FROM genre WHERE name = :name",
+                new MapSqlParameterSource("name", genre), Short.class).stream().findFirst();
+        stored.ifPresent(found -> learn(found, genre));
+        return stored;
+    }
+
+    public String nameOf(short code) {
+        String name = entries().names().get(code);
+        if (name != null) {
+            return name;
+        }
+        name = jdbcTemplate.queryForList("SELECT name FROM genre WHERE id = :id",
+                        new MapSqlParameterSource("id", code), String.class).stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown genre code " + code));
+        learn(code, name);
+        return name;
+    }
+
+    /**
+     * Code of {@code genre}, inserting it first if no music used it before.
+     *
+     * @throws BusinessException if {@code app.genres.max-count} genres exist already
+     */
+    public short register(String genre) {
+        Optional<Short> existing = codeOf(genre);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        // Codes are smallints and free-form input must not be able to use them all up
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM genre", Map.of(), Integer.class);
+        if (count != null && count >= maxCount) {
+            throw new BusinessException("Genre limit of " + maxCount + " reached, use an existing genre");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("name", genre);
+        Short code = jdbcTemplate.queryForList(
+                        "INSERT INTO genre (name) VALUES (:name) ON CONFLICT (name) DO NOTHING RETURNING id",
+                        parameters, Short.class).stream().findFirst()
+                // Inserted concurrently by another transaction, which has committed by now
+                .orElseGet(() -> jdbcTemplate.queryForObject("SELECT id FROM genre WHERE name = :name",
+                        parameters, Short.class));
+        learn(code, genre);
+        return code;
+    }
+
+    /**
+     * Codes of every stored genre equal to {@code genre} ignoring case; empty
+     * when no music has such a genre. Read from the database, so variants
+     * registered by other pods since the last reload are included.
+     */
+    public List<Short> codesOf(String genre) {
+        return jdbcTemplate.queryForList("SELECT id FROM genre WHERE LOWER(name) = LOWER(:genre)",
+                new MapSqlParameterSource("genre", genre), Short.class);
+    }
+
+    public int size() {
+        return entries().codes().size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.genres.refresh-interval:5m}",
+            initialDelayString = "${app.genres.refresh-interval:5m}")
+    public void reload() {
+        Map<Short, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM genre", rs -> {
+            names.put(rs.getShort("id"), rs.getString("name"));
+        });
+        entries = Entries.of(names);
+    }
+
+    private Entries entries() {
+        Entries current = entries;
+        if (current == null) {
+            synchronized (this) {
+                if (entries == null) {
+                    reload();
+                }
+                current = entries;
+            }
+        }
+        return current;
+    }
+
+    private void learn(short code, String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(code, name);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(code, name);
+            }
+        });
+    }
+
+    private synchronized void add(short code, String name) {
+        Map<Short, String> names = new HashMap<>(entries().names());
+        names.put(code, name);
+        entries = Entries.of(names);
+    }
+
+    private record Entries(Map<String, Short> codes, Map<Short, String> names) {
+
+        static Entries of(Map<Short, String> names) {
+            Map<String, Short> codes = new HashMap<>();
+            names.forEach((code, name) -> codes.put(name, code));
+            return new Entries(Map.copyOf(codes), Map.copyOf(names));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.labs.repository;
+
+/**
+ * The columns of a music kept by the analytics snapshot.
+ */
+public record MusicColumnsRow(long musicId, long authorId, int durationSeconds, String genre) {
+}
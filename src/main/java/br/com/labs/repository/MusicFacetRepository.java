@@ -0,0 +1,60 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.MusicFacets;
+import br.com.labs.model.Music;
+import br.com.labs.repository.specification.MusicSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Facet counts of {@code /musics/search}, computed with the filters of
+ * {@link MusicSpecification#withFilters} in a single query grouped by genre and
+ * duration range.
+ */
+@Repository
+public class MusicFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Number of matching musics per genre and duration range, one row per
+     * non-empty combination; see {@link MusicFacets.Cell}.
+     */
+    public List<MusicFacets.Cell> countByGenreAndDuration(MusicSearchRequest searchRequest, List<Integer> bounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MusicFacets.Cell> query = cb.createQuery(MusicFacets.Cell.class);
+        Root<Music> root = query.from(Music.class);
+
+        // Grouped by code and converted back to names in the result, where case variants are merged
+        Path<String> genre = root.get("genre");
+        Expression<Integer> bucket = durationBucket(cb, root.get("durationSeconds"), bounds);
+
+        query.select(cb.construct(MusicFacets.Cell.class, genre, bucket, cb.count(root)))
+                .where(MusicSpecification.withFilters(searchRequest).toPredicate(root, query, cb))
+                // Rendered as GROUP BY of the select positions, so the CASE is not repeated
+                .groupBy(genre, bucket);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Expression<Integer> durationBucket(CriteriaBuilder cb, Path<Integer> duration, List<Integer> bounds) {
+        if (bounds.isEmpty()) {
+            return cb.literal(0);
+        }
+        CriteriaBuilder.Case<Integer> bucket = cb.selectCase();
+        for (int i = 0; i < bounds.size(); i++) {
+            bucket = bucket.when(cb.lessThan(duration, cb.literal(bounds.get(i))), cb.literal(i));
+        }
+        return bucket.otherwise(cb.literal(bounds.size()));
+    }
+}
@@ -1,15 +1,23 @@
 package br.com.labs.repository;
 
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
 import br.com.labs.model.Music;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface MusicRepository extends JpaRepository<Music, Long>, JpaSpecificationExecutor<Music> {
@@ -18,10 +26,37 @@ public interface MusicRepository extends JpaRepository<Music, Long>, JpaSpecific
 
     Page<Music> findByAuthorId(Long authorId, Pageable pageable);
 
+    List<AuthorWithMusicsResponse.MusicSummary> findSummariesByAuthorIdOrderById(Long authorId, Pageable pageable);
+
+    long countByAuthorId(Long authorId);
+
     @Query("SELECT m FROM Music m JOIN FETCH m.author WHERE m.id = :id")
     Optional<Music> findByIdWithAuthor(Long id);
 
-    List<Music> findByGenreIgnoreCase(String genre);
+    /**
+     * The music locked until the end of the transaction, so changes that
+     * compute author stats deltas from its previous values are serialised.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Music m WHERE m.id = :id")
+    Optional<Music> findByIdForUpdate(Long id);
+
+    @Query("SELECT m.id FROM Music m WHERE m.author.id = :authorId")
+    List<Long> findIdsByAuthorId(Long authorId);
 
     boolean existsByNameAndAuthorId(String name, Long authorId);
+
+    /**
+     * Every distinct title, ignoring case, weighted by how many musics carry it
+     * (covers and re-recordings make a title more popular) and spelled as most
+     * of them spell it. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new br.com.labs.repository.WeightedTerm(t.name, t.weight) FROM (
+                SELECT m.name AS name, SUM(COUNT(m)) OVER (PARTITION BY LOWER(m.name)) AS weight,
+                       ROW_NUMBER() OVER (PARTITION BY LOWER(m.name) ORDER BY COUNT(m) DESC, m.name) AS spelling
+                FROM Music m GROUP BY m.name) t
+            WHERE t.spelling = 1""")
+    Stream<WeightedTerm> streamTitleWeights();
 }
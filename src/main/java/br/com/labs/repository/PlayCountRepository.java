@@ -0,0 +1,52 @@
+package br.com.labs.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Writes play count deltas to {@code music_play_count}, many musics per
+ * statement.
+ */
+@Repository
+public class PlayCountRepository {
+
+    // Joining music drops musics deleted since their plays were recorded, and supplies author_id for the key.
+    // The join does not keep the array order, so rows are sorted again before they are inserted and locked
+    private static final String ADD_SQL = """
+            INSERT INTO music_play_count (music_id, author_id, play_count, updated_at)
+            SELECT m.id, m.author_id, d.plays, CURRENT_TIMESTAMP
+            FROM unnest(?::BIGINT[], ?::BIGINT[]) AS d(music_id, plays)
+            JOIN music m ON m.id = d.music_id
+            ORDER BY d.music_id
+            ON CONFLICT (music_id) DO UPDATE
+            SET play_count = music_play_count.play_count + EXCLUDED.play_count,
+                updated_at = EXCLUDED.updated_at
+            RETURNING music_id, author_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayCountRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Adds each delta to its music's count in one statement, returning the
+     * musics written. Rows are locked in id order, so concurrent flushes from
+     * several pods cannot deadlock.
+     */
+    public List<PlayedMusic> add(SortedMap<Long, Long> deltas) {
+        Long[] musicIds = deltas.keySet().toArray(Long[]::new);
+        Long[] plays = deltas.values().toArray(Long[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADD_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", musicIds));
+            statement.setArray(2, connection.createArrayOf("bigint", plays));
+            return statement;
+        }, (rs, rowNum) -> new PlayedMusic(rs.getLong("music_id"), rs.getLong("author_id")));
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.labs.repository;
+
+/**
+ * A music whose play count was written, with the author it belonged to then.
+ */
+public record PlayedMusic(long musicId, long authorId) {
+}
@@ -0,0 +1,78 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.response.MusicResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Source rows of the full-text search index: every music with its author name,
+ * read straight into {@link MusicResponse} without going through the
+ * persistence context.
+ */
+@Repository
+public class SearchIndexRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String MUSIC_SQL = """
+            SELECT m.id, m.name, m.duration_seconds, g.name AS genre, m.created_at, m.updated_at,
+                   a.id AS author_id, a.name AS author_name
+            FROM music m
+            JOIN author a ON a.id = m.author_id
+            LEFT JOIN genre g ON g.id = m.genre_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchIndexRepository(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Streams every music row by row. Must run inside a transaction so the driver
+     * uses a cursor instead of buffering the whole catalog.
+     */
+    public void streamAll(Consumer<MusicResponse> consumer) {
+        jdbcTemplate.query(MUSIC_SQL, new MapSqlParameterSource(),
+                (RowCallbackHandler) rs -> consumer.accept(mapMusic(rs)));
+    }
+
+    /**
+     * Streams the musics of one author; same transaction requirement as {@link #streamAll}.
+     */
+    public void streamByAuthorId(Long authorId, Consumer<MusicResponse> consumer) {
+        jdbcTemplate.query(MUSIC_SQL + "WHERE m.author_id = :authorId", new MapSqlParameterSource("authorId", authorId),
+                (RowCallbackHandler) rs -> consumer.accept(mapMusic(rs)));
+    }
+
+    public Optional<MusicResponse> findById(Long musicId) {
+        return jdbcTemplate.query(MUSIC_SQL + "WHERE m.id = :id", new MapSqlParameterSource("id", musicId),
+                (rs, rowNum) -> mapMusic(rs)).stream().findFirst();
+    }
+
+    private static MusicResponse mapMusic(ResultSet rs) throws SQLException {
+        return new MusicResponse(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getObject("duration_seconds", Integer.class),
+                rs.getString("genre"),
+                new MusicResponse.AuthorSummary(rs.getLong("author_id"), rs.getString("author_name")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                // Play counts change without catalog events, so the index does not carry them
+                null
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.labs.repository;
+
+/**
+ * A catalog term (music title or author name) with the weight it is suggested
+ * with; the higher, the earlier.
+ */
+public record WeightedTerm(String term, long weight) {
+}
@@ -1,11 +1,13 @@
 package br.com.labs.repository.specification;
 
 import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.model.Genre;
 import br.com.labs.model.Music;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
@@ -16,6 +18,10 @@ public class MusicSpecification {
     private MusicSpecification() {
     }
 
+    /**
+     * The optional filters of {@code /musics/search}; the genre is matched ignoring
+     * case by comparing codes against every stored variant of it.
+     */
     public static Specification<Music> withFilters(MusicSearchRequest searchRequest) {
         return (Root<Music> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -28,10 +34,7 @@ public class MusicSpecification {
             }
 
             if (searchRequest.genre() != null && !searchRequest.genre().isBlank()) {
-                predicates.add(cb.equal(
-                        cb.lower(root.get("genre")),
-                        searchRequest.genre().toLowerCase()
-                ));
+                predicates.add(genreIs(root, query, cb, searchRequest.genre()));
             }
 
             if (searchRequest.authorId() != null) {
@@ -64,7 +67,7 @@ public class MusicSpecification {
             if (genre == null || genre.isBlank()) {
                 return cb.conjunction();
             }
-            return cb.equal(cb.lower(root.get("genre")), genre.toLowerCase());
+            return genreIs(root, query, cb, genre);
         };
     }
 
@@ -92,4 +95,12 @@ public class MusicSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    private static Predicate genreIs(Root<Music> root, CriteriaQuery<?> query, CriteriaBuilder cb, String genre) {
+        // Codes of every stored variant, read from the genre table so genres added by other pods match too
+        Subquery<Short> variants = query.subquery(Short.class);
+        Root<Genre> entry = variants.from(Genre.class);
+        variants.select(entry.get("id")).where(cb.equal(cb.lower(entry.get("name")), genre.toLowerCase()));
+        return root.get("genreEntry").get("id").in(variants);
+    }
 }
@@ -0,0 +1,194 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorDistribution;
+import br.com.labs.dto.response.GenreDurationStats;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.exception.BusinessException;
+import br.com.labs.exception.ServiceOverloadedException;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+import br.com.labs.repository.AnalyticsSnapshotRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Catalog analytics served from the in-process {@link CatalogColumns} snapshot,
+ * so aggregate queries never reach Postgres.
+ * <p>
+ * The snapshot is loaded by a streaming scan when the application is ready and
+ * reloaded every {@code app.analytics.rebuild-interval}; in between, committed
+ * {@link CatalogChangeEvent}s are applied to it on one thread, in commit order.
+ * Aggregations run on a dedicated fork-join pool of
+ * {@code app.analytics.parallelism} workers, away from the common pool, at
+ * most {@code app.analytics.max-concurrent} at once; queries beyond that fail
+ * with a 503 rather than each copying and sorting the snapshot.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private final AnalyticsSnapshotRepository snapshotRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService loader;
+    private final ForkJoinPool aggregationPool;
+    private final List<Integer> authorMusicBuckets;
+    private final Semaphore aggregations;
+    private final Timer durationsTimer;
+    private final Timer authorDistributionTimer;
+
+    private volatile CatalogColumns columns;
+
+    public AnalyticsService(AnalyticsSnapshotRepository snapshotRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                            @Value("${app.analytics.parallelism:0}") int parallelism,
+                            @Value("${app.analytics.max-concurrent:2}") int maxConcurrent,
+                            @Value("${app.analytics.author-music-buckets:2,5,10,50,100}") List<Integer> authorMusicBuckets) {
+        this.snapshotRepository = snapshotRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.loader = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("analytics-loader").factory());
+        this.aggregationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // Every range starts at one music or more, so a bound of 1 or less would only add empty ranges
+        this.authorMusicBuckets = authorMusicBuckets.stream().filter(bound -> bound > 1).sorted().distinct().toList();
+        this.aggregations = new Semaphore(Math.max(1, maxConcurrent));
+        this.durationsTimer = Timer.builder("analytics.query")
+                .description("Time to aggregate an analytics query over the catalog snapshot")
+                .tag("query", "durations")
+                .register(meterRegistry);
+        this.authorDistributionTimer = Timer.builder("analytics.query")
+                .description("Time to aggregate an analytics query over the catalog snapshot")
+                .tag("query", "author-distribution")
+                .register(meterRegistry);
+        Gauge.builder("analytics.snapshot.rows", this, service -> service.columns != null ? service.columns.size() : 0)
+                .description("Musics in the analytics snapshot")
+                .register(meterRegistry);
+        Gauge.builder("analytics.snapshot.memory", this,
+                        service -> service.columns != null ? service.columns.memoryBytes() : 0)
+                .description("Heap used by the columns of the analytics snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<GenreDurationStats> durationsByGenre(List<Double> percentiles) {
+        double[] values = percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+        for (double value : values) {
+            if (!(value > 0 && value <= 100)) {
+                throw new BusinessException("Percentiles must be greater than 0 and at most 100");
+            }
+        }
+        CatalogColumns current = currentColumns();
+        return aggregate(durationsTimer, () -> current.durationsByGenre(aggregationPool, values));
+    }
+
+    public AuthorDistribution authorDistribution() {
+        CatalogColumns current = currentColumns();
+        return aggregate(authorDistributionTimer, () -> current.authorDistribution(aggregationPool, authorMusicBuckets));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        loader.execute(this::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.rebuild-interval:1h}",
+            initialDelayString = "${app.analytics.rebuild-interval:1h}")
+    public void scheduleReload() {
+        loader.execute(this::reload);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        loader.execute(() -> apply(event));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        loader.shutdownNow();
+        aggregationPool.shutdownNow();
+        loader.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void reload() {
+        long start = System.nanoTime();
+        CatalogColumns reloaded = new CatalogColumns();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> snapshotRepository.streamAll(reloaded::upsert));
+        } catch (RuntimeException ex) {
+            log.error("Analytics snapshot reload failed, keeping the current snapshot", ex);
+            return;
+        }
+        columns = reloaded;
+        log.info("Analytics snapshot loaded with {} musics ({} KiB) in {} ms", reloaded.size(),
+                reloaded.memoryBytes() / 1024, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void apply(CatalogChangeEvent event) {
+        CatalogColumns current = columns;
+        if (current == null) {
+            // Not loaded yet; the initial scan reads the committed change anyway
+            return;
+        }
+        try {
+            if (event.entityType() == CatalogEntityType.MUSIC) {
+                if (event.operation() == ChangeOperation.DELETED) {
+                    current.delete(event.entityId());
+                } else {
+                    snapshotRepository.findById(event.entityId())
+                            .ifPresentOrElse(current::upsert, () -> current.delete(event.entityId()));
+                }
+            } else if (event.operation() == ChangeOperation.DELETED) {
+                // Musics of a deleted author are removed by cascade, without events of their own
+                current.deleteByAuthor(event.entityId());
+            }
+        } catch (RuntimeException ex) {
+            // The next reload repairs whatever this change missed
+            log.warn("Failed to apply {} {} {} to the analytics snapshot", event.entityType(), event.operation(),
+                    event.entityId(), ex);
+        }
+    }
+
+    private <T> T aggregate(Timer timer, Supplier<T> aggregation) {
+        if (!aggregations.tryAcquire()) {
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many analytics queries running, please retry later", Duration.ofSeconds(1));
+        }
+        try {
+            return timer.record(aggregation);
+        } finally {
+            aggregations.release();
+        }
+    }
+
+    private CatalogColumns currentColumns() {
+        CatalogColumns current = columns;
+        if (current == null) {
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE, "Analytics snapshot is loading",
+                    Duration.ofSeconds(5));
+        }
+        return current;
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.labs.service;
+
+import br.com.labs.config.RedisConfig;
+import br.com.labs.dto.response.AuthorWithMusicsResponse.MusicSummary;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.model.Author;
+import br.com.labs.repository.AuthorRepository;
+import br.com.labs.repository.MusicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Read-through Redis entries behind {@code GET /authors/{id}/musics}: one
+ * {@link AuthorMusicsHeader} per author and {@link AuthorMusicsChunk}s of its
+ * musics, loaded on demand by primary-key order.
+ */
+@Component
+public class AuthorMusicsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorMusicsCache.class);
+
+    private final AuthorRepository authorRepository;
+    private final MusicRepository musicRepository;
+    private final int chunkSize;
+
+    public AuthorMusicsCache(AuthorRepository authorRepository, MusicRepository musicRepository,
+                             @Value("${app.author-musics.chunk-size:200}") int chunkSize) {
+        this.authorRepository = authorRepository;
+        this.musicRepository = musicRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = RedisConfig.AUTHOR_MUSICS_CACHE, key = "#authorId")
+    public AuthorMusicsHeader header(Long authorId) {
+        log.info("Cache MISS - Fetching author musics header from database. Author ID: {}", authorId);
+
+        Author author = authorRepository.findById(authorId)
+                .orElseThrow(() -> {
+                    log.warn("Author not found with ID: {}", authorId);
+                    return new ResourceNotFoundException("Author", "id", authorId);
+                });
+        long musicCount = musicRepository.countByAuthorId(authorId);
+
+        return new AuthorMusicsHeader(author.getId(), author.getName(), author.getEmail(), musicCount, chunkSize,
+                AuthorMusicsHeader.newGeneration(), author.getCreatedAt(), author.getUpdatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = RedisConfig.AUTHOR_MUSIC_CHUNKS_CACHE, key = "#header.chunkKey(#chunk)")
+    public AuthorMusicsChunk chunk(AuthorMusicsHeader header, int chunk) {
+        log.debug("Cache MISS - Fetching chunk {} of author {} musics", chunk, header.id());
+
+        List<MusicSummary> musics = musicRepository.findSummariesByAuthorIdOrderById(header.id(),
+                PageRequest.of(chunk, header.chunkSize()));
+        return new AuthorMusicsChunk(musics);
+    }
+
+    /**
+     * Drops the headers of the authors a change touches, including the former
+     * author of a moved music. Runs inside the publishing transaction; the
+     * transaction-aware cache manager defers the eviction until it commits.
+     */
+    @EventListener
+    @Caching(evict = {
+            @CacheEvict(value = RedisConfig.AUTHOR_MUSICS_CACHE, key = "#event.authorId()",
+                    condition = "#event.authorId() != null"),
+            @CacheEvict(value = RedisConfig.AUTHOR_MUSICS_CACHE, key = "#event.previousAuthorId()",
+                    condition = "#event.previousAuthorId() != null")
+    })
+    public void onCatalogChange(CatalogChangeEvent event) {
+        log.debug("Evicting author musics header for {} {}", event.entityType(), event.entityId());
+    }
+}
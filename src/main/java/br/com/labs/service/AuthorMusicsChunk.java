@@ -0,0 +1,13 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorWithMusicsResponse.MusicSummary;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A run of at most {@link AuthorMusicsHeader#chunkSize()} musics of an author,
+ * ordered by ID, cached under {@link AuthorMusicsHeader#chunkKey(int)}.
+ */
+public record AuthorMusicsChunk(List<MusicSummary> musics) implements Serializable {
+}
@@ -0,0 +1,84 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse.MusicSummary;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Cached head of the author-with-musics view: the author, how many musics they
+ * have and how those are cut into {@link AuthorMusicsChunk}s of {@code chunkSize}
+ * musics ordered by ID. A page of the view is assembled from the few chunks it
+ * overlaps, so no request ever holds all musics of an author.
+ * <p>
+ * Only this entry is evicted when the author or one of their musics changes.
+ * Chunk keys include the {@code generation} drawn when the header was loaded, so
+ * a new header never reads chunks cut under an older one; those just expire.
+ * The reactive read pods use the same keys and value format.
+ */
+public record AuthorMusicsHeader(
+        Long id,
+        String name,
+        String email,
+        long musicCount,
+        int chunkSize,
+        String generation,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) implements Serializable {
+
+    public static String newGeneration() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Key of a chunk within the author-music-chunks cache.
+     */
+    public String chunkKey(int chunk) {
+        return id + ":" + generation + ":" + chunk;
+    }
+
+    /**
+     * Indexes of the chunks holding the musics of {@code pageable}, in order;
+     * empty for a page past the last music.
+     */
+    public IntStream chunks(Pageable pageable) {
+        long from = pageable.getOffset();
+        long to = Math.min(from + pageable.getPageSize(), musicCount);
+        if (from >= to) {
+            return IntStream.empty();
+        }
+        return IntStream.rangeClosed((int) (from / chunkSize), (int) ((to - 1) / chunkSize));
+    }
+
+    /**
+     * Cuts the page out of the chunks listed by {@link #chunks(Pageable)}. A chunk
+     * loaded after musics were deleted may be shorter than expected, which only
+     * shortens the page.
+     */
+    public AuthorWithMusicsResponse page(Pageable pageable, List<AuthorMusicsChunk> chunks) {
+        long from = pageable.getOffset();
+        long to = Math.min(from + pageable.getPageSize(), musicCount);
+        List<MusicSummary> musics = new ArrayList<>((int) Math.max(0, to - from));
+
+        long chunkStart = from / chunkSize * chunkSize;
+        for (AuthorMusicsChunk chunk : chunks) {
+            List<MusicSummary> items = chunk.musics();
+            int start = (int) Math.max(0, from - chunkStart);
+            int end = (int) Math.min(items.size(), to - chunkStart);
+            if (start < end) {
+                musics.addAll(items.subList(start, end));
+            }
+            chunkStart += chunkSize;
+        }
+
+        return new AuthorWithMusicsResponse(id, name, email, musics,
+                AuthorWithMusicsResponse.MusicsPage.of(pageable, musicCount), createdAt, updatedAt);
+    }
+}
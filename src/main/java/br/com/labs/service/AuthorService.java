@@ -3,30 +3,59 @@ package br.com.labs.service;
 import br.com.labs.config.RedisConfig;
 import br.com.labs.dto.request.AuthorRequest;
 import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.AuthorStatsResponse;
 import br.com.labs.dto.response.AuthorWithMusicsResponse;
 import br.com.labs.dto.response.PageResponse;
+import br.com.labs.event.CatalogChangeEvent;
 import br.com.labs.exception.BusinessException;
 import br.com.labs.exception.ResourceNotFoundException;
 import br.com.labs.model.Author;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.CatalogTombstone;
+import br.com.labs.model.ChangeOperation;
 import br.com.labs.repository.AuthorRepository;
+import br.com.labs.repository.AuthorStatsRepository;
+import br.com.labs.repository.CatalogTombstoneRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 public class AuthorService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthorService.class);
 
     private final AuthorRepository authorRepository;
-
-    public AuthorService(AuthorRepository authorRepository) {
+    private final CatalogTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthorMusicsCache authorMusicsCache;
+    private final AuthorStatsRepository authorStatsRepository;
+    private final int maxMusicsPageSize;
+    private final int maxTopAuthors;
+
+    public AuthorService(AuthorRepository authorRepository, CatalogTombstoneRepository tombstoneRepository,
+                         ApplicationEventPublisher eventPublisher, AuthorMusicsCache authorMusicsCache,
+                         AuthorStatsRepository authorStatsRepository,
+                         @Value("${app.author-musics.max-page-size:500}") int maxMusicsPageSize,
+                         @Value("${app.author-stats.max-top:100}") int maxTopAuthors) {
         this.authorRepository = authorRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.eventPublisher = eventPublisher;
+        this.authorMusicsCache = authorMusicsCache;
+        this.authorStatsRepository = authorStatsRepository;
+        this.maxMusicsPageSize = maxMusicsPageSize;
+        this.maxTopAuthors = maxTopAuthors;
     }
 
     @Transactional
@@ -40,6 +69,8 @@ public class AuthorService {
 
         Author author = new Author(request.name(), request.email());
         author = authorRepository.save(author);
+        authorStatsRepository.initialize(author.getId());
+        eventPublisher.publishEvent(CatalogChangeEvent.author(ChangeOperation.CREATED, author.getId()));
 
         log.info("Author created successfully with ID: {}", author.getId());
         return AuthorResponse.fromEntity(author);
@@ -59,21 +90,24 @@ public class AuthorService {
         return AuthorResponse.fromEntity(author);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(value = RedisConfig.AUTHOR_MUSICS_CACHE, key = "#id")
-    public AuthorWithMusicsResponse findByIdWithMusics(Long id) {
-        log.info("Cache MISS - Fetching author with musics from database. Author ID: {}", id);
-
-        Author author = authorRepository.findByIdWithMusics(id)
-                .orElseThrow(() -> {
-                    log.warn("Author not found with ID: {}", id);
-                    return new ResourceNotFoundException("Author", "id", id);
-                });
-
-        log.info("Author found with {} musics. Caching result for author ID: {}",
-                author.getMusics().size(), id);
-
-        return AuthorWithMusicsResponse.fromEntity(author);
+    /**
+     * One page of the author's musics, ordered by ID, assembled from the cached
+     * header and the chunks the page overlaps. Not transactional: a fully cached
+     * page never takes a database connection.
+     */
+    public AuthorWithMusicsResponse findByIdWithMusics(Long id, Pageable pageable) {
+        Pageable musicsPage = PageRequest.of(pageable.getPageNumber(),
+                Math.min(pageable.getPageSize(), maxMusicsPageSize));
+        log.debug("Fetching author with musics. Author ID: {}, page: {}, size: {}",
+                id, musicsPage.getPageNumber(), musicsPage.getPageSize());
+
+        AuthorMusicsHeader header = authorMusicsCache.header(id);
+        List<AuthorMusicsChunk> chunks = header.chunks(musicsPage)
+                .mapToObj(chunk -> authorMusicsCache.chunk(header, chunk))
+                .toList();
+
+        log.debug("Author {} has {} musics, page served from {} chunks", id, header.musicCount(), chunks.size());
+        return header.page(musicsPage, chunks);
     }
 
     @Transactional
@@ -96,6 +130,7 @@ public class AuthorService {
         author.setEmail(request.email());
 
         author = authorRepository.save(author);
+        eventPublisher.publishEvent(CatalogChangeEvent.author(ChangeOperation.UPDATED, author.getId()));
         log.info("Author updated successfully: {} - Cache evicted", author.getId());
 
         return AuthorResponse.fromEntity(author);
@@ -111,8 +146,13 @@ public class AuthorService {
             throw new ResourceNotFoundException("Author", "id", id);
         }
 
+        LocalDateTime deletedAt = LocalDateTime.now();
+        int musicTombstones = tombstoneRepository.insertForMusicsOfAuthor(id, deletedAt);
+        tombstoneRepository.save(new CatalogTombstone(CatalogEntityType.AUTHOR, id, null, deletedAt));
+
         authorRepository.deleteById(id);
-        log.info("Author deleted successfully: {} - Cache evicted", id);
+        eventPublisher.publishEvent(CatalogChangeEvent.author(ChangeOperation.DELETED, id));
+        log.info("Author deleted successfully: {} with {} musics - Cache evicted", id, musicTombstones);
     }
 
     @Transactional(readOnly = true)
@@ -124,4 +164,25 @@ public class AuthorService {
         log.debug("Found {} authors in page", page.getNumberOfElements());
         return PageResponse.fromPage(page, AuthorResponse::fromEntity);
     }
+
+    @Transactional(readOnly = true)
+    public AuthorStatsResponse getStats(Long id) {
+        log.debug("Fetching stats of author ID: {}", id);
+
+        AuthorStatsResponse stats = authorStatsRepository.findByAuthorId(id)
+                .orElseThrow(() -> {
+                    log.warn("Author not found with ID: {}", id);
+                    return new ResourceNotFoundException("Author", "id", id);
+                });
+
+        return stats.withGenres(authorStatsRepository.findGenres(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AuthorStatsResponse> findTop(Sort sort, int limit) {
+        int size = Math.max(1, Math.min(limit, maxTopAuthors));
+        log.debug("Fetching top {} authors by {}", size, sort);
+
+        return authorStatsRepository.findTop(sort, size);
+    }
 }
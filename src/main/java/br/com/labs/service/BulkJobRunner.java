@@ -0,0 +1,332 @@
+package br.com.labs.service;
+
+import br.com.labs.config.QueryDeadline;
+import br.com.labs.model.JobStatus;
+import br.com.labs.model.JobType;
+import br.com.labs.repository.BulkJob;
+import br.com.labs.repository.BulkJobRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the jobs of {@code bulk_job} on this pod, at most
+ * {@code app.jobs.max-concurrent} at a time, each on its own virtual thread.
+ * <p>
+ * Every {@code app.jobs.poll-interval} (and right after a submission) the pod
+ * claims queued jobs, and jobs whose owner stopped sending heartbeats for
+ * {@code app.jobs.lease}. A job runs as a sequence of chunk transactions of up
+ * to {@code app.jobs.chunk-size} items, each bounded by
+ * {@code app.jobs.chunk-timeout} and retried at half the size when it fails
+ * transiently.
+ * <p>
+ * Jobs give way to online traffic: before each chunk they wait while requests
+ * queue for a connection or more than {@code app.jobs.max-pool-share} of the
+ * pool is in use, and they pause {@code app.jobs.chunk-pause} between chunks.
+ * On shutdown running jobs finish their chunk and go back to the queue; this
+ * happens before Redis and the pool stop, which the chunk's listeners still use.
+ */
+@Component
+public class BulkJobRunner implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobRunner.class);
+
+    private static final int MAX_CHUNK_ATTEMPTS = 4;
+    private static final Duration MAX_THROTTLE_WAIT = Duration.ofSeconds(1);
+
+    private final BulkJobRepository jobRepository;
+    private final CatalogBulkOperations operations;
+    private final TransactionTemplate chunkTransaction;
+    private final MeterRegistry meterRegistry;
+    private final HikariDataSource pool;
+    private final String podId;
+    private final int chunkSize;
+    private final Duration chunkTimeout;
+    private final Duration chunkPause;
+    private final Duration lease;
+    private final double maxPoolShare;
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bulk-job-", 0).factory());
+    private final AtomicInteger running = new AtomicInteger();
+    private final Timer throttleWait;
+
+    private volatile boolean started;
+    private volatile boolean stopping;
+
+    public BulkJobRunner(BulkJobRepository jobRepository, CatalogBulkOperations operations,
+                         PlatformTransactionManager transactionManager, DataSource dataSource,
+                         MeterRegistry meterRegistry,
+                         @Value("${HOSTNAME:}") String hostname,
+                         @Value("${app.jobs.max-concurrent:2}") int maxConcurrent,
+                         @Value("${app.jobs.chunk-size:200}") int chunkSize,
+                         @Value("${app.jobs.chunk-timeout:30s}") Duration chunkTimeout,
+                         @Value("${app.jobs.chunk-pause:20ms}") Duration chunkPause,
+                         @Value("${app.jobs.lease:2m}") Duration lease,
+                         @Value("${app.jobs.max-pool-share:0.5}") double maxPoolShare) {
+        this.jobRepository = jobRepository;
+        this.operations = operations;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.pool = hikari(dataSource);
+        this.podId = hostname.isBlank() ? UUID.randomUUID().toString() : hostname;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkTimeout = chunkTimeout;
+        this.chunkPause = chunkPause;
+        this.lease = lease;
+        this.maxPoolShare = maxPoolShare;
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.throttleWait = Timer.builder("jobs.throttle.wait")
+                .description("Time jobs waited for the connection pool to calm down before a chunk")
+                .register(meterRegistry);
+        Gauge.builder("jobs.running", running, AtomicInteger::get)
+                .description("Bulk jobs running on this pod")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks for jobs to claim without waiting for the next poll.
+     */
+    public void wakeUp() {
+        if (!stopping) {
+            executor.execute(this::poll);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval:5s}")
+    public void poll() {
+        while (!stopping && slots.tryAcquire()) {
+            Optional<BulkJob> claimed;
+            try {
+                claimed = jobRepository.claim(podId, lease);
+            } catch (RuntimeException ex) {
+                slots.release();
+                log.warn("Failed to look for bulk jobs to run: {}", ex.getMessage());
+                return;
+            }
+            if (claimed.isEmpty()) {
+                slots.release();
+                return;
+            }
+            BulkJob job = claimed.get();
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        started = true;
+    }
+
+    @Override
+    public void stop() {
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(chunkTimeout.plusSeconds(5).toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            started = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return started;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stopped first: Redis (phase 0) and the web server stop after it
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void run(BulkJob job) {
+        long id = job.id();
+        log.info("Running bulk job {} ({}) from cursor {}", id, job.type(), job.cursor());
+        running.incrementAndGet();
+        try {
+            if (job.total() == null) {
+                jobRepository.setTotal(id, operations.count(job.parameters()));
+            }
+            int size = chunkSize;
+            int attempts = 0;
+            while (true) {
+                if (stopping) {
+                    jobRepository.requeue(id, podId);
+                    log.info("Bulk job {} handed back to the queue on shutdown", id);
+                    return;
+                }
+                if (!throttle(id)) {
+                    log.warn("Bulk job {} was taken over by another pod", id);
+                    return;
+                }
+
+                CatalogBulkOperations.Chunk chunk;
+                try {
+                    chunk = runChunk(job.type(), id, size);
+                } catch (TransientDataAccessException ex) {
+                    if (++attempts >= MAX_CHUNK_ATTEMPTS) {
+                        throw ex;
+                    }
+                    size = Math.max(1, size / 2);
+                    log.warn("Chunk of bulk job {} failed, retrying with {} items: {}", id, size, ex.getMessage());
+                    continue;
+                }
+                if (chunk == null) {
+                    log.warn("Bulk job {} was taken over by another pod", id);
+                    return;
+                }
+                attempts = 0;
+                if (chunk.last()) {
+                    jobRepository.finish(id, podId, JobStatus.SUCCEEDED, null);
+                    completed(job.type(), JobStatus.SUCCEEDED);
+                    log.info("Bulk job {} ({}) succeeded", id, job.type());
+                    return;
+                }
+                Thread.sleep(chunkPause.toMillis());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            requeueQuietly(id);
+        } catch (RuntimeException ex) {
+            if (stopping) {
+                log.warn("Bulk job {} interrupted by shutdown, handing it back to the queue: {}", id, ex.getMessage());
+                requeueQuietly(id);
+                return;
+            }
+            log.error("Bulk job {} ({}) failed: {}", id, job.type(), ex.getMessage(), ex);
+            try {
+                jobRepository.finish(id, podId, JobStatus.FAILED, String.valueOf(ex.getMessage()));
+                completed(job.type(), JobStatus.FAILED);
+            } catch (RuntimeException finishFailure) {
+                // Left running: another pod resumes it once the lease expires
+                log.warn("Could not mark bulk job {} as failed: {}", id, finishFailure.getMessage());
+            }
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * One chunk and the job's progress in one transaction, or {@code null}
+     * when this pod no longer owns the job.
+     */
+    private CatalogBulkOperations.Chunk runChunk(JobType type, long id, int size) {
+        QueryDeadline.set(new QueryDeadline(System.nanoTime() + chunkTimeout.toNanos(), "job", false));
+        try {
+            return Timer.builder("jobs.chunk")
+                    .description("Bulk job chunk transactions")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry)
+                    .record(() -> chunkTransaction.execute(status -> {
+                        BulkJob job = jobRepository.lockOwned(id, podId).orElse(null);
+                        if (job == null) {
+                            return null;
+                        }
+                        CatalogBulkOperations.Chunk chunk = operations.run(job.parameters(), job.cursor(), size);
+                        jobRepository.advance(id, chunk.cursor(), chunk.processed(), chunk.changed());
+                        return chunk;
+                    }));
+        } finally {
+            QueryDeadline.clear();
+        }
+    }
+
+    /**
+     * Waits until the pool has room for a chunk, keeping the lease alive
+     * meanwhile; {@code false} when the lease was lost.
+     */
+    private boolean throttle(long id) throws InterruptedException {
+        if (!poolBusy()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        long lastHeartbeat = start;
+        long wait = 10;
+        try {
+            while (poolBusy() && !stopping) {
+                if (System.nanoTime() - lastHeartbeat > lease.toNanos() / 3) {
+                    if (!jobRepository.heartbeat(id, podId)) {
+                        return false;
+                    }
+                    lastHeartbeat = System.nanoTime();
+                }
+                Thread.sleep(wait);
+                wait = Math.min(wait * 2, MAX_THROTTLE_WAIT.toMillis());
+            }
+            return true;
+        } finally {
+            throttleWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean poolBusy() {
+        HikariPoolMXBean poolBean = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (poolBean == null) {
+            return false;
+        }
+        int share = Math.max(1, (int) (pool.getMaximumPoolSize() * maxPoolShare));
+        return poolBean.getThreadsAwaitingConnection() > 0 || poolBean.getActiveConnections() >= share;
+    }
+
+    private void requeueQuietly(long id) {
+        try {
+            jobRepository.requeue(id, podId);
+        } catch (RuntimeException ex) {
+            // Another pod resumes it once the lease expires
+            log.warn("Could not hand bulk job {} back to the queue: {}", id, ex.getMessage());
+        }
+    }
+
+    private void completed(JobType type, JobStatus status) {
+        Counter.builder("jobs.completed")
+                .description("Bulk jobs finished on this pod, by outcome")
+                .tag("type", type.name().toLowerCase())
+                .tag("status", status.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException ex) {
+            log.info("DataSource is not a Hikari pool, bulk jobs will not be throttled by pool usage");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.dto.response.JobResponse;
+import br.com.labs.exception.BusinessException;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.repository.AuthorBatchLoader;
+import br.com.labs.repository.BulkJob;
+import br.com.labs.repository.BulkJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Submission and state of bulk jobs. Jobs are only queued here; whichever pod
+ * claims them runs them (see {@link BulkJobRunner}), and any pod reports their
+ * state from {@code bulk_job}.
+ */
+@Service
+public class BulkJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+
+    private final BulkJobRepository jobRepository;
+    private final AuthorBatchLoader authorLoader;
+    private final BulkJobRunner runner;
+
+    public BulkJobService(BulkJobRepository jobRepository, AuthorBatchLoader authorLoader, BulkJobRunner runner) {
+        this.jobRepository = jobRepository;
+        this.authorLoader = authorLoader;
+        this.runner = runner;
+    }
+
+    public JobResponse submit(JobRequest request) {
+        log.info("Submitting bulk job: {}", request.type());
+
+        BulkJob job = jobRepository.insert(validated(request));
+        runner.wakeUp();
+
+        log.info("Bulk job {} queued", job.id());
+        return JobResponse.fromJob(job);
+    }
+
+    public JobResponse findById(long id) {
+        return jobRepository.findById(id)
+                .map(JobResponse::fromJob)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+    }
+
+    /**
+     * The request with only the parameters its type uses, once they are valid.
+     */
+    private JobRequest validated(JobRequest request) {
+        return switch (request.type()) {
+            case REGENRE -> {
+                if (isBlank(request.fromGenre()) || isBlank(request.toGenre())) {
+                    throw new BusinessException("REGENRE jobs need fromGenre and toGenre");
+                }
+                yield new JobRequest(request.type(), request.fromGenre(), request.toGenre(), null, null);
+            }
+            case MOVE_MUSICS -> {
+                if (request.fromAuthorId() == null || request.toAuthorId() == null) {
+                    throw new BusinessException("MOVE_MUSICS jobs need fromAuthorId and toAuthorId");
+                }
+                if (request.fromAuthorId().equals(request.toAuthorId())) {
+                    throw new BusinessException("fromAuthorId and toAuthorId must be different authors");
+                }
+                for (Long authorId : new Long[]{request.fromAuthorId(), request.toAuthorId()}) {
+                    if (!authorLoader.existsById(authorId)) {
+                        throw new ResourceNotFoundException("Author", "id", authorId);
+                    }
+                }
+                yield new JobRequest(request.type(), null, null, request.fromAuthorId(), request.toAuthorId());
+            }
+            case RECOMPUTE_AUTHOR_STATS -> new JobRequest(request.type(), null, null, null, null);
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
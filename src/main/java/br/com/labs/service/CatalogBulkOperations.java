@@ -0,0 +1,147 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.model.ChangeOperation;
+import br.com.labs.repository.AuthorStatsRepository;
+import br.com.labs.repository.CatalogBulkRepository;
+import br.com.labs.repository.CatalogBulkRepository.MusicRow;
+import br.com.labs.repository.GenreDictionary;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * One chunk of each {@link br.com.labs.model.JobType}. Chunks run inside the
+ * caller's transaction: the catalog rows, the author stats deltas and the
+ * {@link CatalogChangeEvent}s of a chunk commit together with the job's
+ * progress, exactly as they would for the same changes made one by one
+ * through {@link MusicService}.
+ */
+@Service
+public class CatalogBulkOperations {
+
+    private final CatalogBulkRepository bulkRepository;
+    private final AuthorStatsRepository authorStatsRepository;
+    private final GenreDictionary genreDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogBulkOperations(CatalogBulkRepository bulkRepository, AuthorStatsRepository authorStatsRepository,
+                                 GenreDictionary genreDictionary, ApplicationEventPublisher eventPublisher) {
+        this.bulkRepository = bulkRepository;
+        this.authorStatsRepository = authorStatsRepository;
+        this.genreDictionary = genreDictionary;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param processed items the chunk went through
+     * @param changed   items it modified
+     * @param cursor    last id it went through, where the next chunk starts
+     * @param last      whether nothing is left after it
+     */
+    public record Chunk(int processed, int changed, long cursor, boolean last) {
+    }
+
+    /**
+     * Items the job will go through, as of now.
+     */
+    public long count(JobRequest request) {
+        return switch (request.type()) {
+            case REGENRE -> {
+                List<Short> fromGenreIds = genreIds(request.fromGenre());
+                short genreId = genreDictionary.codeOf(request.toGenre()).orElse((short) -1);
+                yield fromGenreIds.isEmpty() ? 0 : bulkRepository.countByGenres(fromGenreIds, genreId);
+            }
+            case MOVE_MUSICS -> bulkRepository.countByAuthor(request.fromAuthorId());
+            case RECOMPUTE_AUTHOR_STATS -> bulkRepository.countAuthors();
+        };
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Chunk run(JobRequest request, long cursor, int size) {
+        return switch (request.type()) {
+            case REGENRE -> regenre(request.fromGenre(), request.toGenre(), cursor, size);
+            case MOVE_MUSICS -> moveMusics(request.fromAuthorId(), request.toAuthorId(), cursor, size);
+            case RECOMPUTE_AUTHOR_STATS -> recomputeAuthorStats(cursor, size);
+        };
+    }
+
+    private Chunk regenre(String fromGenre, String toGenre, long cursor, int size) {
+        List<Short> fromGenreIds = genreIds(fromGenre);
+        if (fromGenreIds.isEmpty()) {
+            return new Chunk(0, 0, cursor, true);
+        }
+        short genreId = genreDictionary.register(toGenre);
+        List<MusicRow> musics = bulkRepository.regenre(fromGenreIds, genreId, cursor, size);
+
+        // Per author: the musics leave their previous genres and join the new one; authors in id order
+        Map<Long, List<MusicRow>> byAuthor = musics.stream()
+                .collect(Collectors.groupingBy(MusicRow::authorId, TreeMap::new, Collectors.toList()));
+        byAuthor.forEach((authorId, authorMusics) -> {
+            authorMusics.stream()
+                    .collect(Collectors.groupingBy(MusicRow::genreId, TreeMap::new, Collectors.toList()))
+                    .forEach((previousGenreId, genreMusics) -> authorStatsRepository.add(authorId,
+                            genreDictionary.nameOf(previousGenreId), -genreMusics.size(), -duration(genreMusics)));
+            authorStatsRepository.add(authorId, toGenre, authorMusics.size(), duration(authorMusics));
+        });
+        musics.forEach(music -> eventPublisher.publishEvent(
+                CatalogChangeEvent.music(ChangeOperation.UPDATED, music.id(), music.authorId())));
+
+        long next = musics.isEmpty() ? cursor : musics.get(musics.size() - 1).id();
+        return new Chunk(musics.size(), musics.size(), next, musics.size() < size);
+    }
+
+    private Chunk moveMusics(long fromAuthorId, long toAuthorId, long cursor, int size) {
+        List<Long> musicIds = bulkRepository.lockMusicIdsOfAuthor(fromAuthorId, cursor, size);
+        if (musicIds.isEmpty()) {
+            return new Chunk(0, 0, cursor, true);
+        }
+        List<MusicRow> moved = bulkRepository.move(musicIds, fromAuthorId, toAuthorId);
+
+        // Same order as MusicService: the author with the lower id is updated first
+        Map<Short, List<MusicRow>> byGenre = moved.stream().collect(Collectors.groupingBy(
+                music -> music.genreId() != null ? music.genreId() : (short) -1, TreeMap::new, Collectors.toList()));
+        List<Long> authorIds = fromAuthorId < toAuthorId
+                ? List.of(fromAuthorId, toAuthorId) : List.of(toAuthorId, fromAuthorId);
+        for (long authorId : authorIds) {
+            int sign = authorId == toAuthorId ? 1 : -1;
+            byGenre.forEach((genreId, genreMusics) -> authorStatsRepository.add(authorId,
+                    genreId >= 0 ? genreDictionary.nameOf(genreId) : null,
+                    sign * genreMusics.size(), sign * duration(genreMusics)));
+        }
+        moved.forEach(music -> eventPublisher.publishEvent(
+                CatalogChangeEvent.musicMoved(music.id(), toAuthorId, fromAuthorId)));
+
+        return new Chunk(musicIds.size(), moved.size(), musicIds.get(musicIds.size() - 1), musicIds.size() < size);
+    }
+
+    private Chunk recomputeAuthorStats(long cursor, int size) {
+        List<Long> authorIds = bulkRepository.findAuthorIds(cursor, size);
+        if (authorIds.isEmpty()) {
+            return new Chunk(0, 0, cursor, true);
+        }
+        Set<Long> corrected = bulkRepository.recomputeAuthorStats(authorIds);
+        // Their stats were served under ETags that are now wrong
+        corrected.stream().sorted().forEach(authorId -> eventPublisher.publishEvent(
+                CatalogChangeEvent.author(ChangeOperation.UPDATED, authorId)));
+
+        return new Chunk(authorIds.size(), corrected.size(), authorIds.get(authorIds.size() - 1),
+                authorIds.size() < size);
+    }
+
+    private List<Short> genreIds(String genre) {
+        return genreDictionary.codesOf(genre);
+    }
+
+    private static long duration(List<MusicRow> musics) {
+        return musics.stream().mapToLong(MusicRow::durationSeconds).sum();
+    }
+}
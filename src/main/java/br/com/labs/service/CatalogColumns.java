@@ -0,0 +1,348 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorDistribution;
+import br.com.labs.dto.response.GenreDurationStats;
+import br.com.labs.repository.MusicColumnsRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented copy of the {@code music} table for analytics: one primitive
+ * array per column, rows sorted by music id, and genres replaced by
+ * {@code short} codes into a dictionary. About 22 bytes per music, and the
+ * aggregations below only ever touch the columns they need.
+ * <p>
+ * Changes are applied in place under a write lock; a deleted row keeps its
+ * slot with a zero duration until more than half the rows are deleted and the
+ * arrays are compacted. Aggregations copy the columns they need under the read
+ * lock and do the heavy work, sorting and per-genre statistics, on a
+ * fork-join pool after releasing it. Every change bumps a version; the sorted
+ * genre keys and the author distribution are kept until the next one, so
+ * repeated queries between changes skip the copy and the sort.
+ */
+public final class CatalogColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final short NO_GENRE = -1;
+    /** Duration of a deleted row; real durations are positive. */
+    private static final int DELETED = 0;
+    /** Sorts after every packed key, so dropped rows end up at the tail. */
+    private static final long SKIPPED = Long.MAX_VALUE;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> genreNames = new ArrayList<>();
+    private final Map<String, Short> genreCodes = new HashMap<>();
+
+    private long[] musicIds = new long[INITIAL_CAPACITY];
+    private long[] authorIds = new long[INITIAL_CAPACITY];
+    private int[] durations = new int[INITIAL_CAPACITY];
+    private short[] genres = new short[INITIAL_CAPACITY];
+    private int size;
+    private int deleted;
+    private long version;
+
+    private final AtomicReference<SortedGenreKeys> sortedGenreKeys = new AtomicReference<>();
+    private final AtomicReference<CachedAuthorDistribution> authorDistribution = new AtomicReference<>();
+
+    public void upsert(MusicColumnsRow row) {
+        lock.writeLock().lock();
+        try {
+            int index = Arrays.binarySearch(musicIds, 0, size, row.musicId());
+            if (index < 0) {
+                index = insertAt(-index - 1, row.musicId());
+            } else if (durations[index] == DELETED) {
+                deleted--;
+            }
+            authorIds[index] = row.authorId();
+            durations[index] = row.durationSeconds();
+            genres[index] = encode(row.genre());
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(long musicId) {
+        lock.writeLock().lock();
+        try {
+            int index = Arrays.binarySearch(musicIds, 0, size, musicId);
+            if (index >= 0 && durations[index] != DELETED) {
+                durations[index] = DELETED;
+                deleted++;
+                version++;
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void deleteByAuthor(long authorId) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (authorIds[i] == authorId && durations[i] != DELETED) {
+                    durations[i] = DELETED;
+                    deleted++;
+                    version++;
+                }
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        SortedGenreKeys sorted = sortedGenreKeys.get();
+        lock.readLock().lock();
+        try {
+            return (long) musicIds.length * (Long.BYTES + Long.BYTES + Integer.BYTES + Short.BYTES)
+                    + (sorted != null ? (long) sorted.keys().length * Long.BYTES : 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count, range, mean and nearest-rank {@code percentiles} of the durations
+     * of each genre, most frequent genre first.
+     * <p>
+     * Each row is packed into a {@code long} of genre code and duration, and one
+     * parallel sort of those keys lays every genre out as a contiguous, sorted
+     * slice whose bounds are found by binary search.
+     */
+    public List<GenreDurationStats> durationsByGenre(ForkJoinPool pool, double[] percentiles) {
+        SortedGenreKeys sorted = sortedGenreKeys(pool);
+        long[] keys = sorted.keys();
+        List<String> names = sorted.names();
+
+        return pool.submit(() -> IntStream.range(NO_GENRE, names.size()).parallel()
+                .mapToObj(code -> genreStats(keys, code, code == NO_GENRE ? null : names.get(code), percentiles))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(GenreDurationStats::count).reversed()
+                        .thenComparing(GenreDurationStats::genre, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList()).join();
+    }
+
+    /**
+     * Number of authors per range of musics per author, where {@code bounds} are
+     * the sorted exclusive upper bounds of every range but the last. Authors
+     * without musics are not in the snapshot and are not counted.
+     */
+    public AuthorDistribution authorDistribution(ForkJoinPool pool, List<Integer> bounds) {
+        long snapshotVersion;
+        long[] authors;
+        lock.readLock().lock();
+        try {
+            CachedAuthorDistribution cached = authorDistribution.get();
+            if (cached != null && cached.version() == version && cached.bounds().equals(bounds)) {
+                return cached.distribution();
+            }
+            snapshotVersion = version;
+            int rows = size;
+            long[] authorColumn = authorIds;
+            int[] durationColumn = durations;
+            authors = new long[rows];
+            pool.submit(() -> IntStream.range(0, rows).parallel().forEach(i -> authors[i] =
+                    durationColumn[i] == DELETED ? SKIPPED : authorColumn[i])).join();
+        } finally {
+            lock.readLock().unlock();
+        }
+        pool.submit(() -> Arrays.parallelSort(authors)).join();
+
+        long[] ranges = new long[bounds.size() + 1];
+        long authorCount = 0;
+        long musicCount = 0;
+        int maxMusics = 0;
+        int start = 0;
+        while (start < authors.length && authors[start] != SKIPPED) {
+            int end = start + 1;
+            while (end < authors.length && authors[end] == authors[start]) {
+                end++;
+            }
+            int musics = end - start;
+            ranges[rangeOf(musics, bounds)]++;
+            authorCount++;
+            musicCount += musics;
+            maxMusics = Math.max(maxMusics, musics);
+            start = end;
+        }
+
+        List<AuthorDistribution.MusicCountRange> counts = new ArrayList<>(ranges.length);
+        for (int range = 0; range < ranges.length; range++) {
+            counts.add(new AuthorDistribution.MusicCountRange(range == 0 ? 1 : bounds.get(range - 1),
+                    range < bounds.size() ? bounds.get(range) : null, ranges[range]));
+        }
+        AuthorDistribution distribution = new AuthorDistribution(authorCount, musicCount, maxMusics, counts);
+        keepLatest(authorDistribution, new CachedAuthorDistribution(snapshotVersion, List.copyOf(bounds), distribution),
+                CachedAuthorDistribution::version);
+        return distribution;
+    }
+
+    /**
+     * The packed keys of {@link #durationsByGenre}, sorted again only when the
+     * rows changed since the last sort.
+     */
+    private SortedGenreKeys sortedGenreKeys(ForkJoinPool pool) {
+        long snapshotVersion;
+        long[] keys;
+        List<String> names;
+        lock.readLock().lock();
+        try {
+            SortedGenreKeys cached = sortedGenreKeys.get();
+            if (cached != null && cached.version() == version) {
+                return cached;
+            }
+            snapshotVersion = version;
+            int rows = size;
+            int[] durationColumn = durations;
+            short[] genreColumn = genres;
+            keys = new long[rows];
+            pool.submit(() -> IntStream.range(0, rows).parallel().forEach(i -> keys[i] =
+                    durationColumn[i] == DELETED ? SKIPPED : genreKey(genreColumn[i]) | durationColumn[i])).join();
+            names = List.copyOf(genreNames);
+        } finally {
+            lock.readLock().unlock();
+        }
+        pool.submit(() -> Arrays.parallelSort(keys)).join();
+
+        SortedGenreKeys sorted = new SortedGenreKeys(snapshotVersion, keys, names);
+        keepLatest(sortedGenreKeys, sorted, SortedGenreKeys::version);
+        return sorted;
+    }
+
+    /**
+     * Replaces the cached value unless a concurrent query already cached one
+     * of a later version.
+     */
+    private static <T> void keepLatest(AtomicReference<T> cache, T value, ToLongFunction<T> version) {
+        cache.accumulateAndGet(value, (current, candidate) ->
+                current == null || version.applyAsLong(candidate) > version.applyAsLong(current) ? candidate : current);
+    }
+
+    private static GenreDurationStats genreStats(long[] keys, int code, String genre, double[] percentiles) {
+        int start = lowerBound(keys, genreKey(code));
+        int end = lowerBound(keys, genreKey(code + 1));
+        int count = end - start;
+        if (count == 0) {
+            return null;
+        }
+
+        long total = 0;
+        for (int i = start; i < end; i++) {
+            total += (int) keys[i];
+        }
+        List<GenreDurationStats.Percentile> values = new ArrayList<>(percentiles.length);
+        for (double percentile : percentiles) {
+            int rank = Math.max(1, (int) Math.ceil(percentile / 100 * count));
+            values.add(new GenreDurationStats.Percentile(percentile, (int) keys[start + rank - 1]));
+        }
+        return new GenreDurationStats(genre, count, (int) keys[start], (int) keys[end - 1],
+                (double) total / count, values);
+    }
+
+    /**
+     * Genre code in the high half of a packed key, shifted by one so musics
+     * without a genre sort first.
+     */
+    private static long genreKey(int code) {
+        return (long) (code + 1) << Integer.SIZE;
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        // Keys of a genre with duration zero never exist, so the search always misses
+        int index = Arrays.binarySearch(keys, key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static int rangeOf(int musics, List<Integer> bounds) {
+        for (int range = 0; range < bounds.size(); range++) {
+            if (musics < bounds.get(range)) {
+                return range;
+            }
+        }
+        return bounds.size();
+    }
+
+    private short encode(String genre) {
+        if (genre == null) {
+            return NO_GENRE;
+        }
+        Short code = genreCodes.get(genre);
+        if (code == null) {
+            if (genreNames.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("More than " + (Short.MAX_VALUE + 1) + " distinct genres");
+            }
+            code = (short) genreNames.size();
+            genreNames.add(genre);
+            genreCodes.put(genre, code);
+        }
+        return code;
+    }
+
+    private int insertAt(int index, long musicId) {
+        if (size == musicIds.length) {
+            int capacity = musicIds.length * 2;
+            musicIds = Arrays.copyOf(musicIds, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            genres = Arrays.copyOf(genres, capacity);
+        }
+        if (index < size) {
+            // Only when transactions commit out of id order; the scan appends
+            System.arraycopy(musicIds, index, musicIds, index + 1, size - index);
+            System.arraycopy(authorIds, index, authorIds, index + 1, size - index);
+            System.arraycopy(durations, index, durations, index + 1, size - index);
+            System.arraycopy(genres, index, genres, index + 1, size - index);
+        }
+        musicIds[index] = musicId;
+        size++;
+        return index;
+    }
+
+    private void compactIfSparse() {
+        if (deleted * 2 <= size) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < size; i++) {
+            if (durations[i] != DELETED) {
+                musicIds[live] = musicIds[i];
+                authorIds[live] = authorIds[i];
+                durations[live] = durations[i];
+                genres[live] = genres[i];
+                live++;
+            }
+        }
+        size = live;
+        deleted = 0;
+    }
+
+    private record SortedGenreKeys(long version, long[] keys, List<String> names) {
+    }
+
+    private record CachedAuthorDistribution(long version, List<Integer> bounds, AuthorDistribution distribution) {
+    }
+}
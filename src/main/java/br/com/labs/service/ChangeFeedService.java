@@ -0,0 +1,154 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.ChangeToken;
+import br.com.labs.dto.response.ChangeFeedResponse;
+import br.com.labs.dto.response.ChangeResponse;
+import br.com.labs.exception.ChangeTokenExpiredException;
+import br.com.labs.repository.CatalogTombstoneRepository;
+import br.com.labs.repository.ChangeFeedRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final ChangeFeedRepository changeFeedRepository;
+    private final CatalogTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter changeWriter;
+    private final ObjectWriter checkpointWriter;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+    private final int maxPageSize;
+    private final int maxStreamSize;
+
+    public ChangeFeedService(ChangeFeedRepository changeFeedRepository,
+                             CatalogTombstoneRepository tombstoneRepository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.changes.settle-window:2s}") Duration settleWindow,
+                             @Value("${app.changes.tombstone-retention:30d}") Duration tombstoneRetention,
+                             @Value("${app.changes.max-page-size:1000}") int maxPageSize,
+                             @Value("${app.changes.max-stream-size:100000}") int maxStreamSize) {
+        this.changeFeedRepository = changeFeedRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.changeWriter = objectMapper.writerFor(ChangeResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.checkpointWriter = objectMapper.writerFor(Map.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.settleWindow = settleWindow;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxPageSize = maxPageSize;
+        this.maxStreamSize = maxStreamSize;
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse getChanges(String since, int limit) {
+        ChangeToken token = parseToken(since);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        log.debug("Fetching up to {} changes since {}", pageSize, token.changedAt());
+
+        List<ChangeResponse> changes = changeFeedRepository.findChanges(token, settledUpperBound(), pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+
+        String nextToken = changes.isEmpty() ? encode(token) : changes.get(changes.size() - 1).token();
+        log.debug("Returning {} changes, hasMore: {}", changes.size(), hasMore);
+        return new ChangeFeedResponse(changes, nextToken, hasMore);
+    }
+
+    /**
+     * Writes changes as newline-delimited JSON, followed by a final checkpoint line
+     * carrying the token to resume from. Every change line carries its own token too,
+     * so a consumer can resume from the last line it applied if the stream breaks.
+     */
+    public void streamChanges(ChangeToken token, OutputStream output) {
+        LocalDateTime until = settledUpperBound();
+        log.info("Streaming up to {} changes since {}", maxStreamSize, token.changedAt());
+
+        int[] written = {0};
+        String[] lastToken = {encode(token)};
+        readOnlyTransaction.executeWithoutResult(status ->
+                changeFeedRepository.streamChanges(token, until, maxStreamSize, change -> {
+                    writeLine(output, changeWriter, change);
+                    lastToken[0] = change.token();
+                    written[0]++;
+                }));
+
+        Map<String, Object> checkpoint = new LinkedHashMap<>();
+        checkpoint.put("nextToken", lastToken[0]);
+        checkpoint.put("hasMore", written[0] >= maxStreamSize);
+        writeLine(output, checkpointWriter, checkpoint);
+        log.info("Streamed {} changes", written[0]);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${app.changes.tombstone-purge-cron:0 30 3 * * *}")
+    public void purgeExpiredTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} expired catalog tombstones", purged);
+    }
+
+    public ChangeToken parseToken(String since) {
+        ChangeToken token = ChangeToken.parse(since);
+        if (!token.isBeginning() && token.changedAt().isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            throw new ChangeTokenExpiredException("Change token expired, a full resync is required");
+        }
+        return token;
+    }
+
+    /**
+     * Changes are keyed on the time they were stamped, not on commit order, so
+     * a transaction that commits after a later-stamped one would land behind
+     * tokens already handed out. Rows are held back for the settle window, and
+     * further while a write transaction that started before it is still open,
+     * since its rows are stamped no earlier than its start. Only transactions
+     * of this database user are visible, and stamps come from the pods' clocks,
+     * so the window still has to cover clock skew between pods.
+     */
+    private LocalDateTime settledUpperBound() {
+        LocalDateTime settled = LocalDateTime.now().minus(settleWindow);
+        LocalDateTime oldestWrite = changeFeedRepository.oldestOpenWriteStartedAt();
+        // Timestamps have microsecond precision; its own rows may be stamped exactly at its start
+        return oldestWrite != null && !oldestWrite.isAfter(settled) ? oldestWrite.minusNanos(1_000) : settled;
+    }
+
+    private static void writeLine(OutputStream output, ObjectWriter writer, Object value) {
+        try {
+            writer.writeValue(output, value);
+            output.write(NEW_LINE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String encode(ChangeToken token) {
+        return token.isBeginning() ? null : token.encode();
+    }
+}
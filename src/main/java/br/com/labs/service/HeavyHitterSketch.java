@@ -0,0 +1,200 @@
+package br.com.labs.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Approximate request counts per music id, decaying with a half-life: a
+ * count-min sketch of {@value #DEPTH} rows of {@value #WIDTH} counters, plus
+ * the {@code capacity} ids with the highest estimates seen so far.
+ * <p>
+ * Decay is applied forward: a request at time {@code t} adds
+ * {@code 2^((t - landmark) / halfLife)} instead of 1, so old counts never need
+ * to be touched, and estimates are divided by the weight of "now" when read.
+ * Weights are rescaled before they grow out of double range.
+ * <p>
+ * {@link Snapshot}s taken on different pods share the same hash functions and
+ * dimensions, so they can be decoded and merged by adding their counters. Not
+ * thread-safe.
+ */
+final class HeavyHitterSketch {
+
+    static final int DEPTH = 4;
+    static final int WIDTH = 2048;
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    private static final double RESCALE_AT = 0x1p60;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private final double[] counters = new double[DEPTH * WIDTH];
+    private final Map<Long, Double> candidates = new HashMap<>();
+    private final int capacity;
+    private final double halfLifeMillis;
+
+    private long landmarkMillis;
+    // Candidate with the lowest estimate, or null when it has to be searched again
+    private Long lowest;
+
+    HeavyHitterSketch(int capacity, long halfLifeMillis, long nowMillis) {
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    void add(long id, long nowMillis) {
+        add(id, 1, nowMillis);
+    }
+
+    /**
+     * Counts {@code requests} requests of {@code id} at {@code nowMillis}.
+     */
+    void add(long id, long requests, long nowMillis) {
+        double weight = weight(nowMillis);
+        if (weight > RESCALE_AT) {
+            rescale(nowMillis);
+            weight = 1;
+        }
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(row, id);
+            counters[index] += weight * requests;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        Double previous = candidates.get(id);
+        if (previous != null || candidates.size() < capacity) {
+            candidates.put(id, estimate);
+            if (previous == null || Long.valueOf(id).equals(lowest)) {
+                lowest = null;
+            }
+            return;
+        }
+        Long evicted = lowest();
+        if (estimate > candidates.get(evicted)) {
+            candidates.remove(evicted);
+            candidates.put(id, estimate);
+            lowest = null;
+        }
+    }
+
+    /**
+     * Counters and candidate estimates in requests as of {@code nowMillis}.
+     */
+    Snapshot snapshot(long nowMillis) {
+        double scale = 1 / weight(nowMillis);
+        double[] scaled = new double[counters.length];
+        for (int i = 0; i < counters.length; i++) {
+            scaled[i] = counters[i] * scale;
+        }
+        return new Snapshot(nowMillis, scaled, Set.copyOf(candidates.keySet()));
+    }
+
+    /**
+     * The {@code limit} ids with the highest estimates over all
+     * {@code snapshots}, each decayed from the time it was taken to
+     * {@code nowMillis} before their counters are added.
+     */
+    static List<Entry> top(Collection<Snapshot> snapshots, long nowMillis, long halfLifeMillis, int limit) {
+        double[] merged = new double[DEPTH * WIDTH];
+        Set<Long> ids = new HashSet<>();
+        for (Snapshot snapshot : snapshots) {
+            double decay = Math.pow(2, -(double) Math.max(0, nowMillis - snapshot.takenAtMillis()) / halfLifeMillis);
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += snapshot.counters()[i] * decay;
+            }
+            ids.addAll(snapshot.candidates());
+        }
+        List<Entry> entries = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            double estimate = Double.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                estimate = Math.min(estimate, merged[index(row, id)]);
+            }
+            entries.add(new Entry(id, estimate));
+        }
+        entries.sort(Comparator.comparingDouble(Entry::score).reversed().thenComparingLong(Entry::id));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : List.copyOf(entries);
+    }
+
+    private double weight(long nowMillis) {
+        return Math.pow(2, (nowMillis - landmarkMillis) / halfLifeMillis);
+    }
+
+    private void rescale(long nowMillis) {
+        double scale = 1 / weight(nowMillis);
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] *= scale;
+        }
+        candidates.replaceAll((id, estimate) -> estimate * scale);
+        landmarkMillis = nowMillis;
+    }
+
+    private Long lowest() {
+        if (lowest == null) {
+            double min = Double.MAX_VALUE;
+            for (Map.Entry<Long, Double> candidate : candidates.entrySet()) {
+                if (candidate.getValue() < min) {
+                    min = candidate.getValue();
+                    lowest = candidate.getKey();
+                }
+            }
+        }
+        return lowest;
+    }
+
+    private static int index(int row, long id) {
+        long hash = id ^ SEEDS[row];
+        // murmur3 fmix64
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return row * WIDTH + (int) Math.floorMod(hash, (long) WIDTH);
+    }
+
+    record Entry(long id, double score) {
+    }
+
+    record Snapshot(long takenAtMillis, double[] counters, Set<Long> candidates) {
+
+        byte[] toBytes() {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES
+                    + counters.length * Double.BYTES + candidates.size() * Long.BYTES);
+            buffer.putInt(SNAPSHOT_FORMAT).putLong(takenAtMillis).putInt(candidates.size());
+            for (double counter : counters) {
+                buffer.putDouble(counter);
+            }
+            for (long id : candidates) {
+                buffer.putLong(id);
+            }
+            return buffer.array();
+        }
+
+        static Snapshot fromBytes(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int format = buffer.getInt();
+            if (format != SNAPSHOT_FORMAT) {
+                throw new IllegalArgumentException("Unsupported sketch snapshot format " + format);
+            }
+            long takenAtMillis = buffer.getLong();
+            int candidateCount = buffer.getInt();
+            double[] counters = new double[DEPTH * WIDTH];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = buffer.getDouble();
+            }
+            Set<Long> candidates = new HashSet<>(candidateCount);
+            for (int i = 0; i < candidateCount; i++) {
+                candidates.add(buffer.getLong());
+            }
+            return new Snapshot(takenAtMillis, counters, Set.copyOf(candidates));
+        }
+    }
+}
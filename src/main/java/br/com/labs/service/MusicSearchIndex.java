@@ -0,0 +1,322 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.PageResponse;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldCollectorManager;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory Lucene index of musics: name, genre and author name are analysed
+ * for full-text matching (lower-cased, accents folded), and every field of
+ * {@link MusicResponse} is stored so hits are returned without touching the
+ * database.
+ * <p>
+ * Writes go through a single {@link IndexWriter} and become visible on
+ * {@link #refresh()}; searches run on near-real-time readers, concurrently with
+ * writes.
+ */
+public final class MusicSearchIndex implements Closeable {
+
+    static final String ID = "id";
+    static final String ID_SORT = "id_sort";
+    static final String NAME = "name";
+    static final String GENRE = "genre";
+    static final String GENRE_KEY = "genre_key";
+    static final String AUTHOR_ID = "author_id";
+    static final String AUTHOR_NAME = "author_name";
+    static final String DURATION = "duration_seconds";
+    static final String CREATED_AT = "created_at";
+    static final String UPDATED_AT = "updated_at";
+
+    // Relative weight of a query term matching each field
+    private static final float NAME_BOOST = 3f;
+    private static final float AUTHOR_NAME_BOOST = 2f;
+    private static final float GENRE_BOOST = 1f;
+    // A prefix match (the word being typed) ranks below a whole-word match
+    private static final float PREFIX_BOOST = 0.5f;
+
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG));
+
+    private static final Analyzer ANALYZER = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    };
+
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public MusicSearchIndex() {
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(ANALYZER)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Adds the music, replacing any previous version of it.
+     */
+    public void upsert(MusicResponse music) {
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(music.id())), document(music));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void delete(Long musicId) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(musicId)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void deleteByAuthor(Long authorId) {
+        try {
+            writer.deleteDocuments(LongPoint.newExactQuery(AUTHOR_ID, authorId));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Makes the writes so far visible to searches.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Musics matching {@code text} and {@code filters}, best matches first (ties
+     * by ID). Only the first {@code maxWindow} hits can be paged through; later
+     * pages come back empty, with the full total.
+     */
+    public PageResponse<MusicResponse> search(String text, MusicSearchRequest filters, Pageable pageable,
+                                              int maxWindow) {
+        Query query = query(text, filters);
+        int window = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), maxWindow);
+
+        IndexSearcher searcher = acquire();
+        try {
+            TopFieldDocs top = searcher.search(query,
+                    new TopFieldCollectorManager(RELEVANCE, Math.max(window, 1), null, Integer.MAX_VALUE));
+
+            List<MusicResponse> content = new ArrayList<>(pageable.getPageSize());
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = (int) pageable.getOffset(); i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                content.add(music(storedFields.document(hit.doc)));
+            }
+
+            long total = top.totalHits.value;
+            int totalPages = (int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize());
+            return new PageResponse<>(content, pageable.getPageNumber(), pageable.getPageSize(), total, totalPages,
+                    pageable.getPageNumber() == 0, pageable.getPageNumber() + 1 >= totalPages);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    /**
+     * Every analysed word of {@code text} must match one of name, author name or
+     * genre; the last word also matches as a prefix, for search-as-you-type.
+     * Filters have the semantics of {@code /musics/search}, except that
+     * {@code name} matches whole words (and a trailing prefix) rather than any
+     * substring.
+     */
+    static Query query(String text, MusicSearchRequest filters) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        List<String> words = analyze(text);
+        for (int i = 0; i < words.size(); i++) {
+            boolean last = i == words.size() - 1;
+            query.add(new DisjunctionMaxQuery(List.of(
+                    word(NAME, words.get(i), last, NAME_BOOST),
+                    word(AUTHOR_NAME, words.get(i), last, AUTHOR_NAME_BOOST),
+                    word(GENRE, words.get(i), last, GENRE_BOOST)), 0.1f), BooleanClause.Occur.MUST);
+        }
+        if (words.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+
+        if (filters != null) {
+            List<String> nameWords = analyze(filters.name());
+            for (int i = 0; i < nameWords.size(); i++) {
+                query.add(word(NAME, nameWords.get(i), i == nameWords.size() - 1, 1f), BooleanClause.Occur.FILTER);
+            }
+            if (filters.genre() != null && !filters.genre().isBlank()) {
+                query.add(new TermQuery(new Term(GENRE_KEY, genreKey(filters.genre()))), BooleanClause.Occur.FILTER);
+            }
+            if (filters.authorId() != null) {
+                query.add(LongPoint.newExactQuery(AUTHOR_ID, filters.authorId()), BooleanClause.Occur.FILTER);
+            }
+            if (filters.minDuration() != null || filters.maxDuration() != null) {
+                query.add(IntPoint.newRangeQuery(DURATION,
+                        filters.minDuration() != null ? filters.minDuration() : Integer.MIN_VALUE,
+                        filters.maxDuration() != null ? filters.maxDuration() : Integer.MAX_VALUE),
+                        BooleanClause.Occur.FILTER);
+            }
+        }
+        return query.build();
+    }
+
+    private static Query word(String field, String word, boolean prefix, float boost) {
+        Query term = new BoostQuery(new TermQuery(new Term(field, word)), boost);
+        if (!prefix) {
+            return term;
+        }
+        return new BooleanQuery.Builder()
+                .add(term, BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(new PrefixQuery(new Term(field, word)), boost * PREFIX_BOOST),
+                        BooleanClause.Occur.SHOULD)
+                .build();
+    }
+
+    static List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        try (TokenStream stream = ANALYZER.tokenStream(NAME, new StringReader(text))) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                words.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return words;
+    }
+
+    private static String genreKey(String genre) {
+        return genre.toLowerCase(Locale.ROOT);
+    }
+
+    private static Document document(MusicResponse music) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(music.id()), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, music.id()));
+        document.add(new TextField(NAME, music.name(), Field.Store.YES));
+        if (music.genre() != null) {
+            document.add(new TextField(GENRE, music.genre(), Field.Store.YES));
+            document.add(new StringField(GENRE_KEY, genreKey(music.genre()), Field.Store.NO));
+        }
+        if (music.author() != null) {
+            document.add(new LongPoint(AUTHOR_ID, music.author().id()));
+            document.add(new StoredField(AUTHOR_ID, music.author().id()));
+            document.add(new TextField(AUTHOR_NAME, music.author().name(), Field.Store.YES));
+        }
+        if (music.durationSeconds() != null) {
+            document.add(new IntPoint(DURATION, music.durationSeconds()));
+            document.add(new StoredField(DURATION, music.durationSeconds()));
+        }
+        if (music.createdAt() != null) {
+            document.add(new StoredField(CREATED_AT, music.createdAt().toString()));
+        }
+        if (music.updatedAt() != null) {
+            document.add(new StoredField(UPDATED_AT, music.updatedAt().toString()));
+        }
+        return document;
+    }
+
+    private static MusicResponse music(Document document) {
+        Number authorId = document.getField(AUTHOR_ID) != null ? document.getField(AUTHOR_ID).numericValue() : null;
+        Number duration = document.getField(DURATION) != null ? document.getField(DURATION).numericValue() : null;
+        String createdAt = document.get(CREATED_AT);
+        String updatedAt = document.get(UPDATED_AT);
+        return new MusicResponse(
+                Long.valueOf(document.get(ID)),
+                document.get(NAME),
+                duration != null ? duration.intValue() : null,
+                document.get(GENRE),
+                authorId != null ? new MusicResponse.AuthorSummary(authorId.longValue(), document.get(AUTHOR_NAME)) : null,
+                createdAt != null ? LocalDateTime.parse(createdAt) : null,
+                updatedAt != null ? LocalDateTime.parse(updatedAt) : null,
+                null
+        );
+    }
+
+    private IndexSearcher acquire() {
+        try {
+            return searcherManager.acquire();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
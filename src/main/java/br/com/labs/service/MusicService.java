@@ -2,22 +2,49 @@ package br.com.labs.service;
 
 import br.com.labs.dto.request.MusicRequest;
 import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.MusicFacets;
 import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
 import br.com.labs.dto.response.PageResponse;
+import br.com.labs.event.CatalogChangeEvent;
 import br.com.labs.exception.BusinessException;
 import br.com.labs.exception.ResourceNotFoundException;
-import br.com.labs.model.Author;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.CatalogTombstone;
+import br.com.labs.model.ChangeOperation;
 import br.com.labs.model.Music;
+import br.com.labs.repository.AuthorBatchLoader;
+import br.com.labs.repository.AuthorRef;
 import br.com.labs.repository.AuthorRepository;
+import br.com.labs.repository.AuthorStatsRepository;
+import br.com.labs.repository.CatalogTombstoneRepository;
+import br.com.labs.repository.GenreDictionary;
+import br.com.labs.repository.MusicFacetRepository;
 import br.com.labs.repository.MusicRepository;
 import br.com.labs.repository.specification.MusicSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Create, update and author page lookups resolve the author through
+ * {@link AuthorBatchLoader} before opening their transaction, so no pooled
+ * connection is held while the batch waits for one.
+ */
 @Service
 public class MusicService {
 
@@ -25,32 +52,65 @@ public class MusicService {
 
     private final MusicRepository musicRepository;
     private final AuthorRepository authorRepository;
-
-    public MusicService(MusicRepository musicRepository, AuthorRepository authorRepository) {
+    private final AuthorBatchLoader authorLoader;
+    private final CatalogTombstoneRepository tombstoneRepository;
+    private final MusicFacetRepository facetRepository;
+    private final AuthorStatsRepository authorStatsRepository;
+    private final GenreDictionary genreDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<Integer> durationBuckets;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public MusicService(MusicRepository musicRepository, AuthorRepository authorRepository,
+                        AuthorBatchLoader authorLoader, CatalogTombstoneRepository tombstoneRepository,
+                        MusicFacetRepository facetRepository,
+                        AuthorStatsRepository authorStatsRepository, GenreDictionary genreDictionary,
+                        ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                        @Value("${app.music-search.duration-buckets:120,180,240,300,420}") List<Integer> durationBuckets) {
         this.musicRepository = musicRepository;
         this.authorRepository = authorRepository;
+        this.authorLoader = authorLoader;
+        this.tombstoneRepository = tombstoneRepository;
+        this.facetRepository = facetRepository;
+        this.authorStatsRepository = authorStatsRepository;
+        this.genreDictionary = genreDictionary;
+        this.eventPublisher = eventPublisher;
+        this.durationBuckets = durationBuckets.stream().sorted().distinct().toList();
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    @Transactional
     public MusicResponse create(MusicRequest request) {
         log.info("Creating new music: {} for author ID: {}", request.name(), request.authorId());
 
-        Author author = authorRepository.findById(request.authorId())
+        AuthorRef author = authorLoader.findById(request.authorId())
                 .orElseThrow(() -> {
                     log.warn("Author not found with ID: {}", request.authorId());
                     return new ResourceNotFoundException("Author", "id", request.authorId());
                 });
 
-        if (musicRepository.existsByNameAndAuthorId(request.name(), request.authorId())) {
-            log.warn("Music already exists with name: {} for author: {}", request.name(), request.authorId());
-            throw new BusinessException("Music with this name already exists for this author");
+        try {
+            return writeTransaction.execute(status -> {
+                if (musicRepository.existsByNameAndAuthorId(request.name(), request.authorId())) {
+                    log.warn("Music already exists with name: {} for author: {}", request.name(), request.authorId());
+                    throw new BusinessException("Music with this name already exists for this author");
+                }
+
+                registerGenre(request.genre());
+                Music music = new Music(request.name(), request.durationSeconds(), request.genre(),
+                        authorRepository.getReferenceById(author.id()));
+                music = musicRepository.save(music);
+                authorStatsRepository.add(author.id(), music.getGenre(), 1, music.getDurationSeconds());
+                eventPublisher.publishEvent(CatalogChangeEvent.music(ChangeOperation.CREATED, music.getId(), author.id()));
+
+                log.info("Music created successfully with ID: {}", music.getId());
+                return MusicResponse.fromEntity(music, author);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw authorDeletedSince(request.authorId(), ex);
         }
-
-        Music music = new Music(request.name(), request.durationSeconds(), request.genre(), author);
-        music = musicRepository.save(music);
-
-        log.info("Music created successfully with ID: {}", music.getId());
-        return MusicResponse.fromEntity(music);
     }
 
     @Transactional(readOnly = true)
@@ -67,45 +127,67 @@ public class MusicService {
         return MusicResponse.fromEntity(music);
     }
 
-    @Transactional
     public MusicResponse update(Long id, MusicRequest request) {
         log.info("Updating music with ID: {}", id);
 
-        Music music = musicRepository.findById(id)
+        // Looked up even when the author does not change: it is batched, and it names the author in the response
+        AuthorRef author = authorLoader.findById(request.authorId())
                 .orElseThrow(() -> {
-                    log.warn("Music not found for update with ID: {}", id);
-                    return new ResourceNotFoundException("Music", "id", id);
+                    log.warn("New author not found with ID: {}", request.authorId());
+                    return new ResourceNotFoundException("Author", "id", request.authorId());
                 });
 
-        if (!music.getAuthor().getId().equals(request.authorId())) {
-            Author newAuthor = authorRepository.findById(request.authorId())
-                    .orElseThrow(() -> {
-                        log.warn("New author not found with ID: {}", request.authorId());
-                        return new ResourceNotFoundException("Author", "id", request.authorId());
-                    });
-            music.setAuthor(newAuthor);
+        try {
+            return writeTransaction.execute(status -> {
+                // Locked, or a concurrent update would compute its stats deltas from the same previous values
+                Music music = musicRepository.findByIdForUpdate(id)
+                        .orElseThrow(() -> {
+                            log.warn("Music not found for update with ID: {}", id);
+                            return new ResourceNotFoundException("Music", "id", id);
+                        });
+
+                Long previousAuthorId = music.getAuthor().getId();
+                String previousGenre = music.getGenre();
+                int previousDuration = music.getDurationSeconds();
+                if (!previousAuthorId.equals(request.authorId())) {
+                    music.setAuthor(authorRepository.getReferenceById(author.id()));
+                }
+
+                music.setName(request.name());
+                music.setDurationSeconds(request.durationSeconds());
+                registerGenre(request.genre());
+                music.setGenre(request.genre());
+
+                music = musicRepository.save(music);
+                updateAuthorStats(previousAuthorId, previousGenre, previousDuration, music);
+                eventPublisher.publishEvent(previousAuthorId.equals(request.authorId())
+                        ? CatalogChangeEvent.music(ChangeOperation.UPDATED, music.getId(), previousAuthorId)
+                        : CatalogChangeEvent.musicMoved(music.getId(), request.authorId(), previousAuthorId));
+                log.info("Music updated successfully: {}", music.getId());
+
+                return MusicResponse.fromEntity(music, author);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw authorDeletedSince(request.authorId(), ex);
         }
-
-        music.setName(request.name());
-        music.setDurationSeconds(request.durationSeconds());
-        music.setGenre(request.genre());
-
-        music = musicRepository.save(music);
-        log.info("Music updated successfully: {}", music.getId());
-
-        return MusicResponse.fromEntity(music);
     }
 
     @Transactional
     public void delete(Long id) {
         log.info("Deleting music with ID: {}", id);
 
-        if (!musicRepository.existsById(id)) {
-            log.warn("Music not found for deletion with ID: {}", id);
-            throw new ResourceNotFoundException("Music", "id", id);
-        }
+        Music music = musicRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> {
+                    log.warn("Music not found for deletion with ID: {}", id);
+                    return new ResourceNotFoundException("Music", "id", id);
+                });
 
-        musicRepository.deleteById(id);
+        tombstoneRepository.save(new CatalogTombstone(
+                CatalogEntityType.MUSIC, id, music.getAuthor().getId(), LocalDateTime.now()));
+
+        musicRepository.delete(music);
+        authorStatsRepository.add(music.getAuthor().getId(), music.getGenre(), -1, -music.getDurationSeconds());
+        eventPublisher.publishEvent(CatalogChangeEvent.music(ChangeOperation.DELETED, id, music.getAuthor().getId()));
         log.info("Music deleted successfully: {}", id);
     }
 
@@ -113,14 +195,19 @@ public class MusicService {
     public PageResponse<MusicResponse> findAll(Pageable pageable) {
         log.debug("Fetching musics page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
-        Page<Music> page = musicRepository.findAll(pageable);
+        Page<Music> page = musicRepository.findAll(sortedByGenreName(pageable));
 
         log.debug("Found {} musics in page", page.getNumberOfElements());
         return PageResponse.fromPage(page, MusicResponse::fromEntity);
     }
 
+    /**
+     * One page of the musics matching {@code searchRequest} and, with
+     * {@code facets}, their counts per genre and per
+     * {@code app.music-search.duration-buckets} range.
+     */
     @Transactional(readOnly = true)
-    public PageResponse<MusicResponse> search(MusicSearchRequest searchRequest, Pageable pageable) {
+    public MusicSearchResponse search(MusicSearchRequest searchRequest, Pageable pageable, boolean facets) {
         log.info("Searching musics with filters - name: {}, genre: {}, authorId: {}, duration: {}-{}",
                 searchRequest.name(),
                 searchRequest.genre(),
@@ -130,25 +217,91 @@ public class MusicService {
 
         Page<Music> page = musicRepository.findAll(
                 MusicSpecification.withFilters(searchRequest),
-                pageable
+                sortedByGenreName(pageable)
         );
 
         log.info("Search completed. Found {} musics matching criteria", page.getTotalElements());
-        return PageResponse.fromPage(page, MusicResponse::fromEntity);
+        PageResponse<MusicResponse> musics = PageResponse.fromPage(page, MusicResponse::fromEntity);
+        if (!facets) {
+            return MusicSearchResponse.of(musics, null);
+        }
+
+        List<MusicFacets.Cell> cells = facetRepository.countByGenreAndDuration(searchRequest, durationBuckets);
+        return MusicSearchResponse.of(musics, MusicFacets.of(cells, durationBuckets));
     }
 
-    @Transactional(readOnly = true)
     public PageResponse<MusicResponse> findByAuthorId(Long authorId, Pageable pageable) {
         log.debug("Fetching musics for author ID: {}", authorId);
 
-        if (!authorRepository.existsById(authorId)) {
+        if (!authorLoader.existsById(authorId)) {
             log.warn("Author not found with ID: {}", authorId);
             throw new ResourceNotFoundException("Author", "id", authorId);
         }
 
-        Page<Music> page = musicRepository.findByAuthorId(authorId, pageable);
+        return readOnlyTransaction.execute(status -> {
+            Page<Music> page = musicRepository.findByAuthorId(authorId, sortedByGenreName(pageable));
 
-        log.debug("Found {} musics for author {}", page.getNumberOfElements(), authorId);
-        return PageResponse.fromPage(page, MusicResponse::fromEntity);
+            log.debug("Found {} musics for author {}", page.getNumberOfElements(), authorId);
+            return PageResponse.fromPage(page, MusicResponse::fromEntity);
+        });
+    }
+
+    /**
+     * The author was looked up before the write transaction and may have been
+     * deleted since, failing its foreign keys: that is a 404 like any other
+     * missing author. Other integrity violations propagate.
+     */
+    private RuntimeException authorDeletedSince(Long authorId, DataIntegrityViolationException ex) {
+        if (authorRepository.existsById(authorId)) {
+            return ex;
+        }
+        log.warn("Author deleted while writing a music with ID: {}", authorId);
+        return new ResourceNotFoundException("Author", "id", authorId);
+    }
+
+    private void registerGenre(String genre) {
+        if (genre != null) {
+            genreDictionary.register(genre);
+        }
+    }
+
+    /**
+     * Genres are stored as codes, so sorting by genre goes through the genre
+     * table to order by name.
+     */
+    private static Pageable sortedByGenreName(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("genre") == null) {
+            return pageable;
+        }
+        Sort byName = Sort.by(sort.stream()
+                .map(order -> order.getProperty().equals("genre") ? order.withProperty("genreEntry.name") : order)
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byName);
+    }
+
+    /**
+     * Moves an updated music's contribution from its previous author, genre and
+     * duration to its current ones. When it changed author, both rows are
+     * updated in author ID order, so concurrent moves cannot deadlock.
+     */
+    private void updateAuthorStats(Long previousAuthorId, String previousGenre, int previousDuration, Music music) {
+        Long authorId = music.getAuthor().getId();
+        if (authorId.equals(previousAuthorId) && Objects.equals(previousGenre, music.getGenre())) {
+            if (previousDuration != music.getDurationSeconds()) {
+                authorStatsRepository.add(authorId, null, 0, music.getDurationSeconds() - previousDuration);
+            }
+            return;
+        }
+
+        Runnable removePrevious = () -> authorStatsRepository.add(previousAuthorId, previousGenre, -1, -previousDuration);
+        Runnable addCurrent = () -> authorStatsRepository.add(authorId, music.getGenre(), 1, music.getDurationSeconds());
+        if (authorId < previousAuthorId) {
+            addCurrent.run();
+            removePrevious.run();
+        } else {
+            removePrevious.run();
+            addCurrent.run();
+        }
     }
 }
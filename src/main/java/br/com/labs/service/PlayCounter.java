@@ -0,0 +1,162 @@
+package br.com.labs.service;
+
+import br.com.labs.event.PlayCountsWrittenEvent;
+import br.com.labs.repository.PlayCountRepository;
+import br.com.labs.repository.PlayedMusic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays counted in memory and written to {@code music_play_count} as deltas
+ * every {@code app.plays.flush-interval}, in statements of up to
+ * {@code app.plays.batch-size} musics, and once more on shutdown.
+ * <p>
+ * Each music has a {@link LongAdder}, so concurrent plays of the same music
+ * update separate cells instead of contending on one value. Flushing drains
+ * every adder with {@link LongAdder#sumThenReset()}; a music with no plays
+ * since the previous flush is retired and removed, and a play that raced with
+ * the removal moves its count to a fresh entry. Deltas that fail to write are
+ * kept and retried by the next flush. Each written batch is announced with a
+ * {@link PlayCountsWrittenEvent}, which moves the HTTP validators of the
+ * musics on.
+ */
+@Service
+public class PlayCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayCounter.class);
+
+    private final PlayCountRepository playCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, PlayCount> counts = new ConcurrentHashMap<>();
+    private final LongAdder pending = new LongAdder();
+    // Drained but not yet written; only touched by flush, which is synchronized
+    private final SortedMap<Long, Long> unflushed = new TreeMap<>();
+    private final Counter recorded;
+    private final Timer flushTimer;
+
+    private volatile long lastFlushStart = System.nanoTime();
+
+    public PlayCounter(PlayCountRepository playCountRepository, ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry, @Value("${app.plays.batch-size:1000}") int batchSize) {
+        this.playCountRepository = playCountRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.recorded = Counter.builder("plays.recorded")
+                .description("Plays recorded in memory")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("plays.flush")
+                .description("Time to write the pending play count deltas")
+                .register(meterRegistry);
+        Gauge.builder("plays.pending", pending, LongAdder::sum)
+                .description("Plays recorded but not written yet")
+                .register(meterRegistry);
+        Gauge.builder("plays.flush.lag", this,
+                        counter -> (double) (System.nanoTime() - counter.lastFlushStart) / TimeUnit.SECONDS.toNanos(1))
+                .description("Age of the oldest play that may not be written yet: time since the start of the last "
+                        + "flush that wrote everything")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void record(long musicId) {
+        add(musicId, 1);
+        pending.increment();
+        recorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.plays.flush-interval:1s}",
+            initialDelayString = "${app.plays.flush-interval:1s}")
+    public synchronized void flush() {
+        long start = System.nanoTime();
+        counts.forEach((musicId, count) -> {
+            long plays = count.plays.sumThenReset();
+            if (plays == 0) {
+                count.retired = true;
+                counts.remove(musicId, count);
+                // Plays that reached the entry before it was marked
+                plays = count.plays.sumThenReset();
+            }
+            if (plays != 0) {
+                unflushed.merge(musicId, plays, Long::sum);
+            }
+        });
+        if (!unflushed.isEmpty()) {
+            flushTimer.record(this::writeUnflushed);
+        }
+        if (unflushed.isEmpty()) {
+            lastFlushStart = start;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (!unflushed.isEmpty()) {
+            log.error("Lost {} plays of {} musics that could not be written on shutdown", pending.sum(),
+                    unflushed.size());
+        }
+    }
+
+    private void add(long musicId, long plays) {
+        while (true) {
+            PlayCount count = counts.computeIfAbsent(musicId, id -> new PlayCount());
+            count.plays.add(plays);
+            if (!count.retired) {
+                return;
+            }
+            // Retired by a flush after lookup: take back whatever it did not drain
+            plays = count.plays.sumThenReset();
+            if (plays == 0) {
+                return;
+            }
+        }
+    }
+
+    private void writeUnflushed() {
+        while (!unflushed.isEmpty()) {
+            SortedMap<Long, Long> batch = new TreeMap<>();
+            for (var delta : unflushed.entrySet()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.put(delta.getKey(), delta.getValue());
+            }
+            List<PlayedMusic> written;
+            try {
+                written = playCountRepository.add(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to write play counts of {} musics, retrying on the next flush", unflushed.size(), ex);
+                return;
+            }
+            batch.forEach((musicId, plays) -> {
+                unflushed.remove(musicId);
+                pending.add(-plays);
+            });
+            if (!written.isEmpty()) {
+                eventPublisher.publishEvent(new PlayCountsWrittenEvent(written));
+            }
+        }
+    }
+
+    private static final class PlayCount {
+        final LongAdder plays = new LongAdder();
+        volatile boolean retired;
+    }
+}
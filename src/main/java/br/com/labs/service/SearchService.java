@@ -0,0 +1,169 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.exception.ServiceOverloadedException;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+import br.com.labs.repository.SearchIndexRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text search over the in-process {@link MusicSearchIndex}.
+ * <p>
+ * The index is built from a streaming scan of the catalog when the application
+ * is ready and rebuilt every {@code app.search.rebuild-interval}; in between,
+ * committed {@link CatalogChangeEvent}s are applied to it. All index writes run
+ * on one thread, in commit order, so searches lag commits by the time it takes
+ * to apply them.
+ */
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final SearchIndexRepository searchIndexRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService indexer;
+    private final int maxWindow;
+
+    private volatile MusicSearchIndex index;
+
+    public SearchService(SearchIndexRepository searchIndexRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.search.max-window:1000}") int maxWindow) {
+        this.searchIndexRepository = searchIndexRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("search-indexer").factory());
+        this.maxWindow = maxWindow;
+    }
+
+    public PageResponse<MusicResponse> search(String text, MusicSearchRequest filters, Pageable pageable) {
+        log.debug("Searching index for '{}' with filters: {}", text, filters);
+
+        try {
+            return currentIndex().search(text, filters, pageable, maxWindow);
+        } catch (AlreadyClosedException ex) {
+            // Swapped out by a rebuild between reading the reference and searching it
+            return currentIndex().search(text, filters, pageable, maxWindow);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        indexer.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval:1h}",
+            initialDelayString = "${app.search.rebuild-interval:1h}")
+    public void scheduleRebuild() {
+        indexer.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        indexer.execute(() -> apply(event));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        indexer.shutdownNow();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        MusicSearchIndex rebuilt = new MusicSearchIndex();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> searchIndexRepository.streamAll(rebuilt::upsert));
+            rebuilt.refresh();
+        } catch (RuntimeException ex) {
+            log.error("Search index rebuild failed, keeping the current index", ex);
+            closeQuietly(rebuilt);
+            return;
+        }
+
+        MusicSearchIndex previous = index;
+        index = rebuilt;
+        closeQuietly(previous);
+        log.info("Search index rebuilt with {} musics in {} ms", rebuilt.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void apply(CatalogChangeEvent event) {
+        MusicSearchIndex current = index;
+        if (current == null) {
+            // Not built yet; the initial build reads the committed change anyway
+            return;
+        }
+        try {
+            if (event.entityType() == CatalogEntityType.MUSIC) {
+                if (event.operation() == ChangeOperation.DELETED) {
+                    current.delete(event.entityId());
+                } else {
+                    searchIndexRepository.findById(event.entityId())
+                            .ifPresentOrElse(current::upsert, () -> current.delete(event.entityId()));
+                }
+            } else if (event.operation() == ChangeOperation.DELETED) {
+                current.deleteByAuthor(event.entityId());
+            } else if (event.operation() == ChangeOperation.UPDATED) {
+                // The author name is denormalised into every one of its musics
+                readOnlyTransaction.executeWithoutResult(status ->
+                        searchIndexRepository.streamByAuthorId(event.entityId(), current::upsert));
+            }
+            current.refresh();
+            log.debug("Applied {} {} {} to the search index", event.entityType(), event.operation(),
+                    event.entityId());
+        } catch (RuntimeException ex) {
+            // The next rebuild repairs whatever this change missed
+            log.warn("Failed to apply {} {} {} to the search index", event.entityType(), event.operation(),
+                    event.entityId(), ex);
+        }
+    }
+
+    private MusicSearchIndex currentIndex() {
+        MusicSearchIndex current = index;
+        if (current == null) {
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is warming up",
+                    Duration.ofSeconds(5));
+        }
+        return current;
+    }
+
+    private static void closeQuietly(MusicSearchIndex index) {
+        if (index == null) {
+            return;
+        }
+        try {
+            index.close();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to close search index", ex);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.SuggestionResponse;
+import br.com.labs.exception.BusinessException;
+import br.com.labs.exception.ServiceOverloadedException;
+import br.com.labs.repository.AuthorRepository;
+import br.com.labs.repository.ChangeFeedRepository;
+import br.com.labs.repository.MusicRepository;
+import br.com.labs.repository.WeightedTerm;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead over music titles and author names. Lookups hit the current
+ * {@link SuggestionIndex}; a replacement is built in the background and
+ * swapped in with a single reference write, so readers never see a partially
+ * built index.
+ * <p>
+ * Every {@code app.suggest.rebuild-interval} the time of the latest catalog
+ * change is read from the change feed, and the index is only rebuilt when it
+ * moved since the last build, or when the last build is older than
+ * {@code app.suggest.full-rebuild-interval}. The latter also picks up
+ * transactions that committed after a later one had already moved it.
+ */
+@Service
+public class SuggestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private final MusicRepository musicRepository;
+    private final AuthorRepository authorRepository;
+    private final ChangeFeedRepository changeFeedRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxLimit;
+    private final long fullRebuildNanos;
+    private final Timer lookupTimer;
+    private final Timer buildTimer;
+
+    private volatile SuggestionIndex index;
+    private LocalDateTime builtFromChangeAt;
+    private long builtAtNanos;
+
+    public SuggestService(MusicRepository musicRepository, AuthorRepository authorRepository,
+                          ChangeFeedRepository changeFeedRepository,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          @Value("${app.suggest.max-limit:20}") int maxLimit,
+                          @Value("${app.suggest.full-rebuild-interval:1h}") Duration fullRebuildInterval) {
+        this.musicRepository = musicRepository;
+        this.authorRepository = authorRepository;
+        this.changeFeedRepository = changeFeedRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxLimit = maxLimit;
+        this.fullRebuildNanos = fullRebuildInterval.toNanos();
+        this.lookupTimer = Timer.builder("suggest.lookup")
+                .description("Time to look up the suggestions of a prefix")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("suggest.index.build")
+                .description("Time to build the suggestion index from the catalog")
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.memory", this, service -> service.index != null ? service.index.ramBytesUsed() : 0)
+                .description("Heap used by the current suggestion index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("suggest.index.entries", this, service -> service.index != null ? service.index.size() : 0)
+                .description("Suggestions in the current suggestion index")
+                .register(meterRegistry);
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BusinessException("Prefix must not be blank");
+        }
+        SuggestionIndex current = index;
+        if (current == null) {
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE, "Suggestion index is warming up",
+                    Duration.ofSeconds(5));
+        }
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        return lookupTimer.record(() -> current.lookup(prefix, size));
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval:10m}", initialDelay = 0)
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            LocalDateTime lastChangedAt = changeFeedRepository.lastChangedAt();
+            if (index != null && Objects.equals(lastChangedAt, builtFromChangeAt)
+                    && start - builtAtNanos < fullRebuildNanos) {
+                log.debug("Catalog unchanged since {}, keeping the suggestion index", lastChangedAt);
+                return;
+            }
+            SuggestionIndex rebuilt = readOnlyTransaction.execute(status -> {
+                try (Stream<WeightedTerm> titles = musicRepository.streamTitleWeights();
+                     Stream<WeightedTerm> authorNames = authorRepository.streamNameWeights()) {
+                    return SuggestionIndex.build(titles, authorNames);
+                }
+            });
+            index = rebuilt;
+            builtFromChangeAt = lastChangedAt;
+            builtAtNanos = start;
+            long elapsed = System.nanoTime() - start;
+            buildTimer.record(Duration.ofNanos(elapsed));
+            log.info("Suggestion index rebuilt with {} entries ({} KiB) in {} ms", rebuilt.size(),
+                    rebuilt.ramBytesUsed() / 1024, Duration.ofNanos(elapsed).toMillis());
+        } catch (RuntimeException ex) {
+            log.error("Suggestion index rebuild failed, keeping the current index", ex);
+        }
+    }
+}
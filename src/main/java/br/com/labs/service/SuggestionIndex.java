@@ -0,0 +1,161 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.SuggestionResponse;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.repository.WeightedTerm;
+import org.apache.lucene.search.suggest.InputIterator;
+import org.apache.lucene.search.suggest.Lookup;
+import org.apache.lucene.search.suggest.fst.WFSTCompletionLookup;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Immutable weighted FST of music titles and author names, answering the
+ * top-weighted completions of a prefix in time proportional to the prefix
+ * length and the number of results, not to the catalog size.
+ * <p>
+ * Keys are normalised (lower-cased, accents stripped, whitespace collapsed) and
+ * followed by a separator, the suggestion type and the original text, so a
+ * lookup returns what to display without a second structure.
+ */
+public final class SuggestionIndex {
+
+    private static final char SEPARATOR = '\u001e';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern CONTROLS = Pattern.compile("\\p{Cntrl}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final WFSTCompletionLookup lookup;
+
+    private SuggestionIndex(WFSTCompletionLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * Builds the index from both term streams; the FST builder sorts them
+     * off-heap, so neither needs to fit in a collection first.
+     */
+    public static SuggestionIndex build(Stream<WeightedTerm> titles, Stream<WeightedTerm> authorNames) {
+        WFSTCompletionLookup lookup = new WFSTCompletionLookup(new ByteBuffersDirectory(), "suggest", false);
+        Stream<Entry> entries = Stream.concat(
+                titles.map(term -> Entry.of(term, CatalogEntityType.MUSIC)),
+                authorNames.map(term -> Entry.of(term, CatalogEntityType.AUTHOR)));
+        try {
+            lookup.build(new EntryIterator(entries.filter(Objects::nonNull).iterator()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new SuggestionIndex(lookup);
+    }
+
+    /**
+     * Up to {@code limit} suggestions starting with {@code prefix}, most popular first.
+     */
+    public List<SuggestionResponse> lookup(String prefix, int limit) {
+        String key = normalize(prefix).stripLeading();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return lookup.lookup(key, false, limit).stream()
+                    .map(SuggestionIndex::suggestion)
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long size() {
+        return lookup.getCount();
+    }
+
+    public long ramBytesUsed() {
+        return lookup.ramBytesUsed();
+    }
+
+    static String normalize(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String visible = CONTROLS.matcher(folded).replaceAll(" ");
+        return WHITESPACE.matcher(visible).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static SuggestionResponse suggestion(Lookup.LookupResult result) {
+        String key = result.key.toString();
+        int separator = key.indexOf(SEPARATOR);
+        CatalogEntityType type = key.charAt(separator + 1) == 'A' ? CatalogEntityType.AUTHOR : CatalogEntityType.MUSIC;
+        return new SuggestionResponse(key.substring(separator + 2), type, result.value);
+    }
+
+    private record Entry(BytesRef key, long weight) {
+
+        static Entry of(WeightedTerm term, CatalogEntityType type) {
+            if (term.term() == null) {
+                return null;
+            }
+            String normalized = normalize(term.term()).strip();
+            if (normalized.isEmpty()) {
+                return null;
+            }
+            String display = term.term().strip();
+            String key = normalized + SEPARATOR + type.name().charAt(0) + display;
+            // The FST stores weights as ints
+            return new Entry(new BytesRef(key), Math.min(term.weight(), Integer.MAX_VALUE));
+        }
+    }
+
+    private static final class EntryIterator implements InputIterator {
+
+        private final Iterator<Entry> entries;
+        private long weight;
+
+        EntryIterator(Iterator<Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public BytesRef next() {
+            if (!entries.hasNext()) {
+                return null;
+            }
+            Entry entry = entries.next();
+            weight = entry.weight();
+            return entry.key();
+        }
+
+        @Override
+        public long weight() {
+            return weight;
+        }
+
+        @Override
+        public BytesRef payload() {
+            return null;
+        }
+
+        @Override
+        public boolean hasPayloads() {
+            return false;
+        }
+
+        @Override
+        public Set<BytesRef> contexts() {
+            return null;
+        }
+
+        @Override
+        public boolean hasContexts() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.TrendingMusic;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Musics most requested recently, over all pods, without storing requests.
+ * <p>
+ * Each pod counts the musics it serves in a {@link HeavyHitterSketch} that
+ * decays with {@code app.trending.half-life}. Every
+ * {@code app.trending.publish-interval} the pod writes a snapshot of its sketch
+ * to Redis, reads the snapshots of every pod that published within the last
+ * three intervals, and merges them into the ranking served until the next
+ * round. Without Redis the ranking covers this pod only.
+ * <p>
+ * Requests are counted per id without locking and drained into the sketch
+ * every round, or as soon as {@value #MAX_PENDING_IDS} ids are waiting, so the
+ * request path never waits on the sketch.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final String PODS_KEY = "trending:pods";
+    private static final String SNAPSHOT_KEY_PREFIX = "trending:sketch:";
+    private static final int MAX_PENDING_IDS = 10_000;
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final StringRedisTemplate podRegistry;
+    private final boolean redisEnabled;
+    private final String podId;
+    private final long halfLifeMillis;
+    private final Duration publishInterval;
+    private final int size;
+    private final HeavyHitterSketch sketch;
+    // Guards the sketch; a lock rather than a monitor, so virtual threads draining it are not pinned
+    private final ReentrantLock sketchLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Counter mergeFailures;
+
+    private volatile List<TrendingMusic> ranking = List.of();
+    private volatile int mergedPods;
+
+    public TrendingService(RedisConnectionFactory connectionFactory, StringRedisTemplate podRegistry,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.trending.redis-enabled:true}") boolean redisEnabled,
+                           @Value("${HOSTNAME:}") String hostname,
+                           @Value("${app.trending.half-life:10m}") Duration halfLife,
+                           @Value("${app.trending.publish-interval:10s}") Duration publishInterval,
+                           @Value("${app.trending.size:100}") int size) {
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(connectionFactory);
+        this.redisTemplate.setKeySerializer(RedisSerializer.string());
+        this.redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        this.redisTemplate.afterPropertiesSet();
+        this.podRegistry = podRegistry;
+        this.redisEnabled = redisEnabled;
+        this.podId = hostname.isBlank() ? UUID.randomUUID().toString() : hostname;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.publishInterval = publishInterval;
+        this.size = size;
+        // Tracking more candidates than are ranked lets ids near the cut compete on merged counts
+        this.sketch = new HeavyHitterSketch(size * 2, halfLifeMillis, System.currentTimeMillis());
+        this.mergeFailures = Counter.builder("trending.merge.failures")
+                .description("Trending rounds that could not exchange sketches through Redis")
+                .register(meterRegistry);
+        Gauge.builder("trending.pods", this, service -> service.mergedPods)
+                .description("Pods whose sketches were merged into the trending ranking")
+                .register(meterRegistry);
+    }
+
+    public void recordRequest(long musicId) {
+        LongAdder requests = pending.get(musicId);
+        if (requests == null) {
+            requests = pending.computeIfAbsent(musicId, id -> new LongAdder());
+        }
+        requests.increment();
+        if (pending.size() >= MAX_PENDING_IDS && sketchLock.tryLock()) {
+            try {
+                drain(System.currentTimeMillis());
+            } finally {
+                sketchLock.unlock();
+            }
+        }
+    }
+
+    public void recordRequests(Collection<Long> musicIds) {
+        musicIds.forEach(this::recordRequest);
+    }
+
+    /**
+     * Up to {@code limit} musics, most requested first, as of the last round.
+     */
+    public List<TrendingMusic> trending(int limit) {
+        List<TrendingMusic> current = ranking;
+        int count = Math.max(1, limit);
+        return current.size() > count ? current.subList(0, count) : current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.publish-interval:10s}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        HeavyHitterSketch.Snapshot local;
+        sketchLock.lock();
+        try {
+            drain(now);
+            local = sketch.snapshot(now);
+        } finally {
+            sketchLock.unlock();
+        }
+        List<HeavyHitterSketch.Snapshot> snapshots = redisEnabled ? exchange(local, now) : List.of(local);
+        ranking = HeavyHitterSketch.top(snapshots, now, halfLifeMillis, size).stream()
+                .map(entry -> new TrendingMusic(entry.id(), entry.score()))
+                .toList();
+        mergedPods = snapshots.size();
+    }
+
+    /**
+     * Adds the requests counted since the last drain to the sketch; callers
+     * hold {@link #sketchLock}. An increment racing the removal of its counter
+     * can be lost, which an approximate ranking tolerates.
+     */
+    private void drain(long now) {
+        for (Long musicId : pending.keySet()) {
+            LongAdder requests = pending.remove(musicId);
+            if (requests != null) {
+                sketch.add(musicId, requests.sum(), now);
+            }
+        }
+    }
+
+    /**
+     * Publishes {@code local} and returns it with the snapshots of the other
+     * live pods; only {@code local} when Redis fails.
+     */
+    private List<HeavyHitterSketch.Snapshot> exchange(HeavyHitterSketch.Snapshot local, long now) {
+        Duration retention = publishInterval.multipliedBy(3);
+        try {
+            redisTemplate.opsForValue().set(SNAPSHOT_KEY_PREFIX + podId, local.toBytes(), retention);
+            // Pods by last publish time; the ones that stopped publishing age out
+            podRegistry.opsForZSet().add(PODS_KEY, podId, now);
+            podRegistry.opsForZSet().removeRangeByScore(PODS_KEY, 0, now - retention.toMillis());
+            Set<String> pods = Objects.requireNonNullElse(podRegistry.opsForZSet().range(PODS_KEY, 0, -1), Set.of());
+
+            List<HeavyHitterSketch.Snapshot> snapshots = new ArrayList<>(pods.size());
+            snapshots.add(local);
+            List<String> others = pods.stream().filter(pod -> !pod.equals(podId)).toList();
+            if (!others.isEmpty()) {
+                List<byte[]> encoded = redisTemplate.opsForValue()
+                        .multiGet(others.stream().map(pod -> SNAPSHOT_KEY_PREFIX + pod).toList());
+                for (byte[] bytes : Objects.requireNonNullElse(encoded, List.<byte[]>of())) {
+                    if (bytes != null) {
+                        snapshots.add(HeavyHitterSketch.Snapshot.fromBytes(bytes));
+                    }
+                }
+            }
+            return snapshots;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to exchange trending sketches through Redis, ranking this pod only: {}", ex.getMessage());
+            mergeFailures.increment();
+            return List.of(local);
+        }
+    }
+}
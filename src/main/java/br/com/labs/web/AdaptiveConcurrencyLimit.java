@@ -0,0 +1,64 @@
+package br.com.labs.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit. A request that finishes within the latency threshold
+ * while the group is at least half utilised grows the limit by one; a slow or
+ * failed request multiplies it by the backoff ratio. Only requests admitted after
+ * the last decrease can trigger another one, so a single slowdown shrinks the
+ * limit once instead of once per request that was already in flight.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release(long startNanos, boolean dropped) {
+        long now = System.nanoTime();
+        int inflightBeforeRelease = inflight.getAndDecrement();
+
+        if (dropped || now - startNanos > latencyThresholdNanos) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (startNanos - lastDecrease > 0 && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inflightBeforeRelease * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.labs.web;
+
+import br.com.labs.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pod-wide admission control. A request is admitted only if the pod has room
+ * for its group (total in-flight below {@code max-concurrency * share}) and its
+ * group is below its adaptive limit. Rejections are immediate, so an overloaded
+ * database turns into fast 429/503 responses instead of a Tomcat queue.
+ */
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    public record Permit(EndpointGroup group, long startNanos) {
+    }
+
+    private final Map<EndpointGroup, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Integer> ceilings = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> limitRejections = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Counter> priorityRejections = new EnumMap<>(EndpointGroup.class);
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Duration retryAfter;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.retryAfter = properties.retryAfter();
+
+        for (EndpointGroup group : EndpointGroup.values()) {
+            AdmissionProperties.Group settings = properties.groups().get(group);
+            if (settings == null) {
+                throw new IllegalStateException("Missing app.admission.groups settings for " + group);
+            }
+
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.initialLimit(),
+                    settings.minLimit(), settings.maxLimit(), settings.latencyThreshold().toNanos(),
+                    properties.backoffRatio());
+            limits.put(group, limit);
+            ceilings.put(group, (int) Math.ceil(properties.maxConcurrency() * settings.share()));
+
+            String tag = group.name().toLowerCase();
+            Gauge.builder("http.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit of the endpoint group")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("http.admission.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                    .description("Requests of the endpoint group currently being served")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            limitRejections.put(group, Counter.builder("http.admission.rejections")
+                    .description("Requests shed by admission control")
+                    .tags("group", tag, "reason", "limit")
+                    .register(meterRegistry));
+            priorityRejections.put(group, Counter.builder("http.admission.rejections")
+                    .description("Requests shed by admission control")
+                    .tags("group", tag, "reason", "priority")
+                    .register(meterRegistry));
+
+            log.info("Admission group {}: limit {} (min {}, max {}), latency threshold {}, pod share {}",
+                    group, limit.getLimit(), settings.minLimit(), settings.maxLimit(),
+                    settings.latencyThreshold(), ceilings.get(group));
+        }
+    }
+
+    public Permit acquire(EndpointGroup group) {
+        if (inflight.incrementAndGet() > ceilings.get(group)) {
+            inflight.decrementAndGet();
+            priorityRejections.get(group).increment();
+            throw new ServiceOverloadedException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is busy, please retry later", retryAfter);
+        }
+
+        if (!limits.get(group).tryAcquire()) {
+            inflight.decrementAndGet();
+            limitRejections.get(group).increment();
+            throw new ServiceOverloadedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many concurrent requests, please retry later", retryAfter);
+        }
+
+        return new Permit(group, System.nanoTime());
+    }
+
+    /**
+     * @param dropped whether the request failed in a way that signals overload
+     *                (server error), which shrinks the group's limit
+     */
+    public void release(Permit permit, boolean dropped) {
+        limits.get(permit.group()).release(permit.startNanos(), dropped);
+        inflight.decrementAndGet();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
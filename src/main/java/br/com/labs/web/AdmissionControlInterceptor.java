@@ -0,0 +1,45 @@
+package br.com.labs.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Acquires an admission permit before the handler runs and returns it, together
+ * with the observed latency, once the response is complete. A rejected request
+ * surfaces as {@link br.com.labs.exception.ServiceOverloadedException} and is
+ * rendered by the global exception handler.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControl admissionControl;
+    private final EndpointGroupResolver groupResolver = new EndpointGroupResolver();
+
+    public AdmissionControlInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        AdmissionControl.Permit permit = admissionControl.acquire(groupResolver.resolve(request, handlerMethod));
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdmissionControl.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            admissionControl.release(permit, ex != null || response.getStatus() >= 500);
+        }
+    }
+}
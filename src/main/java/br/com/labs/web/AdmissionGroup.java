@@ -0,0 +1,20 @@
+package br.com.labs.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a handler (or every handler of a controller) to an admission group.
+ * Unannotated handlers fall back to {@link EndpointGroup#READ} for GET/HEAD and
+ * {@link EndpointGroup#WRITE} for everything else.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionGroup {
+
+    EndpointGroup value();
+}
@@ -0,0 +1,29 @@
+package br.com.labs.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionProperties(
+        boolean enabled,
+        int maxConcurrency,
+        Duration retryAfter,
+        double backoffRatio,
+        Map<EndpointGroup, Group> groups
+) {
+
+    /**
+     * @param share            fraction of {@code max-concurrency} the group may occupy
+     * @param latencyThreshold responses slower than this shrink the group's limit
+     */
+    public record Group(
+            double share,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyThreshold
+    ) {
+    }
+}
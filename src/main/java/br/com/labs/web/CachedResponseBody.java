@@ -0,0 +1,235 @@
+package br.com.labs.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A fully encoded {@code ApiResponse} JSON body minus its trailing
+ * {@code timestamp}, which is the only per-request field. {@code timestamp} is
+ * the last property Jackson writes, so a response is {@code json} followed by
+ * {@code ,"timestamp":"<now>"}}.
+ * <p>
+ * The gzip variant is compressed once, up to a sync flush so it ends on a byte
+ * boundary with a non-final block. Each response appends the suffix as a final
+ * stored (uncompressed) deflate block and the gzip trailer, whose CRC-32 is
+ * combined from the cached prefix CRC instead of recomputed over the body.
+ */
+public record CachedResponseBody(byte[] json, int jsonCrc, byte[] gzip, Set<String> surrogateKeys) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private static final AtomicReferenceArray<int[]> ZERO_BYTES_OPERATORS = new AtomicReferenceArray<>(128);
+
+    /**
+     * @param json the body as serialised with a {@code null} timestamp (which
+     *             {@code NON_NULL} omits), ending in the closing brace
+     */
+    public static CachedResponseBody of(byte[] json, boolean gzip, Set<String> surrogateKeys) {
+        if (json.length < 2 || json[json.length - 1] != '}') {
+            throw new IllegalArgumentException("Not a JSON object");
+        }
+        byte[] prefix = new byte[json.length - 1];
+        System.arraycopy(json, 0, prefix, 0, prefix.length);
+
+        CRC32 crc = new CRC32();
+        crc.update(prefix);
+        return new CachedResponseBody(prefix, (int) crc.getValue(), gzip ? deflate(prefix) : null,
+                Set.copyOf(surrogateKeys));
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    public int jsonLength(byte[] suffix) {
+        return json.length + suffix.length;
+    }
+
+    public int gzipLength(byte[] suffix) {
+        return gzip.length + 5 + suffix.length + 8;
+    }
+
+    /**
+     * The variable end of the body: {@code ,"timestamp":"...."}}, formatted as
+     * Jackson formats {@code LocalDateTime} with dates not written as timestamps.
+     */
+    public static byte[] suffix(LocalDateTime timestamp) {
+        byte[] value = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+        byte[] suffix = new byte[TIMESTAMP_FIELD.length + value.length + 2];
+        System.arraycopy(TIMESTAMP_FIELD, 0, suffix, 0, TIMESTAMP_FIELD.length);
+        System.arraycopy(value, 0, suffix, TIMESTAMP_FIELD.length, value.length);
+        suffix[suffix.length - 2] = '"';
+        suffix[suffix.length - 1] = '}';
+        return suffix;
+    }
+
+    public void writeJson(OutputStream out, byte[] suffix) throws IOException {
+        out.write(json);
+        out.write(suffix);
+    }
+
+    public void writeGzip(OutputStream out, byte[] suffix) throws IOException {
+        out.write(gzip);
+
+        // Final stored block: BFINAL=1, BTYPE=00, then LEN and its one's complement
+        int length = suffix.length;
+        out.write(new byte[]{1, (byte) length, (byte) (length >>> 8), (byte) ~length, (byte) (~length >>> 8)});
+        out.write(suffix);
+
+        CRC32 suffixCrc = new CRC32();
+        suffixCrc.update(suffix);
+        writeIntLE(out, crc32Combine(jsonCrc, (int) suffixCrc.getValue(), length));
+        writeIntLE(out, json.length + length);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length + (gzip != null ? gzip.length : 0) + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(surrogateKeys.size());
+            for (String key : surrogateKeys) {
+                out.writeUTF(key);
+            }
+            out.writeInt(jsonCrc);
+            out.writeInt(json.length);
+            out.write(json);
+            out.writeInt(gzip != null ? gzip.length : -1);
+            if (gzip != null) {
+                out.write(gzip);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the decoded body, or {@code null} for an entry written in another format
+     */
+    public static CachedResponseBody fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            int keyCount = in.readInt();
+            Set<String> keys = new LinkedHashSet<>(keyCount * 2);
+            for (int i = 0; i < keyCount; i++) {
+                keys.add(in.readUTF());
+            }
+            int crc = in.readInt();
+            byte[] json = in.readNBytes(in.readInt());
+            int gzipLength = in.readInt();
+            byte[] gzip = gzipLength < 0 ? null : in.readNBytes(gzipLength);
+            return new CachedResponseBody(json, crc, gzip, keys);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] deflate(byte[] prefix) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length / 4 + 64);
+        out.writeBytes(GZIP_HEADER);
+        // Compressed once per version, so the slowest level is affordable
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, true);
+            deflate.write(prefix);
+            deflate.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(new byte[]{(byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+    }
+
+    /**
+     * CRC-32 of the concatenation of two blocks from their CRCs and the length of
+     * the second, as zlib's {@code crc32_combine}: {@code crc1} is advanced over
+     * {@code length2} zero bytes by a GF(2) matrix, then xor-ed with {@code crc2}.
+     * Suffix lengths fall in a narrow range, so the matrices are cached per length.
+     */
+    static int crc32Combine(int crc1, int crc2, int length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        return gf2MatrixTimes(zeroBytesOperator(length2), crc1) ^ crc2;
+    }
+
+    private static int[] zeroBytesOperator(int length) {
+        if (length >= ZERO_BYTES_OPERATORS.length()) {
+            return computeZeroBytesOperator(length);
+        }
+        int[] operator = ZERO_BYTES_OPERATORS.get(length);
+        if (operator == null) {
+            operator = computeZeroBytesOperator(length);
+            ZERO_BYTES_OPERATORS.set(length, operator);
+        }
+        return operator;
+    }
+
+    private static int[] computeZeroBytesOperator(int length) {
+        // Operator for one zero bit, squared three times for one zero byte
+        int[] power = new int[32];
+        power[0] = 0xedb88320;
+        for (int n = 1; n < 32; n++) {
+            power[n] = 1 << (n - 1);
+        }
+        for (int i = 0; i < 3; i++) {
+            power = gf2MatrixMultiply(power, power);
+        }
+
+        int[] result = new int[32];
+        for (int n = 0; n < 32; n++) {
+            result[n] = 1 << n;
+        }
+        for (int remaining = length; remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                result = gf2MatrixMultiply(power, result);
+            }
+            if (remaining > 1) {
+                power = gf2MatrixMultiply(power, power);
+            }
+        }
+        return result;
+    }
+
+    private static int gf2MatrixTimes(int[] matrix, int vector) {
+        int sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static int[] gf2MatrixMultiply(int[] left, int[] right) {
+        int[] product = new int[32];
+        for (int n = 0; n < 32; n++) {
+            product[n] = gf2MatrixTimes(left, right[n]);
+        }
+        return product;
+    }
+}
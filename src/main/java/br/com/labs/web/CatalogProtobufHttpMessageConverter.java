@@ -0,0 +1,62 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Write-only converter for {@code application/x-protobuf}. Support is decided
+ * on the declared generic type, so endpoints whose body has no message in the
+ * schema answer 406 instead of failing mid-response.
+ */
+public class CatalogProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public CatalogProtobufHttpMessageConverter() {
+        super(CatalogProtobufWriter.PROTOBUF, MediaType.parseMediaType("application/protobuf"));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Only the raw class is known here; the payload type is checked in canWrite
+        return clazz == ApiResponse.class || CatalogProtobufWriter.canWrite(ResolvableType.forClass(clazz));
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        return CatalogProtobufWriter.canWrite(resolvableType) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forInstance(value);
+        CatalogProtobufWriter.write(value, resolvableType, outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
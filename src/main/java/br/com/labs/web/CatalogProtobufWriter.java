@@ -0,0 +1,423 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.MusicFacets;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.exception.GlobalExceptionHandler;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the API DTOs straight into the protobuf wire format described by
+ * {@code static/schemas/catalog.proto}, without generated message classes or an
+ * intermediate copy of the data. Field numbers here must match the schema.
+ * <p>
+ * Nested messages are length-prefixed, so every message has a {@code size}
+ * method mirroring its {@code write} method; proto3 default values (0, "",
+ * false, absent) are not written.
+ */
+public final class CatalogProtobufWriter {
+
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private CatalogProtobufWriter() {
+    }
+
+    /**
+     * Whether {@code type} (the declared body type, including generics) has a
+     * representation in the schema.
+     */
+    public static boolean canWrite(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        if (raw == null) {
+            return false;
+        }
+        if (raw == GlobalExceptionHandler.ErrorResponse.class
+                || raw == GlobalExceptionHandler.ValidationErrorResponse.class) {
+            return true;
+        }
+        if (raw != ApiResponse.class) {
+            return false;
+        }
+
+        ResolvableType data = type.getGeneric(0);
+        Class<?> dataClass = data.resolve();
+        if (dataClass == PageResponse.class) {
+            Class<?> element = data.getGeneric(0).resolve();
+            return element == MusicResponse.class || element == AuthorResponse.class;
+        }
+        return dataClass == MusicResponse.class
+                || dataClass == MusicSearchResponse.class
+                || dataClass == AuthorResponse.class
+                || dataClass == AuthorWithMusicsResponse.class;
+    }
+
+    public static void write(Object value, ResolvableType type, OutputStream outputStream) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputStream);
+        if (value instanceof ApiResponse<?> response) {
+            writeApiResponse(out, response, type);
+        } else if (value instanceof GlobalExceptionHandler.ErrorResponse error) {
+            writeError(out, error.timestamp(), error.status(), error.error(), error.message(), error.path(),
+                    Map.of(), List.of());
+        } else if (value instanceof GlobalExceptionHandler.ValidationErrorResponse error) {
+            writeError(out, error.timestamp(), error.status(), error.error(), error.message(), error.path(),
+                    error.fieldErrors(), error.errors());
+        } else {
+            throw new IllegalArgumentException("No protobuf representation for " + value.getClass().getName());
+        }
+        out.flush();
+    }
+
+    // ApiResponse
+
+    private static void writeApiResponse(CodedOutputStream out, ApiResponse<?> response, ResolvableType type)
+            throws IOException {
+        Object data = response.data();
+        if (data instanceof MusicResponse music) {
+            writeNested(out, 1, sizeMusic(music));
+            writeMusic(out, music);
+        } else if (data instanceof AuthorResponse author) {
+            writeNested(out, 2, sizeAuthor(author));
+            writeAuthor(out, author);
+        } else if (data instanceof AuthorWithMusicsResponse author) {
+            writeNested(out, 3, sizeAuthorWithMusics(author));
+            writeAuthorWithMusics(out, author);
+        } else if (data instanceof PageResponse<?> page) {
+            // The element type decides the message, even for an empty page
+            boolean authors = type.getGeneric(0).getGeneric(0).resolve() == AuthorResponse.class;
+            writeNested(out, authors ? 5 : 4, sizePage(page));
+            writePage(out, page);
+        } else if (data instanceof MusicSearchResponse search) {
+            writeNested(out, 4, sizeMusicSearch(search));
+            writeMusicSearch(out, search);
+        }
+        writeString(out, 14, response.message());
+        writeTimestamp(out, 15, response.timestamp());
+    }
+
+    // ErrorResponse
+
+    private static void writeError(CodedOutputStream out, LocalDateTime timestamp, int status, String error,
+                                   String message, String path, Map<String, String> fieldErrors,
+                                   List<String> errors) throws IOException {
+        writeTimestamp(out, 1, timestamp);
+        writeInt32(out, 2, status);
+        writeString(out, 3, error);
+        writeString(out, 4, message);
+        writeString(out, 5, path);
+        if (fieldErrors != null) {
+            for (Map.Entry<String, String> entry : fieldErrors.entrySet()) {
+                writeNested(out, 6, sizeString(1, entry.getKey()) + sizeString(2, entry.getValue()));
+                writeString(out, 1, entry.getKey());
+                writeString(out, 2, entry.getValue());
+            }
+        }
+        if (errors != null) {
+            for (String item : errors) {
+                out.writeString(7, item);
+            }
+        }
+    }
+
+    // Music
+
+    private static int sizeMusic(MusicResponse music) {
+        int size = sizeInt64(1, music.id())
+                + sizeString(2, music.name())
+                + sizeInt32(3, music.durationSeconds())
+                + sizeString(4, music.genre())
+                + sizeTimestamp(6, music.createdAt())
+                + sizeTimestamp(7, music.updatedAt())
+                + sizeInt64(8, music.playCount());
+        if (music.author() != null) {
+            size += sizeNested(5, sizeAuthorSummary(music.author()));
+        }
+        return size;
+    }
+
+    private static void writeMusic(CodedOutputStream out, MusicResponse music) throws IOException {
+        writeInt64(out, 1, music.id());
+        writeString(out, 2, music.name());
+        writeInt32(out, 3, music.durationSeconds());
+        writeString(out, 4, music.genre());
+        if (music.author() != null) {
+            writeNested(out, 5, sizeAuthorSummary(music.author()));
+            writeInt64(out, 1, music.author().id());
+            writeString(out, 2, music.author().name());
+        }
+        writeTimestamp(out, 6, music.createdAt());
+        writeTimestamp(out, 7, music.updatedAt());
+        writeInt64(out, 8, music.playCount());
+    }
+
+    private static int sizeAuthorSummary(MusicResponse.AuthorSummary author) {
+        return sizeInt64(1, author.id()) + sizeString(2, author.name());
+    }
+
+    // Author
+
+    private static int sizeAuthor(AuthorResponse author) {
+        return sizeInt64(1, author.id())
+                + sizeString(2, author.name())
+                + sizeString(3, author.email())
+                + sizeInt32(4, author.musicCount())
+                + sizeTimestamp(5, author.createdAt())
+                + sizeTimestamp(6, author.updatedAt());
+    }
+
+    private static void writeAuthor(CodedOutputStream out, AuthorResponse author) throws IOException {
+        writeInt64(out, 1, author.id());
+        writeString(out, 2, author.name());
+        writeString(out, 3, author.email());
+        writeInt32(out, 4, author.musicCount());
+        writeTimestamp(out, 5, author.createdAt());
+        writeTimestamp(out, 6, author.updatedAt());
+    }
+
+    // AuthorWithMusics
+
+    private static int sizeAuthorWithMusics(AuthorWithMusicsResponse author) {
+        int size = sizeInt64(1, author.id())
+                + sizeString(2, author.name())
+                + sizeString(3, author.email())
+                + sizeTimestamp(5, author.createdAt())
+                + sizeTimestamp(6, author.updatedAt());
+        for (AuthorWithMusicsResponse.MusicSummary music : author.musics()) {
+            size += sizeNested(4, sizeMusicSummary(music));
+        }
+        if (author.musicsPage() != null) {
+            size += sizeNested(7, sizeMusicsPage(author.musicsPage()));
+        }
+        return size;
+    }
+
+    private static void writeAuthorWithMusics(CodedOutputStream out, AuthorWithMusicsResponse author)
+            throws IOException {
+        writeInt64(out, 1, author.id());
+        writeString(out, 2, author.name());
+        writeString(out, 3, author.email());
+        for (AuthorWithMusicsResponse.MusicSummary music : author.musics()) {
+            writeNested(out, 4, sizeMusicSummary(music));
+            writeInt64(out, 1, music.id());
+            writeString(out, 2, music.name());
+            writeInt32(out, 3, music.durationSeconds());
+            writeString(out, 4, music.genre());
+        }
+        writeTimestamp(out, 5, author.createdAt());
+        writeTimestamp(out, 6, author.updatedAt());
+        if (author.musicsPage() != null) {
+            AuthorWithMusicsResponse.MusicsPage page = author.musicsPage();
+            writeNested(out, 7, sizeMusicsPage(page));
+            writeInt32(out, 1, page.page());
+            writeInt32(out, 2, page.size());
+            writeInt64(out, 3, page.totalElements());
+            writeInt32(out, 4, page.totalPages());
+            writeBool(out, 5, page.first());
+            writeBool(out, 6, page.last());
+        }
+    }
+
+    private static int sizeMusicsPage(AuthorWithMusicsResponse.MusicsPage page) {
+        return sizeInt32(1, page.page())
+                + sizeInt32(2, page.size())
+                + sizeInt64(3, page.totalElements())
+                + sizeInt32(4, page.totalPages())
+                + sizeBool(5, page.first())
+                + sizeBool(6, page.last());
+    }
+
+    private static int sizeMusicSummary(AuthorWithMusicsResponse.MusicSummary music) {
+        return sizeInt64(1, music.id())
+                + sizeString(2, music.name())
+                + sizeInt32(3, music.durationSeconds())
+                + sizeString(4, music.genre());
+    }
+
+    // MusicPage / AuthorPage (same layout, different element message)
+
+    private static int sizePage(PageResponse<?> page) {
+        int size = sizeInt32(2, page.page())
+                + sizeInt32(3, page.size())
+                + sizeInt64(4, page.totalElements())
+                + sizeInt32(5, page.totalPages())
+                + sizeBool(6, page.first())
+                + sizeBool(7, page.last());
+        for (Object item : page.content()) {
+            size += sizeNested(1, item instanceof AuthorResponse author ? sizeAuthor(author)
+                    : sizeMusic((MusicResponse) item));
+        }
+        return size;
+    }
+
+    private static void writePage(CodedOutputStream out, PageResponse<?> page) throws IOException {
+        for (Object item : page.content()) {
+            if (item instanceof AuthorResponse author) {
+                writeNested(out, 1, sizeAuthor(author));
+                writeAuthor(out, author);
+            } else {
+                MusicResponse music = (MusicResponse) item;
+                writeNested(out, 1, sizeMusic(music));
+                writeMusic(out, music);
+            }
+        }
+        writeInt32(out, 2, page.page());
+        writeInt32(out, 3, page.size());
+        writeInt64(out, 4, page.totalElements());
+        writeInt32(out, 5, page.totalPages());
+        writeBool(out, 6, page.first());
+        writeBool(out, 7, page.last());
+    }
+
+    // MusicPage of a search, with MusicFacets
+
+    private static int sizeMusicSearch(MusicSearchResponse search) {
+        int size = sizePage(search.toPage());
+        if (search.facets() != null) {
+            size += sizeNested(8, sizeFacets(search.facets()));
+        }
+        return size;
+    }
+
+    private static void writeMusicSearch(CodedOutputStream out, MusicSearchResponse search) throws IOException {
+        writePage(out, search.toPage());
+        if (search.facets() != null) {
+            writeNested(out, 8, sizeFacets(search.facets()));
+            writeFacets(out, search.facets());
+        }
+    }
+
+    private static int sizeFacets(MusicFacets facets) {
+        int size = 0;
+        for (MusicFacets.GenreCount genre : facets.genres()) {
+            size += sizeNested(1, sizeGenreCount(genre));
+        }
+        for (MusicFacets.DurationRange range : facets.durations()) {
+            size += sizeNested(2, sizeDurationRange(range));
+        }
+        return size;
+    }
+
+    private static void writeFacets(CodedOutputStream out, MusicFacets facets) throws IOException {
+        for (MusicFacets.GenreCount genre : facets.genres()) {
+            writeNested(out, 1, sizeGenreCount(genre));
+            writeString(out, 1, genre.genre());
+            writeInt64(out, 2, genre.count());
+        }
+        for (MusicFacets.DurationRange range : facets.durations()) {
+            writeNested(out, 2, sizeDurationRange(range));
+            writeInt32(out, 1, range.minSeconds());
+            // optional field: present whenever set, even if 0
+            if (range.maxSeconds() != null) {
+                out.writeInt32(2, range.maxSeconds());
+            }
+            writeInt64(out, 3, range.count());
+        }
+    }
+
+    private static int sizeGenreCount(MusicFacets.GenreCount genre) {
+        return sizeString(1, genre.genre()) + sizeInt64(2, genre.count());
+    }
+
+    private static int sizeDurationRange(MusicFacets.DurationRange range) {
+        return sizeInt32(1, range.minSeconds())
+                + (range.maxSeconds() != null ? CodedOutputStream.computeInt32Size(2, range.maxSeconds()) : 0)
+                + sizeInt64(3, range.count());
+    }
+
+    // google.protobuf.Timestamp
+
+    private static int sizeTimestamp(int field, LocalDateTime value) {
+        if (value == null) {
+            return 0;
+        }
+        Instant instant = value.atZone(ZONE).toInstant();
+        return sizeNested(field, sizeInt64(1, instant.getEpochSecond()) + sizeInt32(2, instant.getNano()));
+    }
+
+    private static void writeTimestamp(CodedOutputStream out, int field, LocalDateTime value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        Instant instant = value.atZone(ZONE).toInstant();
+        writeNested(out, field, sizeInt64(1, instant.getEpochSecond()) + sizeInt32(2, instant.getNano()));
+        writeInt64(out, 1, instant.getEpochSecond());
+        writeInt32(out, 2, instant.getNano());
+    }
+
+    // Scalars, skipping proto3 defaults
+
+    private static int sizeNested(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeNested(CodedOutputStream out, int field, int size) throws IOException {
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+    }
+
+    private static int sizeString(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int sizeInt64(int field, Long value) {
+        return value == null || value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static int sizeInt64(int field, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(field, value);
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream out, int field, long value) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static int sizeInt32(int field, Integer value) {
+        return value == null || value == 0 ? 0 : CodedOutputStream.computeInt32Size(field, value);
+    }
+
+    private static void writeInt32(CodedOutputStream out, int field, Integer value) throws IOException {
+        if (value != null && value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static int sizeBool(int field, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(field, true) : 0;
+    }
+
+    private static void writeBool(CodedOutputStream out, int field, boolean value) throws IOException {
+        if (value) {
+            out.writeBool(field, true);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.labs.web;
+
+/**
+ * Cost classes used by admission control. Each group has its own adaptive
+ * concurrency limit and a share of the pod-wide capacity; cheaper groups get a
+ * larger share, so they keep being served after the expensive ones are shed.
+ */
+public enum EndpointGroup {
+    CACHED_READ,
+    READ,
+    SEARCH,
+    WRITE,
+    // Plays: counted in memory, cheaper than any read
+    PLAY
+}
@@ -0,0 +1,35 @@
+package br.com.labs.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link EndpointGroup} of a handler: its {@link AdmissionGroup}, or that of
+ * its controller, falling back to {@link EndpointGroup#READ} for GET/HEAD and
+ * {@link EndpointGroup#WRITE} for everything else.
+ */
+final class EndpointGroupResolver {
+
+    private final Map<Method, Optional<EndpointGroup>> annotatedGroups = new ConcurrentHashMap<>();
+
+    EndpointGroup resolve(HttpServletRequest request, HandlerMethod handlerMethod) {
+        return annotatedGroups.computeIfAbsent(handlerMethod.getMethod(), method -> {
+                    AdmissionGroup group = AnnotatedElementUtils.findMergedAnnotation(method, AdmissionGroup.class);
+                    if (group == null) {
+                        group = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(),
+                                AdmissionGroup.class);
+                    }
+                    return Optional.ofNullable(group).map(AdmissionGroup::value);
+                })
+                .orElseGet(() -> {
+                    String method = request.getMethod();
+                    return "GET".equals(method) || "HEAD".equals(method) ? EndpointGroup.READ : EndpointGroup.WRITE;
+                });
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.labs.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adds {@code Cache-Control}, {@code Surrogate-Key} and {@code Vary: Accept} to
+ * successful responses of handlers annotated with {@link HttpCachePolicy}. Runs just before the body
+ * is written, so the surrogate keys reflect exactly what is being returned.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.http-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HttpCacheHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpCacheHeadersAdvice.class);
+
+    public static final String SURROGATE_KEY = "Surrogate-Key";
+
+    private final Map<String, String> cacheControlByPolicy;
+
+    public HttpCacheHeadersAdvice(HttpCacheProperties properties) {
+        this.cacheControlByPolicy = properties.policies().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().toHeaderValue()));
+        cacheControlByPolicy.forEach((name, value) -> log.info("HTTP cache policy {}: {}", name, value));
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(HttpCachePolicy.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (response instanceof ServletServerHttpResponse servletResponse) {
+            if (servletResponse.getServletResponse().getStatus() / 100 != 2) {
+                return body;
+            }
+            // Shared caches must not hand one format's body to a client that negotiated another
+            RepresentationFormat.varyOnAccept(servletResponse.getServletResponse());
+        }
+
+        apply(returnType.getMethodAnnotation(HttpCachePolicy.class), SurrogateKeys.forBody(body), response.getHeaders());
+        return body;
+    }
+
+    /**
+     * Sets the headers for a body rendered under {@code policy}; also used by
+     * {@link ResponseBodyCache}, whose responses bypass this advice.
+     */
+    public void apply(HttpCachePolicy policy, Set<String> surrogateKeys, HttpHeaders headers) {
+        headers.setCacheControl(cacheControl(policy));
+
+        Set<String> keys = new LinkedHashSet<>(surrogateKeys);
+        Collections.addAll(keys, policy.surrogateKeys());
+        if (!keys.isEmpty()) {
+            headers.set(SURROGATE_KEY, String.join(" ", keys));
+        }
+    }
+
+    public String cacheControl(HttpCachePolicy policy) {
+        String cacheControl = cacheControlByPolicy.get(policy.value());
+        if (cacheControl == null) {
+            throw new IllegalStateException("Missing app.http-cache.policies entry: " + policy.value());
+        }
+        return cacheControl;
+    }
+
+    /**
+     * The policy of the handler serving {@code request}, or {@code null}.
+     */
+    public static HttpCachePolicy policyOf(WebRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(HttpCachePolicy.class)
+                : null;
+    }
+}
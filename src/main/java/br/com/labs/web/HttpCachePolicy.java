@@ -0,0 +1,26 @@
+package br.com.labs.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the {@code app.http-cache.policies} entry whose {@code Cache-Control}
+ * is sent with successful responses of the annotated handler. Handlers without
+ * the annotation, and error responses, get no caching headers.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HttpCachePolicy {
+
+    String value();
+
+    /**
+     * Keys added to every response of the handler, e.g. the collection key of a
+     * list endpoint, so that even an empty page is purged when items are added.
+     */
+    String[] surrogateKeys() default {};
+}
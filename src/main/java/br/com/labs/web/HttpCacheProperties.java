@@ -0,0 +1,56 @@
+package br.com.labs.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.http-cache")
+public record HttpCacheProperties(
+        boolean enabled,
+        Map<String, Policy> policies,
+        Purge purge
+) {
+
+    /**
+     * {@code max-age} applies to browsers, {@code s-maxage} to shared caches
+     * (CDN/edge), which are purged by surrogate key and can keep entries longer.
+     */
+    public record Policy(
+            Duration maxAge,
+            Duration sMaxAge,
+            Duration staleWhileRevalidate,
+            Duration staleIfError
+    ) {
+        public String toHeaderValue() {
+            CacheControl cacheControl = CacheControl.maxAge(maxAge != null ? maxAge : Duration.ZERO).cachePublic();
+            if (sMaxAge != null) {
+                cacheControl = cacheControl.sMaxAge(sMaxAge);
+            }
+            if (staleWhileRevalidate != null) {
+                cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+            }
+            if (staleIfError != null) {
+                cacheControl = cacheControl.staleIfError(staleIfError);
+            }
+            return cacheControl.getHeaderValue();
+        }
+    }
+
+    /**
+     * @param type   {@code local} records purges in memory; {@code http} calls {@code url}
+     * @param method HTTP method of the purge call, e.g. {@code POST} (Fastly API) or {@code PURGE} (Varnish)
+     */
+    public record Purge(
+            String type,
+            URI url,
+            String method,
+            String keyHeader,
+            String authHeader,
+            String authToken,
+            Duration timeout
+    ) {
+    }
+}
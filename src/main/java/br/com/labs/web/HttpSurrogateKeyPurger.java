@@ -0,0 +1,63 @@
+package br.com.labs.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Collection;
+
+/**
+ * Sends one purge request per change, listing the keys in a header, which is
+ * how Fastly ({@code POST /service/{id}/purge} with {@code Surrogate-Key}) and
+ * Varnish xkey ({@code PURGE} with {@code xkey-purge}) accept batch purges.
+ */
+public class HttpSurrogateKeyPurger implements SurrogateKeyPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpSurrogateKeyPurger.class);
+
+    private final RestClient restClient;
+    private final HttpCacheProperties.Purge settings;
+    private final Counter purged;
+    private final Counter failures;
+
+    public HttpSurrogateKeyPurger(RestClient.Builder restClientBuilder, HttpCacheProperties.Purge settings,
+                                  MeterRegistry meterRegistry) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(settings.timeout());
+        requestFactory.setReadTimeout(settings.timeout());
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.settings = settings;
+        this.purged = Counter.builder("http.cache.purges")
+                .description("Surrogate-key purge requests accepted by the CDN")
+                .register(meterRegistry);
+        this.failures = Counter.builder("http.cache.purge.failures")
+                .description("Surrogate-key purge requests that failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void purge(Collection<String> keys) {
+        try {
+            restClient.method(HttpMethod.valueOf(settings.method()))
+                    .uri(settings.url())
+                    .headers(headers -> {
+                        headers.set(settings.keyHeader(), String.join(" ", keys));
+                        if (settings.authHeader() != null && settings.authToken() != null) {
+                            headers.set(settings.authHeader(), settings.authToken());
+                        }
+                    })
+                    .retrieve()
+                    .toBodilessEntity();
+            purged.increment();
+            log.debug("Purged surrogate keys: {}", keys);
+        } catch (RestClientException ex) {
+            failures.increment();
+            log.warn("Failed to purge surrogate keys {}: {}", keys, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package br.com.labs.web;
+
+import br.com.labs.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code Idempotency-Key} support for POST endpoints: the first response to a
+ * key is stored in Redis for {@code app.idempotency.ttl} and replayed, byte for
+ * byte, to every retry with the same key, without reaching the controller.
+ * <p>
+ * The first request claims the key with an in-flight marker that expires after
+ * {@code app.idempotency.in-flight-timeout} and carries a token of its own; the
+ * response is stored, or the claim released, only while the marker still
+ * carries that token, so a request outliving its claim never overwrites the
+ * response or marker of the request that claimed the key after it. Duplicates arriving meanwhile, on
+ * any pod, poll Redis for up to {@code app.idempotency.wait-timeout} and get the
+ * original's response; if it is still running by then they get a 409 with
+ * {@code Retry-After}. A key reused with a different body gets a 422.
+ * <p>
+ * Server errors and transient rejections (408, 429) are not stored, so a retry
+ * runs again. Without Redis, requests run as if no key had been sent.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private static final String KEY_PREFIX = "idempotency::";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMillis(200);
+
+    /**
+     * KEYS[1] idempotency key; ARGV[1] claim token, ARGV[2] response, ARGV[3]
+     * expiry (millis). Stores the response if the key is still claimed with
+     * the token.
+     */
+    private static final RedisScript<Long> STORE_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and cjson.decode(current)['claim'] == ARGV[1] then
+              redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * KEYS[1] idempotency key; ARGV[1] claim token. Deletes the key if it is
+     * still claimed with the token.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and cjson.decode(current)['claim'] == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry, Duration ttl, Duration inFlightTimeout,
+                             Duration waitTimeout) {
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(connectionFactory);
+        this.redisTemplate.setKeySerializer(RedisSerializer.string());
+        this.redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        this.redisTemplate.afterPropertiesSet();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = KEY_PREFIX + request.getRequestURI() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest.body);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        Duration pollInterval = Duration.ofMillis(10);
+        boolean waited = false;
+        try {
+            while (true) {
+                String claim = claim(key, fingerprint);
+                if (claim != null) {
+                    execute(cachedRequest, response, chain, key, fingerprint, claim);
+                    return;
+                }
+                StoredResponse stored = read(key);
+                if (stored != null && !stored.fingerprint().equals(fingerprint)) {
+                    count("mismatch");
+                    writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            IDEMPOTENCY_KEY + " was already used with a different request body");
+                    return;
+                }
+                if (stored != null && !stored.inFlight()) {
+                    count(waited ? "waited" : "replayed");
+                    replay(stored, response);
+                    return;
+                }
+                // In flight elsewhere, or gone between claim and read: look again shortly
+                if (System.nanoTime() >= deadline) {
+                    count("conflict");
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    writeError(request, response, HttpStatus.CONFLICT,
+                            "A request with this " + IDEMPOTENCY_KEY + " is still in progress");
+                    return;
+                }
+                waited = true;
+                Thread.sleep(pollInterval.toMillis());
+                pollInterval = min(pollInterval.multipliedBy(2), MAX_POLL_INTERVAL);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for the original request", ex);
+        } catch (RedisUnavailableException ex) {
+            log.warn("Idempotency store unavailable, running the request without it: {}", ex.getMessage());
+            count("unavailable");
+            chain.doFilter(cachedRequest, response);
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain chain, String key,
+                         String fingerprint, String claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, captured);
+            int status = captured.getStatus();
+            if (status < 500 && status != HttpStatus.REQUEST_TIMEOUT.value()
+                    && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store(key, claim, new StoredResponse(fingerprint, status, captured.getContentType(),
+                        captured.getHeader(HttpHeaders.LOCATION), captured.getContentAsByteArray(), null));
+                stored = true;
+            }
+            count("executed");
+        } finally {
+            if (!stored) {
+                release(key, claim);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * @return the token of the claim, or {@code null} when the key is taken
+     */
+    private String claim(String key, String fingerprint) {
+        try {
+            String claim = UUID.randomUUID().toString();
+            byte[] marker = objectMapper.writeValueAsBytes(StoredResponse.inFlight(fingerprint, claim));
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, marker, inFlightTimeout))
+                    ? claim
+                    : null;
+        } catch (IOException | RuntimeException ex) {
+            throw new RedisUnavailableException(ex);
+        }
+    }
+
+    private StoredResponse read(String key) {
+        try {
+            byte[] bytes = redisTemplate.opsForValue().get(key);
+            return bytes != null ? objectMapper.readValue(bytes, StoredResponse.class) : null;
+        } catch (IOException | RuntimeException ex) {
+            throw new RedisUnavailableException(ex);
+        }
+    }
+
+    private void store(String key, String claim, StoredResponse stored) {
+        try {
+            Long result = redisTemplate.execute(STORE_SCRIPT, List.of(key), bytes(claim),
+                    objectMapper.writeValueAsBytes(stored), bytes(String.valueOf(ttl.toMillis())));
+            if (!Long.valueOf(1).equals(result)) {
+                log.warn("Claim on idempotency key {} expired before its response was stored", key);
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Retries will run again once the in-flight marker expires
+            log.warn("Failed to store the response for idempotency key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private void release(String key, String claim) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), bytes(claim));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to release idempotency key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+                LocalDateTime.now(), status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    private void count(String result) {
+        Counter.builder("http.idempotency")
+                .description("POST requests carrying an Idempotency-Key, by outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    /**
+     * A response as stored under its key; {@code status} 0 marks a request
+     * still in flight, whose {@code claim} token is checked before its
+     * response is stored or its marker released.
+     */
+    record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body,
+                          String claim) {
+
+        static StoredResponse inFlight(String fingerprint, String claim) {
+            return new StoredResponse(fingerprint, 0, null, null, null, claim);
+        }
+
+        boolean inFlight() {
+            return status == 0;
+        }
+    }
+
+    private static final class RedisUnavailableException extends RuntimeException {
+
+        RedisUnavailableException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * The request with its body read up front, so it can be fingerprinted and
+     * still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory, so it is available, and all read, right away
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
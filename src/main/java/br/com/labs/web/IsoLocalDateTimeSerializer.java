@@ -0,0 +1,105 @@
+package br.com.labs.web;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes {@code LocalDateTime} exactly as {@link LocalDateTimeSerializer} does
+ * with {@code ISO_LOCAL_DATE_TIME} ({@code 2024-03-14T09:26:53.5897}: seconds
+ * always present, fraction without trailing zeros), but straight from the date
+ * fields into a {@code char[]}, with no {@code DateTimeFormatter} and no
+ * intermediate {@code String}.
+ * <p>
+ * Timestamps as numbers, {@code @JsonFormat} overrides and years outside
+ * 0000-9999 are delegated to {@link LocalDateTimeSerializer}.
+ */
+public final class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> implements ContextualSerializer {
+
+    public static final IsoLocalDateTimeSerializer INSTANCE = new IsoLocalDateTimeSerializer();
+
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int MAX_LENGTH = 29;
+
+    private IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || value.getYear() < 0 || value.getYear() > 9999) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, generator, provider);
+            return;
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        generator.writeString(buffer, 0, format(value, buffer));
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+        if (format != null && (format.hasPattern() || format.hasShape() || format.hasLocale()
+                || format.hasTimeZone())) {
+            return LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of characters written to {@code buffer}
+     */
+    static int format(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        twoDigits(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        twoDigits(buffer, 8, value.getDayOfMonth());
+        buffer[10] = 'T';
+        twoDigits(buffer, 11, value.getHour());
+        buffer[13] = ':';
+        twoDigits(buffer, 14, value.getMinute());
+        buffer[16] = ':';
+        twoDigits(buffer, 17, value.getSecond());
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        int digits = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        buffer[19] = '.';
+        for (int i = 19 + digits; i > 19; i--) {
+            buffer[i] = digit(nano % 10);
+            nano /= 10;
+        }
+        return 20 + digits;
+    }
+
+    private static void twoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
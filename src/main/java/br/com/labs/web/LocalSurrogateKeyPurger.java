@@ -0,0 +1,36 @@
+package br.com.labs.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stand-in for a CDN: logs purges and keeps the most recent ones in memory so
+ * tests and local runs can assert what would have been invalidated.
+ */
+public class LocalSurrogateKeyPurger implements SurrogateKeyPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSurrogateKeyPurger.class);
+
+    private static final int MAX_RECORDED = 100;
+
+    private final Deque<Set<String>> purges = new ArrayDeque<>();
+
+    @Override
+    public synchronized void purge(Collection<String> keys) {
+        log.debug("Purging surrogate keys (local): {}", keys);
+        if (purges.size() == MAX_RECORDED) {
+            purges.removeFirst();
+        }
+        purges.addLast(Set.copyOf(keys));
+    }
+
+    public synchronized List<Set<String>> getPurges() {
+        return List.copyOf(purges);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.labs.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON converter that reuses one {@link ObjectWriter} per declared body type.
+ * {@code writerFor(type)} resolves the root serializer once, instead of on
+ * every response as the plain {@code objectMapper.writer()} used by Spring does.
+ * Writers carrying a JSON view, filters or an SSE pretty printer are left as is.
+ */
+public class PrefetchingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public PrefetchingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+        ObjectMapper objectMapper = getObjectMapper();
+        if (javaType == null || writer.getConfig() != objectMapper.getSerializationConfig()
+                || (contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM))) {
+            return writer;
+        }
+        return writers.computeIfAbsent(javaType, objectMapper::writerFor);
+    }
+}
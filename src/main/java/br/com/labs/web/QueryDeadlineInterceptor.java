@@ -0,0 +1,134 @@
+package br.com.labs.web;
+
+import br.com.labs.config.QueryDeadline;
+import br.com.labs.exception.BusinessException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the {@link QueryDeadline} of each request before its handler runs: the
+ * statement timeout of its endpoint group ({@code app.query-timeout.groups}),
+ * or the caller's {@code X-Request-Deadline} when that comes first.
+ * <p>
+ * The header carries the time, in epoch milliseconds, at which the caller (a
+ * gateway, typically) stops waiting, so queries are cancelled once nobody is
+ * left to read their results. A deadline already past leaves no time for any
+ * statement. Pods and callers are assumed to keep their clocks in sync.
+ * <p>
+ * Handlers that go async ({@code Callable}, {@code StreamingResponseBody})
+ * take the deadline to the thread that finishes them, and when the container
+ * reports an error or a timeout on the async request (the client went away)
+ * the deadline is {@linkplain QueryDeadline#abort() aborted}, cancelling the
+ * statements still running. A synchronous handler learns that its client is
+ * gone only when it writes the response, after its queries; those rely on the
+ * group timeout and {@code X-Request-Deadline} alone.
+ */
+public class QueryDeadlineInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+    private static final String DEADLINE_ATTRIBUTE = QueryDeadlineInterceptor.class.getName() + ".deadline";
+
+    private final QueryTimeoutProperties properties;
+    private final EndpointGroupResolver groupResolver = new EndpointGroupResolver();
+
+    public QueryDeadlineInterceptor(QueryTimeoutProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        EndpointGroup group = groupResolver.resolve(request, handlerMethod);
+        long timeoutMillis = properties.groups().getOrDefault(group, properties.defaultTimeout()).toMillis();
+        long remainingMillis = timeoutMillis;
+        boolean clientDeadline = false;
+        String header = request.getHeader(DEADLINE_HEADER);
+        if (header != null) {
+            long callerRemainingMillis = parseDeadline(header) - System.currentTimeMillis();
+            if (callerRemainingMillis < timeoutMillis) {
+                remainingMillis = Math.max(0, callerRemainingMillis);
+                clientDeadline = true;
+            }
+        }
+        QueryDeadline deadline = new QueryDeadline(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis),
+                group.name().toLowerCase(), clientDeadline);
+        QueryDeadline.set(deadline);
+        request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // The rest of the request runs on other threads; don't leave the deadline on this one
+        QueryDeadline.clear();
+        if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof QueryDeadline deadline && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AbortOnError(deadline));
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(DEADLINE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof QueryDeadline deadline) {
+            QueryDeadline.set(deadline);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryDeadline.clear();
+    }
+
+    private record AbortOnError(QueryDeadline deadline) implements AsyncListener {
+
+        @Override
+        public void onError(AsyncEvent event) {
+            deadline.abort();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            deadline.abort();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when the request goes async again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static long parseDeadline(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException ex) {
+            throw new BusinessException(DEADLINE_HEADER + " must be a time in epoch milliseconds");
+        }
+    }
+}
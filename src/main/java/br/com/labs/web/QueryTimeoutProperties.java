@@ -0,0 +1,23 @@
+package br.com.labs.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param defaultTimeout statement timeout of groups missing from {@code groups}
+ * @param groups         time the database work of a request of each group may take
+ */
+@ConfigurationProperties(prefix = "app.query-timeout")
+public record QueryTimeoutProperties(
+        boolean enabled,
+        Duration defaultTimeout,
+        Map<EndpointGroup, Duration> groups
+) {
+
+    public QueryTimeoutProperties {
+        defaultTimeout = defaultTimeout != null ? defaultTimeout : Duration.ofSeconds(5);
+        groups = groups != null ? groups : Map.of();
+    }
+}
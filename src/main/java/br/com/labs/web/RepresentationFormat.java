@@ -0,0 +1,85 @@
+package br.com.labs.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The representations a catalog resource can be written in, in the order the
+ * message converters are tried (see
+ * {@link br.com.labs.config.ContentNegotiationConfig}). Lets validators and
+ * cached bodies be told apart per representation before the body is rendered.
+ */
+public enum RepresentationFormat {
+
+    JSON("json", MediaType.APPLICATION_JSON, new MediaType("application", "*+json")),
+    SMILE("smile", new MediaType("application", "x-jackson-smile"),
+            new MediaType("application", "*+x-jackson-smile")),
+    CBOR("cbor", MediaType.APPLICATION_CBOR),
+    PROTOBUF("protobuf", CatalogProtobufWriter.PROTOBUF, new MediaType("application", "protobuf"));
+
+    private static final Comparator<MediaType> PREFERENCE = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparingInt(mediaType -> mediaType.isWildcardType() ? 2 : mediaType.isWildcardSubtype() ? 1 : 0);
+
+    private final String suffix;
+    private final List<MediaType> mediaTypes;
+
+    RepresentationFormat(String suffix, MediaType... mediaTypes) {
+        this.suffix = suffix;
+        this.mediaTypes = List.of(mediaTypes);
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    /**
+     * The format the converters pick for {@code accept}: the first one
+     * compatible with the most preferred entry (by quality, then specificity);
+     * JSON without an {@code Accept} header, {@code null} when no entry can be
+     * satisfied and the request ends in a 406.
+     */
+    public static RepresentationFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        accepted.sort(PREFERENCE);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() <= 0) {
+                continue;
+            }
+            for (RepresentationFormat format : values()) {
+                if (format.mediaTypes.stream().anyMatch(mediaType::isCompatibleWith)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds {@code Vary: Accept} to {@code response} unless it varies on
+     * {@code Accept} already, so shared caches keep one entry per format.
+     */
+    public static void varyOnAccept(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String header : vary.split(",")) {
+                if (header.trim().equalsIgnoreCase(HttpHeaders.ACCEPT) || header.trim().equals("*")) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+}
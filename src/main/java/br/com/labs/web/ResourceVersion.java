@@ -0,0 +1,16 @@
+package br.com.labs.web;
+
+/**
+ * Validators for a resource representation: a strong ETag and the
+ * {@code Last-Modified} time in epoch milliseconds.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * The validators of this version written as {@code format}. The ETag
+     * names the format, so a body in one format never validates another.
+     */
+    public ResourceVersion in(RepresentationFormat format) {
+        return new ResourceVersion(etag.substring(0, etag.length() - 1) + "-" + format.suffix() + "\"", lastModified);
+    }
+}
@@ -0,0 +1,300 @@
+package br.com.labs.web;
+
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.event.PlayCountsWrittenEvent;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+import br.com.labs.repository.MusicRepository;
+import br.com.labs.repository.PlayedMusic;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Version counters behind the ETag / Last-Modified validators, kept in Redis so
+ * a conditional GET is answered without loading or serialising the resource.
+ * Every committed change bumps the counters of the representations it affects:
+ * the music itself, its author (music count and author-with-musics) and the
+ * catalog-wide collection version used by list endpoints.
+ * <p>
+ * Written play counts, which music representations carry, bump the same
+ * counters, but at most once per {@code app.plays.version-interval}: the
+ * musics, authors and catalog played since the last bump are collected and
+ * bumped together, so a popular music does not invalidate every list once a
+ * second.
+ * <p>
+ * All validators include an epoch that is created on first use. If Redis loses
+ * the counters, or a bump fails, the epoch is replaced and every ETag handed out
+ * before becomes invalid; a stale counter can never produce a false 304.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResourceVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceVersions.class);
+
+    public static final String EPOCH_KEY = "etag:epoch";
+    public static final String CATALOG_KEY = "etag:catalog";
+
+    /**
+     * KEYS[1] epoch, KEYS[2] resource hash; ARGV[1] now (millis), used as the
+     * epoch when none exists. Returns {epoch, version, lastModified}.
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> LOOKUP_SCRIPT = RedisScript.of("""
+            local epoch = redis.call('GET', KEYS[1])
+            if not epoch then
+              redis.call('SET', KEYS[1], ARGV[1], 'NX')
+              epoch = redis.call('GET', KEYS[1])
+            end
+            local fields = redis.call('HMGET', KEYS[2], 'v', 't')
+            return {epoch, fields[1] or '0', fields[2] or epoch}
+            """, List.class);
+
+    /**
+     * KEYS[1] resource hash; ARGV[1] change time (millis). One key per call, so
+     * a bump never spans hash slots and never holds Redis for more than one key.
+     */
+    private static final byte[] BUMP_SCRIPT = """
+            redis.call('HINCRBY', KEYS[1], 'v', 1)
+            redis.call('HSET', KEYS[1], 't', ARGV[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // Bumps sent per pipeline round trip; an author rename touches every one of the author's musics
+    private static final int BUMP_BATCH_SIZE = 100;
+
+    private static final String VALIDATORS_ATTRIBUTE = ResourceVersions.class.getName() + ".validators";
+
+    private final StringRedisTemplate redisTemplate;
+    private final MusicRepository musicRepository;
+    private final ObjectProvider<HttpCacheHeadersAdvice> httpCacheHeaders;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean epochInvalid = new AtomicBoolean();
+    private final Set<String> playedKeys = ConcurrentHashMap.newKeySet();
+
+    public ResourceVersions(StringRedisTemplate redisTemplate,
+                            MusicRepository musicRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectProvider<HttpCacheHeadersAdvice> httpCacheHeaders) {
+        this.redisTemplate = redisTemplate;
+        this.musicRepository = musicRepository;
+        this.httpCacheHeaders = httpCacheHeaders;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public static String authorKey(Long authorId) {
+        return "etag:author:" + authorId;
+    }
+
+    public static String musicKey(Long musicId) {
+        return "etag:music:" + musicId;
+    }
+
+    /**
+     * Builds the validators from a {@link #LOOKUP_SCRIPT} result; {@code prefix}
+     * keeps ETags of different resource types apart.
+     */
+    public static ResourceVersion fromLookup(String prefix, List<?> result) {
+        String epoch = String.valueOf(result.get(0));
+        String version = String.valueOf(result.get(1));
+        long lastModified = Long.parseLong(String.valueOf(result.get(2)));
+        return new ResourceVersion("\"" + prefix + "-" + epoch + "-" + version + "\"", lastModified);
+    }
+
+    /**
+     * @return the validators, or {@code null} when Redis is unavailable and the
+     * request should be served without conditional handling
+     */
+    public ResourceVersion author(Long authorId) {
+        return lookup("a" + authorId, authorKey(authorId));
+    }
+
+    public ResourceVersion music(Long musicId) {
+        return lookup("m" + musicId, musicKey(musicId));
+    }
+
+    public ResourceVersion catalog() {
+        return lookup("c", CATALOG_KEY);
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} / {@code If-Modified-Since} against the
+     * validators of the representation negotiated by {@code Accept}, and adds
+     * {@code Vary: Accept}. A {@code true} result means a 304 has been
+     * prepared, with the handler's {@link HttpCachePolicy} so caches keep their
+     * freshness policy, and the handler should return without a body.
+     * Otherwise the validators are held back until the body is written (see
+     * {@link #addValidators}), so an error response never carries them.
+     */
+    public boolean isNotModified(WebRequest request, ResourceVersion version) {
+        HttpCachePolicy policy = HttpCacheHeadersAdvice.policyOf(request);
+        HttpCacheHeadersAdvice cacheHeaders = httpCacheHeaders.getIfAvailable();
+        return isNotModified(request, version,
+                policy != null && cacheHeaders != null ? cacheHeaders.cacheControl(policy) : null);
+    }
+
+    static boolean isNotModified(WebRequest request, ResourceVersion version, String cacheControl) {
+        if (version == null) {
+            return false;
+        }
+        RepresentationFormat format = RepresentationFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        // Without an acceptable format the request ends in a 406, whatever the validators say
+        ResourceVersion representation = version.in(format != null ? format : RepresentationFormat.JSON);
+        if (!(request instanceof NativeWebRequest nativeRequest)
+                || nativeRequest.getNativeRequest(HttpServletRequest.class) == null
+                || nativeRequest.getNativeResponse(HttpServletResponse.class) == null) {
+            return request.checkNotModified(representation.etag(), representation.lastModified());
+        }
+        HttpServletRequest servletRequest = nativeRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+        RepresentationFormat.varyOnAccept(response);
+
+        // Without a response the check leaves the headers alone; they are only set once a 304 is certain
+        if (!new ServletWebRequest(servletRequest).checkNotModified(representation.etag(),
+                representation.lastModified())) {
+            servletRequest.setAttribute(VALIDATORS_ATTRIBUTE, representation);
+            return false;
+        }
+        request.checkNotModified(representation.etag(), representation.lastModified());
+        if (cacheControl != null && response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return true;
+    }
+
+    /**
+     * Sets the ETag and Last-Modified held back by {@link #isNotModified} on a
+     * successful response about to be written.
+     */
+    public static void addValidators(HttpServletRequest request, HttpServletResponse response) {
+        if (!(request.getAttribute(VALIDATORS_ATTRIBUTE) instanceof ResourceVersion version)
+                || response.getStatus() / 100 != 2 || response.isCommitted()) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, version.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.lastModified() / 1000 * 1000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(CatalogChangeEvent event) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(CATALOG_KEY);
+        if (event.authorId() != null) {
+            keys.add(authorKey(event.authorId()));
+        }
+        if (event.previousAuthorId() != null) {
+            keys.add(authorKey(event.previousAuthorId()));
+        }
+
+        try {
+            if (event.entityType() == CatalogEntityType.MUSIC) {
+                keys.add(musicKey(event.entityId()));
+            } else if (event.operation() == ChangeOperation.UPDATED) {
+                // Music representations embed the author's name
+                List<Long> musicIds = readOnlyTransaction.execute(status ->
+                        musicRepository.findIdsByAuthorId(event.entityId()));
+                if (musicIds != null) {
+                    musicIds.forEach(musicId -> keys.add(musicKey(musicId)));
+                }
+            }
+
+            bump(new ArrayList<>(keys), String.valueOf(event.occurredAt().toEpochMilli()));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to bump resource versions for {} {} {}, invalidating all ETags: {}",
+                    event.entityType(), event.operation(), event.entityId(), ex.getMessage());
+            epochInvalid.set(true);
+        }
+    }
+
+    @EventListener
+    public void onPlayCountsWritten(PlayCountsWrittenEvent event) {
+        for (PlayedMusic music : event.musics()) {
+            playedKeys.add(musicKey(music.musicId()));
+            playedKeys.add(authorKey(music.authorId()));
+        }
+        playedKeys.add(CATALOG_KEY);
+    }
+
+    @Scheduled(fixedDelayString = "${app.plays.version-interval:30s}",
+            initialDelayString = "${app.plays.version-interval:30s}")
+    public void bumpPlayed() {
+        List<String> keys = new ArrayList<>();
+        for (String key : playedKeys) {
+            if (playedKeys.remove(key)) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            bump(keys, String.valueOf(Instant.now().toEpochMilli()));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to bump resource versions of {} played resources, invalidating all ETags: {}",
+                    keys.size(), ex.getMessage());
+            epochInvalid.set(true);
+        }
+    }
+
+    private void bump(List<String> keys, String changedAt) {
+        byte[] changedAtBytes = changedAt.getBytes(StandardCharsets.UTF_8);
+        for (int from = 0; from < keys.size(); from += BUMP_BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + BUMP_BATCH_SIZE));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : batch) {
+                    connection.scriptingCommands().eval(BUMP_SCRIPT, ReturnType.INTEGER, 1,
+                            key.getBytes(StandardCharsets.UTF_8), changedAtBytes);
+                }
+                return null;
+            });
+        }
+    }
+
+    private ResourceVersion lookup(String prefix, String key) {
+        try {
+            if (epochInvalid.get()) {
+                redisTemplate.delete(EPOCH_KEY);
+                epochInvalid.set(false);
+                log.info("Resource version epoch reset after a failed bump");
+            }
+
+            List<?> result = redisTemplate.execute(LOOKUP_SCRIPT, List.of(EPOCH_KEY, key),
+                    String.valueOf(Instant.now().toEpochMilli()));
+            return result == null ? null : fromLookup(prefix, result);
+        } catch (RuntimeException ex) {
+            log.warn("Resource versions unavailable, skipping conditional request handling: {}", ex.getMessage());
+            return null;
+        }
+    }
+}
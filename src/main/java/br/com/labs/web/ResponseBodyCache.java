@@ -0,0 +1,232 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Caches the encoded JSON body of hot entity GETs and writes it straight to the
+ * response: a hit does no object mapping and no serialisation, only the
+ * {@code timestamp} is spliced in (see {@link CachedResponseBody}). Clients that
+ * accept gzip get a body compressed once per entry.
+ * <p>
+ * Entries are keyed by the resource's {@link ResourceVersion}, which every
+ * committed change bumps, so they never need eviction and simply expire. Requests
+ * that do not negotiate JSON, or arrive while versions are unavailable, take the
+ * regular converter path.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseBodyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseBodyCache.class);
+
+    private static final String KEY_PREFIX = "responseBody::";
+
+    private final boolean enabled;
+    private final boolean gzip;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ObjectProvider<HttpCacheHeadersAdvice> httpCacheHeaders;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseBodyCache(@Value("${app.response-cache.enabled:false}") boolean enabled,
+                             @Value("${app.response-cache.gzip:true}") boolean gzip,
+                             @Value("${app.response-cache.ttl:5m}") Duration ttl,
+                             ObjectMapper objectMapper,
+                             RedisConnectionFactory connectionFactory,
+                             ObjectProvider<HttpCacheHeadersAdvice> httpCacheHeaders,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.ttl = ttl;
+        this.objectMapper = objectMapper;
+        this.httpCacheHeaders = httpCacheHeaders;
+        this.meterRegistry = meterRegistry;
+
+        this.redisTemplate = new RedisTemplate<>();
+        this.redisTemplate.setConnectionFactory(connectionFactory);
+        this.redisTemplate.setKeySerializer(RedisSerializer.string());
+        this.redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        this.redisTemplate.afterPropertiesSet();
+
+        if (enabled) {
+            log.info("Response body cache enabled (ttl {}, gzip {})", ttl, gzip);
+        }
+    }
+
+    /**
+     * Writes the cached body of {@code name} at {@code version}, rendering and
+     * storing it through {@code loader} on a miss. Exceptions thrown by the loader
+     * propagate before anything is written.
+     *
+     * @return {@code false} when the request is not eligible and the handler must
+     * return the body itself
+     */
+    public boolean write(NativeWebRequest request, String name, ResourceVersion version,
+                         Supplier<? extends ApiResponse<?>> loader) throws IOException {
+        return write(request, name, null, version, loader);
+    }
+
+    /**
+     * As {@link #write(NativeWebRequest, String, ResourceVersion, Supplier)} for
+     * a resource whose body also depends on the request, such as the page of a
+     * nested list; {@code variant} tells those bodies apart within a version.
+     */
+    public boolean write(NativeWebRequest request, String name, String variant, ResourceVersion version,
+                         Supplier<? extends ApiResponse<?>> loader) throws IOException {
+        HttpServletResponse servletResponse = request.getNativeResponse(HttpServletResponse.class);
+        if (!enabled || version == null || servletResponse == null
+                || RepresentationFormat.negotiate(request.getHeader(HttpHeaders.ACCEPT)) != RepresentationFormat.JSON) {
+            return false;
+        }
+
+        String key = key(name, variant, version);
+        CachedResponseBody body = get(key);
+        if (body != null) {
+            counter(name, "hit").increment();
+        } else {
+            counter(name, "miss").increment();
+            body = render(loader.get());
+            put(key, body);
+        }
+
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+        HttpHeaders headers = response.getHeaders();
+        HttpCachePolicy policy = HttpCacheHeadersAdvice.policyOf(request);
+        HttpCacheHeadersAdvice cacheHeaders = httpCacheHeaders.getIfAvailable();
+        if (policy != null && cacheHeaders != null) {
+            cacheHeaders.apply(policy, body.surrogateKeys(), headers);
+        }
+
+        byte[] suffix = CachedResponseBody.suffix(LocalDateTime.now());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        RepresentationFormat.varyOnAccept(servletResponse);
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        if (servletRequest != null) {
+            ResourceVersions.addValidators(servletRequest, servletResponse);
+        }
+        if (body.hasGzip()) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (body.hasGzip() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(body.gzipLength(suffix));
+            OutputStream out = response.getBody();
+            body.writeGzip(out, suffix);
+        } else {
+            headers.setContentLength(body.jsonLength(suffix));
+            OutputStream out = response.getBody();
+            body.writeJson(out, suffix);
+        }
+        response.flush();
+        return true;
+    }
+
+    /**
+     * Renders and stores the body of {@code name} at {@code version} ahead of
+     * any request, unless it is cached already.
+     *
+     * @return whether a body was rendered
+     */
+    public boolean warm(String name, ResourceVersion version, Supplier<? extends ApiResponse<?>> loader)
+            throws IOException {
+        if (!enabled || version == null) {
+            return false;
+        }
+        String key = key(name, null, version);
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                return false;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Response body cache unavailable for key {}: {}", key, ex.getMessage());
+            return false;
+        }
+        put(key, render(loader.get()));
+        counter(name, "warm").increment();
+        return true;
+    }
+
+    private static String key(String name, String variant, ResourceVersion version) {
+        return KEY_PREFIX + name + ":" + version.etag().replace("\"", "")
+                + (variant != null ? ":" + variant : "");
+    }
+
+    private CachedResponseBody render(ApiResponse<?> response) throws IOException {
+        // A null timestamp is omitted (NON_NULL), leaving it to be appended per request
+        ApiResponse<?> withoutTimestamp = new ApiResponse<>(response.data(), response.message(), null);
+        return CachedResponseBody.of(objectMapper.writeValueAsBytes(withoutTimestamp), gzip,
+                SurrogateKeys.forBody(response));
+    }
+
+    private CachedResponseBody get(String key) {
+        try {
+            byte[] bytes = redisTemplate.opsForValue().get(key);
+            return bytes != null ? CachedResponseBody.fromBytes(bytes) : null;
+        } catch (RuntimeException ex) {
+            log.warn("Response body cache unavailable for key {}: {}", key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void put(String key, CachedResponseBody body) {
+        try {
+            redisTemplate.opsForValue().set(key, body.toBytes(), ttl);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to cache response body for key {}: {}", key, ex.getMessage());
+        }
+    }
+
+    private Counter counter(String name, String result) {
+        return Counter.builder("http.response.body.cache")
+                .description("Response body cache lookups")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            if (!parts[0].trim().equals("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
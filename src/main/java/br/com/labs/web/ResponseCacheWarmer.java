@@ -0,0 +1,69 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.TrendingMusic;
+import br.com.labs.exception.ResourceNotFoundException;
+import br.com.labs.service.MusicService;
+import br.com.labs.service.TrendingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Renders the {@link ResponseBodyCache} entries of the
+ * {@code app.trending.warm-count} most trending musics before they are asked
+ * for, most trending first, so the first request after a change or an expiry
+ * is already a hit. Entries present at the current version are left alone.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheWarmer.class);
+
+    private final TrendingService trendingService;
+    private final MusicService musicService;
+    private final ResourceVersions resourceVersions;
+    private final ResponseBodyCache responseBodyCache;
+    private final int warmCount;
+
+    public ResponseCacheWarmer(TrendingService trendingService, MusicService musicService,
+                               ResourceVersions resourceVersions, ResponseBodyCache responseBodyCache,
+                               @Value("${app.trending.warm-count:20}") int warmCount) {
+        this.trendingService = trendingService;
+        this.musicService = musicService;
+        this.resourceVersions = resourceVersions;
+        this.responseBodyCache = responseBodyCache;
+        this.warmCount = warmCount;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.publish-interval:10s}",
+            initialDelayString = "${app.trending.publish-interval:10s}")
+    public void warm() {
+        if (warmCount <= 0) {
+            return;
+        }
+        int rendered = 0;
+        for (TrendingMusic music : trendingService.trending(warmCount)) {
+            try {
+                if (responseBodyCache.warm("music", resourceVersions.music(music.musicId()),
+                        () -> ApiResponse.success(musicService.findById(music.musicId())))) {
+                    rendered++;
+                }
+            } catch (ResourceNotFoundException ex) {
+                // Deleted since it was requested; it decays out of the ranking
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Stopped warming the response cache: {}", ex.getMessage());
+                break;
+            }
+        }
+        if (rendered > 0) {
+            log.debug("Warmed the response cache with {} trending musics", rendered);
+        }
+    }
+}
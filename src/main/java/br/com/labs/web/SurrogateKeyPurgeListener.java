@@ -0,0 +1,26 @@
+package br.com.labs.web;
+
+import br.com.labs.event.CatalogChangeEvent;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Purges the surrogate keys of committed changes. Runs on the originating pod
+ * only, since the CDN is shared, and asynchronously so a slow CDN API never
+ * holds up the mutating request.
+ */
+public class SurrogateKeyPurgeListener {
+
+    private final SurrogateKeyPurger purger;
+
+    public SurrogateKeyPurgeListener(SurrogateKeyPurger purger) {
+        this.purger = purger;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCommitted(CatalogChangeEvent event) {
+        purger.purge(SurrogateKeys.forEvent(event));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.labs.web;
+
+import java.util.Collection;
+
+/**
+ * Invalidates shared-cache entries tagged with any of the given surrogate keys.
+ * Implementations are called after commit, off the request thread, and should
+ * not throw: a failed purge leaves entries to expire by {@code s-maxage}.
+ */
+public interface SurrogateKeyPurger {
+
+    void purge(Collection<String> keys);
+}
@@ -0,0 +1,88 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.AuthorStatsResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.model.ChangeOperation;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Surrogate keys tie cached responses to the catalog entities they contain.
+ * A response is tagged with every author and music it renders, plus the
+ * collection key declared on list handlers; a change purges the keys of the entities it
+ * touched, and the collection key when it can shift list pages.
+ */
+public final class SurrogateKeys {
+
+    public static final String AUTHORS = "authors";
+    public static final String MUSICS = "musics";
+
+    private SurrogateKeys() {
+    }
+
+    public static String author(Long authorId) {
+        return "author-" + authorId;
+    }
+
+    public static String music(Long musicId) {
+        return "music-" + musicId;
+    }
+
+    public static Set<String> forBody(Object body) {
+        Set<String> keys = new LinkedHashSet<>();
+        collect(body instanceof ApiResponse<?> response ? response.data() : body, keys);
+        return keys;
+    }
+
+    public static Set<String> forEvent(CatalogChangeEvent event) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (event.entityType() == CatalogEntityType.MUSIC) {
+            keys.add(music(event.entityId()));
+            keys.add(MUSICS);
+        } else {
+            keys.add(AUTHORS);
+            if (event.operation() == ChangeOperation.DELETED) {
+                // The author's musics disappear from music lists as well
+                keys.add(MUSICS);
+            }
+        }
+        if (event.authorId() != null) {
+            keys.add(author(event.authorId()));
+        }
+        if (event.previousAuthorId() != null) {
+            keys.add(author(event.previousAuthorId()));
+        }
+        return keys;
+    }
+
+    private static void collect(Object data, Set<String> keys) {
+        if (data instanceof PageResponse<?> page) {
+            page.content().forEach(item -> collect(item, keys));
+        } else if (data instanceof MusicSearchResponse search) {
+            search.content().forEach(item -> collect(item, keys));
+        } else if (data instanceof List<?> items) {
+            items.forEach(item -> collect(item, keys));
+        } else if (data instanceof AuthorStatsResponse stats) {
+            keys.add(author(stats.authorId()));
+        } else if (data instanceof AuthorResponse author) {
+            keys.add(author(author.id()));
+        } else if (data instanceof AuthorWithMusicsResponse author) {
+            keys.add(author(author.id()));
+            author.musics().forEach(music -> keys.add(music(music.id())));
+        } else if (data instanceof MusicResponse music) {
+            keys.add(music(music.id()));
+            if (music.author() != null) {
+                keys.add(author(music.author().id()));
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+-- V3__add_change_feed_support.sql
+-- Support for the incremental change feed (GET /api/v1/changes)
+
+-- Keyset scans over (updated_at, id) back the since-token queries
+CREATE INDEX idx_author_updated_at ON author(updated_at, id);
+CREATE INDEX idx_music_updated_at ON music(updated_at, id);
+
+-- Deleted rows leave a tombstone so consumers can drop them from their local copy
+CREATE TABLE IF NOT EXISTS catalog_tombstone (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    author_id BIGINT,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_catalog_tombstone_deleted_at ON catalog_tombstone(deleted_at, entity_type, entity_id);
@@ -0,0 +1,6 @@
+-- V4__index_music_by_author_and_id.sql
+-- GET /api/v1/authors/{id}/musics loads an author's musics in chunks ordered by id
+
+-- Each chunk is a range scan over (author_id, id); the single-column index is a prefix of it
+CREATE INDEX idx_music_author_id_id ON music(author_id, id);
+DROP INDEX IF EXISTS idx_music_author_id;
@@ -0,0 +1,43 @@
+-- V5__add_author_stats.sql
+-- Per-author statistics behind GET /api/v1/authors/{id}/stats and /authors/top,
+-- kept current by MusicService in the same transaction as each music change
+
+CREATE TABLE IF NOT EXISTS author_stats (
+    author_id BIGINT PRIMARY KEY,
+    music_count INTEGER NOT NULL DEFAULT 0,
+    total_duration_seconds BIGINT NOT NULL DEFAULT 0,
+    average_duration_seconds NUMERIC(10, 2) GENERATED ALWAYS AS (
+        CASE WHEN music_count > 0 THEN ROUND(total_duration_seconds::NUMERIC / music_count, 2) END
+    ) STORED,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_author_stats_author FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE
+);
+
+-- Musics without a genre are only counted in author_stats
+CREATE TABLE IF NOT EXISTS author_genre_stats (
+    author_id BIGINT NOT NULL,
+    genre VARCHAR(100) NOT NULL,
+    music_count INTEGER NOT NULL,
+    PRIMARY KEY (author_id, genre),
+    CONSTRAINT fk_author_genre_stats_author FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE
+);
+
+-- /authors/top only ranks authors with musics and reads the first rows of one of
+-- these (forwards or backwards) instead of sorting every author
+CREATE INDEX idx_author_stats_music_count ON author_stats(music_count, author_id) WHERE music_count > 0;
+CREATE INDEX idx_author_stats_total_duration ON author_stats(total_duration_seconds, author_id)
+    WHERE music_count > 0;
+CREATE INDEX idx_author_stats_average_duration ON author_stats(average_duration_seconds, author_id)
+    WHERE music_count > 0;
+
+INSERT INTO author_stats (author_id, music_count, total_duration_seconds)
+SELECT a.id, COUNT(m.id), COALESCE(SUM(m.duration_seconds), 0)
+FROM author a
+LEFT JOIN music m ON m.author_id = a.id
+GROUP BY a.id;
+
+INSERT INTO author_genre_stats (author_id, genre, music_count)
+SELECT author_id, genre, COUNT(*)
+FROM music
+WHERE genre IS NOT NULL
+GROUP BY author_id, genre;
@@ -0,0 +1,41 @@
+-- V6__add_genre_dictionary.sql
+-- Genres move to a lookup table; music and author_genre_stats keep a SMALLINT code.
+-- Names are stored exactly as first written, so "Rock" and "rock" stay distinct
+-- entries and case-insensitive filters match every variant's code.
+
+CREATE TABLE IF NOT EXISTS genre (
+    id SMALLSERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_genre_name UNIQUE (name)
+);
+
+INSERT INTO genre (name)
+SELECT DISTINCT genre FROM music WHERE genre IS NOT NULL
+ORDER BY genre;
+
+ALTER TABLE music ADD COLUMN genre_id SMALLINT;
+
+UPDATE music m SET genre_id = g.id
+FROM genre g
+WHERE g.name = m.genre;
+
+ALTER TABLE music ADD CONSTRAINT fk_music_genre FOREIGN KEY (genre_id) REFERENCES genre(id);
+
+DROP INDEX IF EXISTS idx_music_genre;
+ALTER TABLE music DROP COLUMN genre;
+CREATE INDEX idx_music_genre_id ON music(genre_id);
+
+-- author_genre_stats: same rows, keyed by code
+ALTER TABLE author_genre_stats ADD COLUMN genre_id SMALLINT;
+
+UPDATE author_genre_stats s SET genre_id = g.id
+FROM genre g
+WHERE g.name = s.genre;
+
+ALTER TABLE author_genre_stats DROP CONSTRAINT author_genre_stats_pkey;
+ALTER TABLE author_genre_stats DROP COLUMN genre;
+ALTER TABLE author_genre_stats ALTER COLUMN genre_id SET NOT NULL;
+ALTER TABLE author_genre_stats ADD PRIMARY KEY (author_id, genre_id);
+ALTER TABLE author_genre_stats
+    ADD CONSTRAINT fk_author_genre_stats_genre FOREIGN KEY (genre_id) REFERENCES genre(id);
@@ -0,0 +1,51 @@
+-- V7__partition_music_by_author.sql
+-- music becomes a table hash-partitioned on author_id into 16 partitions. Queries
+-- and cascades that filter on author_id touch a single partition. A lookup by id
+-- alone probes the primary key index of every partition.
+--
+-- Postgres requires the partition key in every unique constraint, so the primary
+-- key becomes (id, author_id). ids still come from one sequence and stay unique.
+-- No table references music, so no foreign key has to change.
+
+ALTER TABLE music RENAME TO music_unpartitioned;
+ALTER TABLE music_unpartitioned RENAME CONSTRAINT fk_music_author TO fk_music_unpartitioned_author;
+ALTER TABLE music_unpartitioned RENAME CONSTRAINT fk_music_genre TO fk_music_unpartitioned_genre;
+
+-- SERIAL created an INTEGER sequence; V2 widened only the column
+ALTER SEQUENCE music_id_seq AS BIGINT;
+
+CREATE TABLE music (
+    id BIGINT NOT NULL DEFAULT nextval('music_id_seq'),
+    name VARCHAR(255) NOT NULL,
+    duration_seconds INTEGER NOT NULL,
+    author_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    genre_id SMALLINT,
+    CONSTRAINT pk_music PRIMARY KEY (id, author_id),
+    CONSTRAINT fk_music_author FOREIGN KEY (author_id) REFERENCES author(id) ON DELETE CASCADE,
+    CONSTRAINT fk_music_genre FOREIGN KEY (genre_id) REFERENCES genre(id)
+) PARTITION BY HASH (author_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE music_p%s PARTITION OF music FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(remainder::TEXT, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO music (id, name, duration_seconds, author_id, created_at, updated_at, genre_id)
+SELECT id, name, duration_seconds, author_id, created_at, updated_at, genre_id
+FROM music_unpartitioned;
+
+ALTER SEQUENCE music_id_seq OWNED BY music.id;
+DROP TABLE music_unpartitioned;
+
+-- Created on the parent, so every partition gets its own copy
+CREATE INDEX idx_music_author_id_id ON music(author_id, id);
+CREATE INDEX idx_music_author_id_name ON music(author_id, name);
+CREATE INDEX idx_music_updated_at ON music(updated_at, id);
+CREATE INDEX idx_music_genre_id ON music(genre_id);
+
+ANALYZE music;
@@ -0,0 +1,13 @@
+-- V8__add_music_play_count.sql
+-- Play counts per music, written as batched deltas by PlayCounter. author_id is
+-- carried so the foreign key can reference music's (id, author_id) primary key:
+-- counts follow a music moved to another author and go away with it.
+
+CREATE TABLE IF NOT EXISTS music_play_count (
+    music_id BIGINT PRIMARY KEY,
+    author_id BIGINT NOT NULL,
+    play_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_music_play_count_music FOREIGN KEY (music_id, author_id)
+        REFERENCES music(id, author_id) ON DELETE CASCADE ON UPDATE CASCADE
+);
@@ -0,0 +1,25 @@
+-- V9__add_bulk_job.sql
+-- Maintenance jobs submitted through POST /api/v1/jobs. Any pod may claim a queued
+-- job, or one whose owner stopped sending heartbeats, and runs it in chunks. Each
+-- chunk advances cursor and the counters in the same transaction as its changes,
+-- so a job resumed on another pod neither skips nor repeats work.
+
+CREATE TABLE IF NOT EXISTS bulk_job (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    parameters JSONB NOT NULL,
+    total BIGINT,
+    processed BIGINT NOT NULL DEFAULT 0,
+    changed BIGINT NOT NULL DEFAULT 0,
+    cursor BIGINT NOT NULL DEFAULT 0,
+    owner VARCHAR(255),
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- Pods only look for jobs to claim among the unfinished ones
+CREATE INDEX idx_bulk_job_unfinished ON bulk_job(id) WHERE status IN ('QUEUED', 'RUNNING');
@@ -0,0 +1,71 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.PageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.core.ResolvableType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Representative response bodies shared by the benchmarks: sizes follow the
+ * API defaults (20 items per page) and a prolific author (50 musics).
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000);
+    static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 6, 28, 18, 30, 12, 345_678_000);
+
+    static final ApiResponse<MusicResponse> MUSIC = ApiResponse.success(music(42));
+
+    static final ApiResponse<AuthorResponse> AUTHOR = ApiResponse.success(
+            new AuthorResponse(7L, "John Lennon", "john.lennon@beatles.com", 50, CREATED_AT, UPDATED_AT));
+
+    static final ApiResponse<PageResponse<MusicResponse>> MUSIC_PAGE = ApiResponse.success(new PageResponse<>(
+            IntStream.rangeClosed(1, 20).mapToObj(BenchmarkFixtures::music).toList(), 0, 20, 1_000, 50, true, false));
+
+    static final ApiResponse<AuthorWithMusicsResponse> AUTHOR_WITH_MUSICS = ApiResponse.success(
+            new AuthorWithMusicsResponse(7L, "John Lennon", "john.lennon@beatles.com",
+                    IntStream.rangeClosed(1, 50)
+                            .mapToObj(id -> new AuthorWithMusicsResponse.MusicSummary((long) id, "Song number " + id,
+                                    150 + id, id % 2 == 0 ? "Rock" : "Pop"))
+                            .toList(),
+                    new AuthorWithMusicsResponse.MusicsPage(0, 50, 50, 1, true, true),
+                    CREATED_AT, UPDATED_AT));
+
+    static final ResolvableType MUSIC_TYPE =
+            ResolvableType.forClassWithGenerics(ApiResponse.class, MusicResponse.class);
+    static final ResolvableType AUTHOR_TYPE =
+            ResolvableType.forClassWithGenerics(ApiResponse.class, AuthorResponse.class);
+    static final ResolvableType MUSIC_PAGE_TYPE = ResolvableType.forClassWithGenerics(ApiResponse.class,
+            ResolvableType.forClassWithGenerics(PageResponse.class, MusicResponse.class));
+    static final ResolvableType AUTHOR_WITH_MUSICS_TYPE =
+            ResolvableType.forClassWithGenerics(ApiResponse.class, AuthorWithMusicsResponse.class);
+
+    static final List<Object> BODIES = List.of(MUSIC, AUTHOR, MUSIC_PAGE, AUTHOR_WITH_MUSICS);
+    static final List<ResolvableType> TYPES = List.of(MUSIC_TYPE, AUTHOR_TYPE, MUSIC_PAGE_TYPE, AUTHOR_WITH_MUSICS_TYPE);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Same settings Spring Boot applies to the application's mapper.
+     */
+    static <T extends ObjectMapper> T configure(T mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    private static MusicResponse music(int id) {
+        return new MusicResponse((long) id, "Song number " + id, 180 + id, id % 2 == 0 ? "Rock" : "Pop",
+                new MusicResponse.AuthorSummary(7L, "John Lennon"), CREATED_AT, UPDATED_AT, 1000L + id);
+    }
+}
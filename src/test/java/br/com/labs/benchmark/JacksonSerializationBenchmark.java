@@ -0,0 +1,119 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of every response DTO, one optimisation at a time, against the
+ * plain mapper: Blackbird accessors, a prefetched {@link ObjectWriter} per body
+ * type, the allocation-light ISO timestamp serializer, and all of them
+ * ({@code tuned}, the application's setup). Each variant must produce the same
+ * bytes as {@code defaults}, which setup verifies.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="JacksonSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"music", "author", "musicPage", "authorWithMusics"})
+    public String body;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+
+    private Object value;
+    private ObjectMapper defaults;
+    private ObjectMapper blackbird;
+    private ObjectWriter prefetched;
+    private ObjectMapper isoTimestamps;
+    private ObjectWriter tuned;
+
+    @Setup
+    public void setUp() throws IOException {
+        int index = switch (body) {
+            case "music" -> 0;
+            case "author" -> 1;
+            case "musicPage" -> 2;
+            default -> 3;
+        };
+        value = BenchmarkFixtures.BODIES.get(index);
+        Type type = BenchmarkFixtures.TYPES.get(index).getType();
+
+        defaults = BenchmarkFixtures.configure(new ObjectMapper());
+        blackbird = BenchmarkFixtures.configure(new ObjectMapper()).registerModule(new BlackbirdModule());
+        prefetched = defaults.writerFor(defaults.constructType(type));
+        isoTimestamps = BenchmarkFixtures.configure(new ObjectMapper())
+                .registerModule(JacksonConfig.localDateTimeModule());
+        ObjectMapper tunedMapper = BenchmarkFixtures.configure(new ObjectMapper())
+                .registerModule(new BlackbirdModule())
+                .registerModule(JacksonConfig.localDateTimeModule());
+        tuned = tunedMapper.writerFor(tunedMapper.constructType(type));
+
+        byte[] expected = defaults.writeValueAsBytes(value);
+        for (byte[] actual : new byte[][]{blackbird.writeValueAsBytes(value), prefetched.writeValueAsBytes(value),
+                isoTimestamps.writeValueAsBytes(value), tuned.writeValueAsBytes(value)}) {
+            if (!Arrays.equals(expected, actual)) {
+                throw new IllegalStateException("Tuned output differs for " + body + ": " + new String(actual));
+            }
+        }
+    }
+
+    @Benchmark
+    public int defaults() throws IOException {
+        buffer.reset();
+        defaults.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int blackbird() throws IOException {
+        buffer.reset();
+        blackbird.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int prefetchedWriter() throws IOException {
+        buffer.reset();
+        prefetched.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int isoTimestamps() throws IOException {
+        buffer.reset();
+        isoTimestamps.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int tuned() throws IOException {
+        buffer.reset();
+        tuned.writeValue(buffer, value);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.labs.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries {@code MusicRepository} and {@code MusicSpecification} send with
+ * an author id, against a plain {@code music} table and one hash-partitioned on
+ * {@code author_id} like V7, at catalog sizes of {@code rows} musics (100 per
+ * author). Lookups by id alone are included to show what partitioning costs.
+ * <p>
+ * Needs a Postgres reachable at {@code -Dbenchmark.jdbc.url} (defaults to the
+ * local database on port 5438). Tables are loaded into the scratch schema
+ * {@code partition_bench} once per size and reused by later forks; drop the
+ * schema to reclaim the space.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args=MusicPartitioningBenchmark
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="MusicPartitioningBenchmark -p rows=100000"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MusicPartitioningBenchmark {
+
+    private static final int MUSICS_PER_AUTHOR = 100;
+    private static final int PARTITIONS = 16;
+
+    @Param({"1000000", "5000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean partitioned;
+
+    private Connection connection;
+    private PreparedStatement pageByAuthor;
+    private PreparedStatement existsByNameAndAuthor;
+    private PreparedStatement countByAuthor;
+    private PreparedStatement byId;
+    private int authors;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5438/music_db"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+        authors = rows / MUSICS_PER_AUTHOR;
+        String table = "partition_bench.music_" + (partitioned ? "hash" : "plain") + "_" + rows;
+        if (!loaded(table)) {
+            load(table);
+        }
+        pageByAuthor = connection.prepareStatement("SELECT id, name, duration_seconds, genre_id FROM " + table
+                + " WHERE author_id = ? ORDER BY id LIMIT 20");
+        existsByNameAndAuthor = connection.prepareStatement("SELECT 1 FROM " + table
+                + " WHERE name = ? AND author_id = ? LIMIT 1");
+        countByAuthor = connection.prepareStatement("SELECT count(*) FROM " + table + " WHERE author_id = ?");
+        byId = connection.prepareStatement("SELECT id, name, author_id FROM " + table + " WHERE id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int findByAuthorId() throws SQLException {
+        pageByAuthor.setLong(1, randomAuthor());
+        return drain(pageByAuthor);
+    }
+
+    @Benchmark
+    public int existsByNameAndAuthorId() throws SQLException {
+        long author = randomAuthor();
+        existsByNameAndAuthor.setString(1, "Track " + ((author - 1) * MUSICS_PER_AUTHOR
+                + ThreadLocalRandom.current().nextInt(1, MUSICS_PER_AUTHOR + 1)));
+        existsByNameAndAuthor.setLong(2, author);
+        return drain(existsByNameAndAuthor);
+    }
+
+    @Benchmark
+    public int countByAuthorId() throws SQLException {
+        countByAuthor.setLong(1, randomAuthor());
+        return drain(countByAuthor);
+    }
+
+    @Benchmark
+    public int findById() throws SQLException {
+        byId.setLong(1, ThreadLocalRandom.current().nextLong(1, rows + 1));
+        return drain(byId);
+    }
+
+    private long randomAuthor() {
+        return ThreadLocalRandom.current().nextLong(1, authors + 1);
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean loaded(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT to_regclass('" + table + "') IS NOT NULL")) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    /**
+     * Same columns and indexes as V7, without the foreign keys. Musics of one
+     * author get consecutive ids, as when an author's catalog is imported at once.
+     */
+    private void load(String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS partition_bench");
+            statement.execute("CREATE TABLE " + table + " (id BIGINT NOT NULL, name VARCHAR(255) NOT NULL, "
+                    + "duration_seconds INTEGER NOT NULL, author_id BIGINT NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, genre_id SMALLINT, "
+                    + "PRIMARY KEY (id, author_id))" + (partitioned ? " PARTITION BY HASH (author_id)" : ""));
+            for (int remainder = 0; partitioned && remainder < PARTITIONS; remainder++) {
+                statement.execute("CREATE TABLE " + table + "_p" + remainder + " PARTITION OF " + table
+                        + " FOR VALUES WITH (MODULUS " + PARTITIONS + ", REMAINDER " + remainder + ")");
+            }
+            statement.execute("INSERT INTO " + table + " (id, name, duration_seconds, author_id, genre_id) "
+                    + "SELECT n, 'Track ' || n, 60 + n % 400, (n - 1) / " + MUSICS_PER_AUTHOR + " + 1, n % 12 "
+                    + "FROM generate_series(1, " + rows + ") AS n");
+            statement.execute("CREATE INDEX ON " + table + " (author_id, id)");
+            statement.execute("CREATE INDEX ON " + table + " (author_id, name)");
+            statement.execute("CREATE INDEX ON " + table + " (updated_at, id)");
+            statement.execute("CREATE INDEX ON " + table + " (genre_id)");
+            statement.execute("VACUUM ANALYZE " + table);
+        }
+    }
+}
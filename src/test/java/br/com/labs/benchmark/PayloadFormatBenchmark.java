@@ -0,0 +1,104 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.web.CatalogProtobufWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode time of each response body in JSON (current default), Smile, CBOR and
+ * protobuf. Payload sizes are printed by {@link #main}.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args=PayloadFormatBenchmark
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.main=br.com.labs.benchmark.PayloadFormatBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"music", "author", "musicPage", "authorWithMusics"})
+    public String body;
+
+    private final ObjectMapper json = BenchmarkFixtures.configure(new ObjectMapper());
+    private final ObjectMapper smile = BenchmarkFixtures.configure(new SmileMapper());
+    private final ObjectMapper cbor = BenchmarkFixtures.configure(new CBORMapper());
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+
+    private Object value;
+    private ResolvableType type;
+
+    @Setup
+    public void setUp() {
+        int index = switch (body) {
+            case "music" -> 0;
+            case "author" -> 1;
+            case "musicPage" -> 2;
+            default -> 3;
+        };
+        value = BenchmarkFixtures.BODIES.get(index);
+        type = BenchmarkFixtures.TYPES.get(index);
+    }
+
+    @Benchmark
+    public int json() throws IOException {
+        buffer.reset();
+        json.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int smile() throws IOException {
+        buffer.reset();
+        smile.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int cbor() throws IOException {
+        buffer.reset();
+        cbor.writeValue(buffer, value);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int protobuf() throws IOException {
+        buffer.reset();
+        CatalogProtobufWriter.write(value, type, buffer);
+        return buffer.size();
+    }
+
+    /**
+     * Prints the encoded size of every fixture in every format.
+     */
+    public static void main(String[] args) throws IOException {
+        PayloadFormatBenchmark benchmark = new PayloadFormatBenchmark();
+        System.out.printf("%-18s %8s %8s %8s %8s%n", "body", "json", "smile", "cbor", "protobuf");
+        for (String body : new String[]{"music", "author", "musicPage", "authorWithMusics"}) {
+            benchmark.body = body;
+            benchmark.setUp();
+            System.out.printf("%-18s %8d %8d %8d %8d%n", body,
+                    benchmark.json(), benchmark.smile(), benchmark.cbor(), benchmark.protobuf());
+        }
+    }
+}
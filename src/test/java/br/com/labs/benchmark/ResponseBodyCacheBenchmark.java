@@ -0,0 +1,83 @@
+package br.com.labs.benchmark;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.web.CachedResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Work done per {@code GET /authors/{id}/musics} once the value is cached:
+ * mapping and serialising the cached DTO (optionally gzipped, as a compressing
+ * proxy or Tomcat would) against writing the pre-encoded body.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args=ResponseBodyCacheBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBodyCacheBenchmark {
+
+    private final ObjectMapper objectMapper = BenchmarkFixtures.configure(new ObjectMapper());
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+
+    private AuthorWithMusicsResponse author;
+    private CachedResponseBody cached;
+
+    @Setup
+    public void setUp() throws IOException {
+        author = BenchmarkFixtures.AUTHOR_WITH_MUSICS.data();
+        byte[] json = objectMapper.writeValueAsBytes(new ApiResponse<>(author, "Success", null));
+        cached = CachedResponseBody.of(json, true, Set.of());
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        buffer.reset();
+        objectMapper.writeValue(buffer, ApiResponse.success(author));
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int serializeGzip() throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, ApiResponse.success(author));
+        }
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int cachedJson() throws IOException {
+        buffer.reset();
+        cached.writeJson(buffer, CachedResponseBody.suffix(LocalDateTime.now()));
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int cachedGzip() throws IOException {
+        buffer.reset();
+        cached.writeGzip(buffer, CachedResponseBody.suffix(LocalDateTime.now()));
+        return buffer.size();
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.labs.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PoolSizePolicyTest {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final double HOLD = TimeUnit.MILLISECONDS.toNanos(20);
+
+	@Test
+	void growsToDemandWhileCallersWait() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 20, THRESHOLD, 0.25, 2.0);
+
+		// 500 checkouts/s held 20ms each keep 10 connections busy
+		int next = policy.next(5, new PoolSizePolicy.Interval(500, HOLD, THRESHOLD * 4, 3));
+
+		assertEquals(13, next);
+	}
+
+	@Test
+	void neverLeavesItsBounds() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 8, THRESHOLD, 0.25, 2.0);
+
+		assertEquals(8, policy.next(5, new PoolSizePolicy.Interval(500, HOLD, THRESHOLD * 4, 3)));
+		assertEquals(2, policy.next(2, new PoolSizePolicy.Interval(0, 0, 0, 0)));
+	}
+
+	@Test
+	void shrinksOneAtATimeWhenIdle() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 20, THRESHOLD, 0.25, 2.0);
+
+		assertEquals(9, policy.next(10, new PoolSizePolicy.Interval(50, HOLD, 0, 0)));
+	}
+
+	@Test
+	void holdsWhenTheDatabaseSlowsDown() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 20, THRESHOLD, 0.25, 2.0);
+		policy.next(10, new PoolSizePolicy.Interval(100, HOLD, 0, 0));
+
+		int next = policy.next(10, new PoolSizePolicy.Interval(500, HOLD * 3, THRESHOLD * 4, 5));
+
+		assertEquals(10, next);
+	}
+
+	@Test
+	void lightTrafficDoesNotSetTheLatencyBaseline() {
+		PoolSizePolicy policy = new PoolSizePolicy(2, 20, THRESHOLD, 0.25, 2.0);
+		policy.next(10, new PoolSizePolicy.Interval(0.2, HOLD / 20, 0, 0));
+
+		int next = policy.next(10, new PoolSizePolicy.Interval(500, HOLD, THRESHOLD * 4, 5));
+
+		assertEquals(13, next);
+	}
+}
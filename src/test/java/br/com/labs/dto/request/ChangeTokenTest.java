@@ -0,0 +1,36 @@
+package br.com.labs.dto.request;
+
+import br.com.labs.exception.BusinessException;
+import br.com.labs.model.CatalogEntityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeTokenTest {
+
+	@Test
+	void encodedTokenRoundTrips() {
+		LocalDateTime changedAt = LocalDateTime.of(2024, 5, 17, 10, 15, 30, 123_456_000);
+		ChangeToken token = ChangeToken.after(changedAt, CatalogEntityType.MUSIC, 42L);
+
+		ChangeToken parsed = ChangeToken.parse(token.encode());
+
+		assertEquals(token, parsed);
+	}
+
+	@Test
+	void blankTokenStartsFromBeginning() {
+		assertTrue(ChangeToken.parse(null).isBeginning());
+		assertTrue(ChangeToken.parse("").isBeginning());
+	}
+
+	@Test
+	void malformedTokenIsRejected() {
+		assertThrows(BusinessException.class, () -> ChangeToken.parse("not-a-token"));
+	}
+
+}
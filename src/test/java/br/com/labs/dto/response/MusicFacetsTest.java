@@ -0,0 +1,50 @@
+package br.com.labs.dto.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MusicFacetsTest {
+
+	@Test
+	void cellsRollUpIntoGenresAndEveryDurationRange() {
+		MusicFacets facets = MusicFacets.of(List.of(
+				new MusicFacets.Cell("Rock", 0, 2),
+				new MusicFacets.Cell("Rock", 2, 3),
+				new MusicFacets.Cell("Pop", 2, 5),
+				new MusicFacets.Cell(null, 1, 1)), List.of(120, 240));
+
+		assertEquals(List.of(
+				new MusicFacets.GenreCount("Pop", 5),
+				new MusicFacets.GenreCount("Rock", 5),
+				new MusicFacets.GenreCount(null, 1)), facets.genres());
+		assertEquals(List.of(
+				new MusicFacets.DurationRange(0, 120, 2),
+				new MusicFacets.DurationRange(120, 240, 1),
+				new MusicFacets.DurationRange(240, null, 8)), facets.durations());
+	}
+
+	@Test
+	void caseVariantsCountAsOneGenre() {
+		MusicFacets facets = MusicFacets.of(List.of(
+				new MusicFacets.Cell("rock", 0, 1),
+				new MusicFacets.Cell("Rock", 0, 2),
+				new MusicFacets.Cell("ROCK", 1, 1),
+				new MusicFacets.Cell("Pop", 1, 3)), List.of(120));
+
+		assertEquals(List.of(
+				new MusicFacets.GenreCount("Rock", 4),
+				new MusicFacets.GenreCount("Pop", 3)), facets.genres());
+	}
+
+	@Test
+	void noMatchesKeepTheEmptyRanges() {
+		MusicFacets facets = MusicFacets.of(List.of(), List.of(180));
+
+		assertEquals(List.of(), facets.genres());
+		assertEquals(List.of(new MusicFacets.DurationRange(0, 180, 0), new MusicFacets.DurationRange(180, null, 0)),
+				facets.durations());
+	}
+}
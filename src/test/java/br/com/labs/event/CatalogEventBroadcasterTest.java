@@ -0,0 +1,83 @@
+package br.com.labs.event;
+
+import br.com.labs.controller.CatalogEventController;
+import br.com.labs.model.ChangeOperation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class CatalogEventBroadcasterTest {
+
+	private static final int PER_PRODUCER = 5_000;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CatalogEventBroadcaster broadcaster = new CatalogEventBroadcaster(
+			new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, 1, Duration.ofMinutes(1),
+			CatalogEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+
+	@AfterEach
+	void shutdown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void everyEventIsEitherDeliveredOrCountedAsDropped() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CatalogEventController(broadcaster)).build();
+		MockHttpServletResponse response = mockMvc.perform(get("/api/v1/events").accept(MediaType.TEXT_EVENT_STREAM))
+				.andReturn().getResponse();
+
+		// The change listener and the heartbeat scheduler race for the single slot
+		CatalogChangeNotification notification =
+				new CatalogChangeNotification(CatalogChangeEvent.author(ChangeOperation.UPDATED, 1L));
+		CountDownLatch done = new CountDownLatch(2);
+		Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < PER_PRODUCER; i++) {
+				broadcaster.onCatalogChange(notification);
+			}
+			done.countDown();
+		});
+		Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < PER_PRODUCER; i++) {
+				broadcaster.sendHeartbeats();
+			}
+			done.countDown();
+		});
+		done.await(30, TimeUnit.SECONDS);
+
+		long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		long accounted;
+		do {
+			Thread.sleep(20);
+			accounted = delivered(response) + (long) meterRegistry.counter("catalog.events.dropped").count();
+		} while (accounted < 2 * PER_PRODUCER && System.nanoTime() < giveUpAt);
+		assertEquals(2 * PER_PRODUCER, accounted);
+	}
+
+	private static long delivered(MockHttpServletResponse response) {
+		String body = new String(response.getContentAsByteArray(), StandardCharsets.UTF_8);
+		return occurrences(body, "event:" + CatalogEventBroadcaster.EVENT_NAME + "\n")
+				+ occurrences(body, ":heartbeat\n");
+	}
+
+	private static long occurrences(String body, String frame) {
+		long count = 0;
+		for (int at = body.indexOf(frame); at >= 0; at = body.indexOf(frame, at + frame.length())) {
+			count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.labs.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AuthorBatchLoaderTest {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void answersConcurrentLookups() throws Exception {
+		long authorId = new JdbcTemplate(dataSource).queryForObject("SELECT MIN(id) FROM author", Long.class);
+		AuthorBatchLoader loader = loader();
+		try {
+			List<Future<Optional<AuthorRef>>> lookups = new ArrayList<>();
+			try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+				for (int i = 0; i < 200; i++) {
+					long id = i % 2 == 0 ? authorId : -1;
+					lookups.add(executor.submit(() -> loader.findById(id)));
+				}
+			}
+			for (int i = 0; i < lookups.size(); i++) {
+				Optional<AuthorRef> author = lookups.get(i).get();
+				assertEquals(i % 2 == 0, author.isPresent());
+				author.ifPresent(found -> assertEquals(authorId, found.id()));
+			}
+		} finally {
+			loader.shutdown();
+		}
+	}
+
+	@Test
+	void failsLookupsOnceShutDown() throws Exception {
+		AuthorBatchLoader loader = loader();
+		assertTrue(loader.findById(-1).isEmpty());
+
+		loader.shutdown();
+
+		assertThrows(IllegalStateException.class, () -> loader.findById(-1));
+	}
+
+	private AuthorBatchLoader loader() {
+		return new AuthorBatchLoader(dataSource, new SimpleMeterRegistry(), Duration.ofMillis(2), 10, 2,
+				Duration.ofSeconds(5));
+	}
+}
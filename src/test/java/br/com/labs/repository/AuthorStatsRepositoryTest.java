@@ -0,0 +1,98 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.AuthorRequest;
+import br.com.labs.dto.request.MusicRequest;
+import br.com.labs.dto.response.AuthorStatsResponse;
+import br.com.labs.service.AuthorService;
+import br.com.labs.service.MusicService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class AuthorStatsRepositoryTest {
+
+	@Autowired
+	private AuthorStatsRepository authorStatsRepository;
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private MusicService musicService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private Long authorId;
+
+	@BeforeEach
+	void createAuthor() {
+		String email = "author-stats-" + System.nanoTime() + "@test.com";
+		authorId = authorService.create(new AuthorRequest("Author Stats Test", email)).id();
+	}
+
+	@AfterEach
+	void deleteAuthor() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("DELETE FROM music WHERE author_id = ?", authorId);
+		jdbcTemplate.update("DELETE FROM author WHERE id = ?", authorId);
+	}
+
+	@Test
+	void addsAndRemovesDeltas() {
+		authorStatsRepository.add(authorId, "Rock", 2, 400);
+		authorStatsRepository.add(authorId, "Jazz", 1, 100);
+
+		AuthorStatsResponse stats = authorStatsRepository.findByAuthorId(authorId).orElseThrow();
+		assertEquals(3, stats.musicCount());
+		assertEquals(500, stats.totalDurationSeconds());
+		assertEquals(List.of(new AuthorStatsResponse.GenreCount("Rock", 2), new AuthorStatsResponse.GenreCount("Jazz", 1)),
+				authorStatsRepository.findGenres(authorId));
+
+		authorStatsRepository.add(authorId, "Rock", -2, -400);
+
+		assertEquals(1, authorStatsRepository.findByAuthorId(authorId).orElseThrow().musicCount());
+		assertEquals(List.of(new AuthorStatsResponse.GenreCount("Jazz", 1)), authorStatsRepository.findGenres(authorId));
+	}
+
+	@Test
+	void staysInStepWithConcurrentMusicUpdates() throws Exception {
+		Long musicId = musicService.create(new MusicRequest("Concurrent", 100, "Rock", authorId)).id();
+
+		List<Future<?>> updates = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 40; i++) {
+				int duration = 100 + i;
+				String genre = i % 2 == 0 ? "Rock" : "Jazz";
+				updates.add(executor.submit(() ->
+						musicService.update(musicId, new MusicRequest("Concurrent", duration, genre, authorId))));
+			}
+		}
+		for (Future<?> update : updates) {
+			update.get();
+		}
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		int duration = jdbcTemplate.queryForObject("SELECT duration_seconds FROM music WHERE id = ?", Integer.class,
+				musicId);
+		String genre = jdbcTemplate.queryForObject(
+				"SELECT g.name FROM music m JOIN genre g ON g.id = m.genre_id WHERE m.id = ?", String.class, musicId);
+		AuthorStatsResponse stats = authorStatsRepository.findByAuthorId(authorId).orElseThrow();
+		assertEquals(1, stats.musicCount());
+		assertEquals(duration, stats.totalDurationSeconds());
+		assertEquals(List.of(new AuthorStatsResponse.GenreCount(genre, 1)), authorStatsRepository.findGenres(authorId));
+	}
+}
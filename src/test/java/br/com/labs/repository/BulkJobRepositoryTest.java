@@ -0,0 +1,70 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.JobRequest;
+import br.com.labs.model.JobStatus;
+import br.com.labs.model.JobType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BulkJobRepositoryTest {
+
+	private static final Duration LEASE = Duration.ofMinutes(2);
+
+	@Autowired
+	private BulkJobRepository jobRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void anotherPodResumesAJobFromItsCursorOnceTheLeaseExpires() {
+		// One rolled back transaction: the job stays invisible to the runners polling this database
+		inRolledBackTransaction(jdbcTemplate -> {
+			jdbcTemplate.update("DELETE FROM bulk_job WHERE status IN ('QUEUED', 'RUNNING')");
+			BulkJob queued = jobRepository.insert(new JobRequest(JobType.REGENRE, "rock", "Rock", null, null));
+
+			BulkJob claimed = jobRepository.claim("pod-a", LEASE).orElseThrow();
+			assertEquals(queued.id(), claimed.id());
+			assertEquals(JobStatus.RUNNING, claimed.status());
+			jobRepository.advance(claimed.id(), 42, 10, 3);
+			assertTrue(jobRepository.claim("pod-b", LEASE).isEmpty());
+
+			// pod-a stops sending heartbeats
+			jdbcTemplate.update("UPDATE bulk_job SET heartbeat_at = CURRENT_TIMESTAMP - INTERVAL '3 minutes' WHERE id = ?",
+					claimed.id());
+			assertTrue(jobRepository.claim("pod-b", Duration.ofMinutes(5)).isEmpty());
+
+			BulkJob resumed = jobRepository.claim("pod-b", LEASE).orElseThrow();
+			assertEquals(claimed.id(), resumed.id());
+			assertEquals("pod-b", resumed.owner());
+			assertEquals(42, resumed.cursor());
+			assertEquals(10, resumed.processed());
+			assertFalse(jobRepository.heartbeat(claimed.id(), "pod-a"));
+			assertTrue(jobRepository.lockOwned(claimed.id(), "pod-a").isEmpty());
+			assertTrue(jobRepository.heartbeat(claimed.id(), "pod-b"));
+		});
+	}
+
+	private void inRolledBackTransaction(Consumer<JdbcTemplate> work) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			status.setRollbackOnly();
+			work.accept(new JdbcTemplate(dataSource));
+		});
+	}
+}
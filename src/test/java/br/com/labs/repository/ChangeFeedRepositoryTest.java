@@ -0,0 +1,45 @@
+package br.com.labs.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+class ChangeFeedRepositoryTest {
+
+	@Autowired
+	private ChangeFeedRepository changeFeedRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void seesTheStartOfAnOpenWriteTransaction() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (Statement statement = connection.createStatement();
+				 ResultSet started = statement.executeQuery(
+						 "SELECT CAST(CURRENT_TIMESTAMP AS TIMESTAMP), pg_current_xact_id()")) {
+				started.next();
+				LocalDateTime startedAt = started.getObject(1, LocalDateTime.class);
+
+				LocalDateTime oldest = changeFeedRepository.oldestOpenWriteStartedAt();
+
+				// Rows this transaction stamps at its start must stay behind the feed's upper bound
+				assertNotNull(oldest);
+				assertFalse(oldest.isAfter(startedAt));
+			} finally {
+				connection.rollback();
+			}
+		}
+	}
+}
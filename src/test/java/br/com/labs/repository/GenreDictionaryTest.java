@@ -0,0 +1,58 @@
+package br.com.labs.repository;
+
+import br.com.labs.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class GenreDictionaryTest {
+
+	private static final String GENRE = "Genre Dictionary Test";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@AfterEach
+	void deleteTestGenres() {
+		new JdbcTemplate(dataSource).update("DELETE FROM genre WHERE LOWER(name) = LOWER(?)", GENRE);
+	}
+
+	@Test
+	void matchesVariantsRegisteredByOtherPods() {
+		GenreDictionary dictionary = new GenreDictionary(dataSource, 1000);
+		assertTrue(dictionary.codesOf(GENRE).isEmpty());
+
+		// Another pod, whose registrations this one only learns on reload
+		GenreDictionary otherPod = new GenreDictionary(dataSource, 1000);
+		short upper = otherPod.register(GENRE.toUpperCase());
+		short original = otherPod.register(GENRE);
+
+		assertEquals(List.of(upper, original), dictionary.codesOf(GENRE.toLowerCase()).stream().sorted().toList());
+		assertEquals(GENRE, dictionary.nameOf(original));
+	}
+
+	@Test
+	void refusesNewGenresPastTheLimit() {
+		GenreDictionary dictionary = new GenreDictionary(dataSource, 1000);
+		int count = dictionary.size();
+		GenreDictionary full = new GenreDictionary(dataSource, count);
+
+		assertThrows(BusinessException.class, () -> full.register(GENRE));
+		assertTrue(dictionary.codesOf(GENRE).isEmpty());
+		// Known genres still resolve
+		if (count > 0) {
+			String known = new JdbcTemplate(dataSource).queryForObject("SELECT name FROM genre LIMIT 1", String.class);
+			assertEquals(dictionary.codeOf(known).orElseThrow(), full.register(known));
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package br.com.labs.repository;
+
+import br.com.labs.dto.request.AuthorRequest;
+import br.com.labs.dto.request.MusicRequest;
+import br.com.labs.service.AuthorService;
+import br.com.labs.service.MusicService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SuggestionTermsTest {
+
+	private static final String TITLE = "Suggestion Terms Test";
+	private static final String AUTHOR = "Suggestion Terms Author";
+
+	@Autowired
+	private MusicRepository musicRepository;
+
+	@Autowired
+	private AuthorRepository authorRepository;
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private MusicService musicService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<Long> authorIds = new ArrayList<>();
+
+	@AfterEach
+	void deleteAuthors() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		for (Long authorId : authorIds) {
+			jdbcTemplate.update("DELETE FROM music WHERE author_id = ?", authorId);
+			jdbcTemplate.update("DELETE FROM author WHERE id = ?", authorId);
+		}
+	}
+
+	@Test
+	void caseVariantsAreOneTermSpelledTheMostCommonWay() {
+		Long first = createAuthor(AUTHOR);
+		Long second = createAuthor(AUTHOR.toLowerCase());
+		musicService.create(new MusicRequest(TITLE, 100, "Rock", first));
+		musicService.create(new MusicRequest(TITLE.toUpperCase(), 100, "Rock", first));
+		musicService.create(new MusicRequest(TITLE, 100, "Rock", second));
+
+		assertEquals(List.of(new WeightedTerm(TITLE, 3)), termsMatching(musicRepository::streamTitleWeights, TITLE));
+		assertEquals(List.of(new WeightedTerm(AUTHOR, 3)), termsMatching(authorRepository::streamNameWeights, AUTHOR));
+	}
+
+	private Long createAuthor(String name) {
+		Long id = authorService.create(new AuthorRequest(name, "suggestion-terms-" + System.nanoTime() + "@test.com")).id();
+		authorIds.add(id);
+		return id;
+	}
+
+	private List<WeightedTerm> termsMatching(Supplier<Stream<WeightedTerm>> terms, String term) {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		return readOnly.execute(status -> {
+			try (Stream<WeightedTerm> stream = terms.get()) {
+				return stream.filter(weighted -> weighted.term().equalsIgnoreCase(term)).toList();
+			}
+		});
+	}
+}
@@ -0,0 +1,51 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorWithMusicsResponse;
+import br.com.labs.dto.response.AuthorWithMusicsResponse.MusicSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorMusicsHeaderTest {
+
+	private static final AuthorMusicsHeader HEADER = new AuthorMusicsHeader(1L, "John Lennon", "john@beatles.com",
+			25, 10, "g1", null, null);
+
+	@Test
+	void pageSpanningChunksIsCutFromThem() {
+		PageRequest pageable = PageRequest.of(1, 8);
+
+		assertEquals(List.of(0, 1), HEADER.chunks(pageable).boxed().toList());
+
+		AuthorWithMusicsResponse page = HEADER.page(pageable, List.of(chunk(1, 10), chunk(11, 20)));
+
+		assertEquals(LongStream.rangeClosed(9, 16).boxed().toList(),
+				page.musics().stream().map(MusicSummary::id).toList());
+		assertEquals(new AuthorWithMusicsResponse.MusicsPage(1, 8, 25, 4, false, false), page.musicsPage());
+	}
+
+	@Test
+	void lastAndPastTheEndPages() {
+		AuthorWithMusicsResponse last = HEADER.page(PageRequest.of(2, 10), List.of(chunk(21, 25)));
+
+		assertEquals(5, last.musics().size());
+		assertTrue(last.musicsPage().last());
+
+		PageRequest pastTheEnd = PageRequest.of(3, 10);
+		assertEquals(0, HEADER.chunks(pastTheEnd).count());
+		assertTrue(HEADER.page(pastTheEnd, List.of()).musics().isEmpty());
+		assertFalse(HEADER.page(pastTheEnd, List.of()).musicsPage().first());
+	}
+
+	private static AuthorMusicsChunk chunk(long firstId, long lastId) {
+		return new AuthorMusicsChunk(LongStream.rangeClosed(firstId, lastId)
+				.mapToObj(id -> new MusicSummary(id, "Song " + id, 180, "Rock"))
+				.toList());
+	}
+}
@@ -0,0 +1,87 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.AuthorDistribution;
+import br.com.labs.dto.response.GenreDurationStats;
+import br.com.labs.repository.MusicColumnsRow;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CatalogColumnsTest {
+
+	private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+	@AfterAll
+	static void shutdown() {
+		POOL.shutdown();
+	}
+
+	@Test
+	void durationPercentilesAreComputedPerGenre() {
+		CatalogColumns columns = new CatalogColumns();
+		for (int i = 1; i <= 10; i++) {
+			columns.upsert(new MusicColumnsRow(i, 1, i * 10, "Rock"));
+		}
+		columns.upsert(new MusicColumnsRow(11, 2, 200, null));
+		columns.upsert(new MusicColumnsRow(12, 2, 300, null));
+
+		List<GenreDurationStats> stats = columns.durationsByGenre(POOL, new double[]{50, 90, 100});
+
+		assertEquals(List.of(
+				new GenreDurationStats("Rock", 10, 10, 100, 55.0, List.of(
+						new GenreDurationStats.Percentile(50, 50),
+						new GenreDurationStats.Percentile(90, 90),
+						new GenreDurationStats.Percentile(100, 100))),
+				new GenreDurationStats(null, 2, 200, 300, 250.0, List.of(
+						new GenreDurationStats.Percentile(50, 200),
+						new GenreDurationStats.Percentile(90, 300),
+						new GenreDurationStats.Percentile(100, 300)))), stats);
+	}
+
+	@Test
+	void changesAreAppliedInPlace() {
+		CatalogColumns columns = new CatalogColumns();
+		columns.upsert(new MusicColumnsRow(1, 1, 100, "Rock"));
+		columns.upsert(new MusicColumnsRow(3, 2, 100, "Pop"));
+		columns.upsert(new MusicColumnsRow(4, 2, 100, "Pop"));
+		columns.upsert(new MusicColumnsRow(2, 3, 100, "Pop"));   // committed out of id order
+		columns.upsert(new MusicColumnsRow(3, 3, 150, "Jazz"));  // moved to another author
+		columns.delete(1);
+		columns.delete(1);
+
+		assertEquals(3, columns.size());
+		assertEquals(new AuthorDistribution(2, 3, 2, List.of(
+						new AuthorDistribution.MusicCountRange(1, 2, 1),
+						new AuthorDistribution.MusicCountRange(2, null, 1))),
+				columns.authorDistribution(POOL, List.of(2)));
+
+		columns.deleteByAuthor(3);
+
+		assertEquals(1, columns.size());
+		assertEquals(List.of("Pop"), columns.durationsByGenre(POOL, new double[]{50}).stream()
+				.map(GenreDurationStats::genre).toList());
+	}
+
+	@Test
+	void aggregationsAreReusedUntilTheNextChange() {
+		CatalogColumns columns = new CatalogColumns();
+		columns.upsert(new MusicColumnsRow(1, 1, 100, "Rock"));
+		columns.upsert(new MusicColumnsRow(2, 1, 200, "Rock"));
+
+		AuthorDistribution distribution = columns.authorDistribution(POOL, List.of(2));
+		assertSame(distribution, columns.authorDistribution(POOL, List.of(2)));
+		assertEquals(100, columns.durationsByGenre(POOL, new double[]{50}).getFirst().percentiles().getFirst().seconds());
+
+		columns.upsert(new MusicColumnsRow(3, 2, 50, "Rock"));
+
+		assertNotSame(distribution, columns.authorDistribution(POOL, List.of(2)));
+		assertEquals(2, columns.authorDistribution(POOL, List.of(2)).authors());
+		assertEquals(50, columns.durationsByGenre(POOL, new double[]{50}).getFirst().minSeconds());
+	}
+}
@@ -0,0 +1,82 @@
+package br.com.labs.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HeavyHitterSketchTest {
+
+	private static final long HALF_LIFE = 60_000;
+
+	@Test
+	void heavyHittersSurviveALongTail() {
+		HeavyHitterSketch sketch = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		for (int round = 0; round < 200; round++) {
+			for (long hot = 1; hot <= 3; hot++) {
+				for (int i = 0; i < hot * 10; i++) {
+					sketch.add(hot, 0);
+				}
+			}
+			// Every tail id is requested once
+			for (int i = 0; i < 50; i++) {
+				sketch.add(1_000 + round * 50L + i, 0);
+			}
+		}
+
+		List<HeavyHitterSketch.Entry> top = HeavyHitterSketch.top(List.of(sketch.snapshot(0)), 0, HALF_LIFE, 3);
+
+		assertEquals(List.of(3L, 2L, 1L), top.stream().map(HeavyHitterSketch.Entry::id).toList());
+		assertEquals(6_000, top.get(0).score(), 6_000 * 0.05);
+	}
+
+	@Test
+	void olderRequestsWeighLess() {
+		HeavyHitterSketch sketch = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		for (int i = 0; i < 100; i++) {
+			sketch.add(1, 0);
+		}
+		for (int i = 0; i < 60; i++) {
+			sketch.add(2, HALF_LIFE);
+		}
+
+		List<HeavyHitterSketch.Entry> top = HeavyHitterSketch.top(List.of(sketch.snapshot(HALF_LIFE)),
+				HALF_LIFE, HALF_LIFE, 2);
+
+		assertEquals(List.of(new HeavyHitterSketch.Entry(2, 60), new HeavyHitterSketch.Entry(1, 50)), top);
+	}
+
+	@Test
+	void snapshotsOfSeveralPodsAreMergedAfterDecoding() {
+		HeavyHitterSketch first = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		HeavyHitterSketch second = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		for (int i = 0; i < 30; i++) {
+			first.add(1, 0);
+			second.add(2, 0);
+		}
+		for (int i = 0; i < 20; i++) {
+			first.add(2, 0);
+		}
+		// Taken one half-life before the merge
+		byte[] older = second.snapshot(0).toBytes();
+
+		List<HeavyHitterSketch.Entry> top = HeavyHitterSketch.top(List.of(first.snapshot(HALF_LIFE),
+				HeavyHitterSketch.Snapshot.fromBytes(older)), HALF_LIFE, HALF_LIFE, 2);
+
+		assertEquals(List.of(new HeavyHitterSketch.Entry(2, 25), new HeavyHitterSketch.Entry(1, 15)), top);
+	}
+
+	@Test
+	void requestsCountedTogetherWeighAsMuchAsSingleOnes() {
+		HeavyHitterSketch single = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		HeavyHitterSketch batched = new HeavyHitterSketch(10, HALF_LIFE, 0);
+		for (int i = 0; i < 40; i++) {
+			single.add(1, HALF_LIFE);
+		}
+		batched.add(1, 40, HALF_LIFE);
+
+		assertEquals(HeavyHitterSketch.top(List.of(single.snapshot(HALF_LIFE)), HALF_LIFE, HALF_LIFE, 1),
+				HeavyHitterSketch.top(List.of(batched.snapshot(HALF_LIFE)), HALF_LIFE, HALF_LIFE, 1));
+	}
+}
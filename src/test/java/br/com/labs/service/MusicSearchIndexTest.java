@@ -0,0 +1,82 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.request.MusicSearchRequest;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.PageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MusicSearchIndexTest {
+
+	private static final MusicSearchRequest NO_FILTERS = new MusicSearchRequest(null, null, null, null, null);
+
+	private MusicSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new MusicSearchIndex();
+		index.upsert(music(1L, "Imagine", "Rock", 183, 1L, "John Lennon"));
+		index.upsert(music(2L, "Jealous Guy", "Rock", 254, 1L, "John Lennon"));
+		index.upsert(music(3L, "Canção do Mar", "Fado", 200, 2L, "Dulce Pontes"));
+		index.upsert(music(4L, "Imagine Dragons Medley", "Pop", 320, 3L, "Cover Band"));
+		index.refresh();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		index.close();
+	}
+
+	@Test
+	void ranksNameAboveAuthorAndMatchesPrefixesAndAccents() {
+		assertEquals(List.of(1L, 4L), ids(index.search("imagine", NO_FILTERS, PageRequest.of(0, 10), 1000)));
+		assertEquals(List.of(1L, 2L), ids(index.search("lenn", NO_FILTERS, PageRequest.of(0, 10), 1000)));
+		assertEquals(List.of(3L), ids(index.search("cancao", NO_FILTERS, PageRequest.of(0, 10), 1000)));
+	}
+
+	@Test
+	void filtersAndWritesApply() {
+		MusicSearchRequest rockUnderFourMinutes = new MusicSearchRequest(null, "rock", null, null, 240);
+		assertEquals(List.of(1L), ids(index.search(null, rockUnderFourMinutes, PageRequest.of(0, 10), 1000)));
+
+		index.delete(1L);
+		index.upsert(music(2L, "Jealous Guy", "Rock", 230, 1L, "John Lennon"));
+		index.refresh();
+
+		PageResponse<MusicResponse> page = index.search(null, rockUnderFourMinutes, PageRequest.of(0, 10), 1000);
+		assertEquals(List.of(2L), ids(page));
+		assertEquals("John Lennon", page.content().get(0).author().name());
+
+		index.deleteByAuthor(1L);
+		index.refresh();
+		assertTrue(index.search(null, new MusicSearchRequest(null, null, 1L, null, null),
+				PageRequest.of(0, 10), 1000).content().isEmpty());
+	}
+
+	@Test
+	void pagesBeyondTheWindowAreEmptyButKeepTheTotal() {
+		PageResponse<MusicResponse> page = index.search(null, NO_FILTERS, PageRequest.of(1, 2), 3);
+
+		assertEquals(List.of(3L), ids(page));
+		assertEquals(4, page.totalElements());
+		assertTrue(index.search(null, NO_FILTERS, PageRequest.of(2, 2), 3).content().isEmpty());
+	}
+
+	private static List<Long> ids(PageResponse<MusicResponse> page) {
+		return page.content().stream().map(MusicResponse::id).toList();
+	}
+
+	private static MusicResponse music(Long id, String name, String genre, int duration, Long authorId,
+			String authorName) {
+		return new MusicResponse(id, name, duration, genre, new MusicResponse.AuthorSummary(authorId, authorName),
+				null, null, null);
+	}
+}
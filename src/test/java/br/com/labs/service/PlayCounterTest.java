@@ -0,0 +1,85 @@
+package br.com.labs.service;
+
+import br.com.labs.repository.PlayCountRepository;
+import br.com.labs.repository.PlayedMusic;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayCounterTest {
+
+	@Test
+	void playsRecordedDuringFlushesAreWrittenExactlyOnce() throws InterruptedException {
+		RecordingRepository repository = new RecordingRepository();
+		PlayCounter counter = new PlayCounter(repository, event -> {}, new SimpleMeterRegistry(), 3);
+		int threads = 4;
+		int playsPerThread = 20_000;
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			Thread.ofPlatform().start(() -> {
+				for (int i = 0; i < playsPerThread; i++) {
+					// Few musics, so entries are retired and recreated while plays arrive
+					counter.record(i % 5);
+				}
+				done.countDown();
+			});
+		}
+		while (done.getCount() > 0) {
+			counter.flush();
+		}
+		counter.flush();
+
+		assertEquals((long) threads * playsPerThread, repository.total());
+		repository.batches.forEach(batch -> assertEquals(true, batch.size() <= 3));
+	}
+
+	@Test
+	void failedDeltasAreRetriedByTheNextFlush() {
+		RecordingRepository repository = new RecordingRepository();
+		PlayCounter counter = new PlayCounter(repository, event -> {}, new SimpleMeterRegistry(), 10);
+		counter.record(1);
+		counter.record(1);
+		counter.record(2);
+
+		repository.failing.set(true);
+		counter.flush();
+		counter.record(1);
+		repository.failing.set(false);
+		counter.flush();
+
+		assertEquals(List.of(Map.of(1L, 3L, 2L, 1L)), repository.batches);
+	}
+
+	private static final class RecordingRepository extends PlayCountRepository {
+
+		final List<SortedMap<Long, Long>> batches = new ArrayList<>();
+		final AtomicBoolean failing = new AtomicBoolean();
+
+		RecordingRepository() {
+			super(new DriverManagerDataSource());
+		}
+
+		@Override
+		public List<PlayedMusic> add(SortedMap<Long, Long> deltas) {
+			if (failing.get()) {
+				throw new IllegalStateException("database down");
+			}
+			batches.add(new TreeMap<>(deltas));
+			return deltas.keySet().stream().map(musicId -> new PlayedMusic(musicId, 1)).toList();
+		}
+
+		long total() {
+			return batches.stream().flatMap(batch -> batch.values().stream()).mapToLong(Long::longValue).sum();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package br.com.labs.service;
+
+import br.com.labs.dto.response.SuggestionResponse;
+import br.com.labs.model.CatalogEntityType;
+import br.com.labs.repository.WeightedTerm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionIndexTest {
+
+	private static final SuggestionIndex INDEX = SuggestionIndex.build(
+			Stream.of(new WeightedTerm("Imagine", 3), new WeightedTerm("Jealous Guy", 1),
+					new WeightedTerm("Canção do Mar", 2), new WeightedTerm("  ", 9)),
+			Stream.of(new WeightedTerm("John Lennon", 2), new WeightedTerm("Jimi Hendrix", 5)));
+
+	@Test
+	void completesMostPopularFirstIgnoringCaseAndAccents() {
+		assertEquals(List.of(
+						new SuggestionResponse("Jimi Hendrix", CatalogEntityType.AUTHOR, 5),
+						new SuggestionResponse("John Lennon", CatalogEntityType.AUTHOR, 2),
+						new SuggestionResponse("Jealous Guy", CatalogEntityType.MUSIC, 1)),
+				INDEX.lookup("J", 10));
+		assertEquals(List.of(new SuggestionResponse("Canção do Mar", CatalogEntityType.MUSIC, 2)),
+				INDEX.lookup("CANCAO  d", 10));
+		assertEquals(List.of(new SuggestionResponse("Jimi Hendrix", CatalogEntityType.AUTHOR, 5)),
+				INDEX.lookup("j", 1));
+	}
+
+	@Test
+	void blankTermsAreSkippedAndUnknownPrefixesAreEmpty() {
+		assertEquals(5, INDEX.size());
+		assertTrue(INDEX.lookup("xyz", 10).isEmpty());
+		assertTrue(INDEX.lookup(" ", 10).isEmpty());
+		assertTrue(INDEX.ramBytesUsed() > 0);
+	}
+}
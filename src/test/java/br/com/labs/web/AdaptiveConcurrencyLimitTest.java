@@ -0,0 +1,48 @@
+package br.com.labs.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+	private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void rejectsOnceLimitIsReached() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD, 0.5);
+
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+	}
+
+	@Test
+	void growsWhenBusyAndFast() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD, 0.5);
+
+		limit.tryAcquire();
+		limit.release(System.nanoTime(), false);
+
+		assertEquals(3, limit.getLimit());
+	}
+
+	@Test
+	void shrinksOncePerSlowdown() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 10, THRESHOLD, 0.5);
+
+		limit.tryAcquire();
+		long firstStart = System.nanoTime();
+		limit.tryAcquire();
+		long secondStart = System.nanoTime();
+
+		limit.release(firstStart, true);
+		limit.release(secondStart, true);
+
+		assertEquals(4, limit.getLimit());
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.MusicResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachedResponseBodyTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private static final MusicResponse MUSIC = new MusicResponse(7L, "Imagine", 183, "Rock",
+			new MusicResponse.AuthorSummary(1L, "John Lennon"), LocalDateTime.of(2024, 3, 14, 9, 26, 53), null, 0L);
+
+	@Test
+	void splicedJsonMatchesJackson() throws IOException {
+		LocalDateTime now = LocalDateTime.of(2026, 10, 18, 23, 0, 0, 120_000_000);
+		CachedResponseBody body = cached(false);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		body.writeJson(out, CachedResponseBody.suffix(now));
+
+		assertArrayEquals(MAPPER.writeValueAsBytes(new ApiResponse<>(MUSIC, "Success", now)), out.toByteArray());
+	}
+
+	@Test
+	void gzipDecodesToTheSplicedJson() throws IOException {
+		byte[] suffix = CachedResponseBody.suffix(LocalDateTime.of(2026, 10, 18, 23, 0, 1, 5_000));
+		CachedResponseBody body = CachedResponseBody.fromBytes(cached(true).toBytes());
+
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		body.writeJson(json, suffix);
+		ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+		body.writeGzip(gzip, suffix);
+
+		// GZIPInputStream verifies the combined CRC-32 and length trailer
+		byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray())).readAllBytes();
+		assertArrayEquals(json.toByteArray(), decoded);
+		assertEquals(body.gzipLength(suffix), gzip.size());
+		assertEquals(Set.of("music-7", "author-1"), body.surrogateKeys());
+	}
+
+	@Test
+	void crcCombineMatchesCrcOfConcatenation() {
+		byte[] first = "{\"data\":{\"id\":1}".getBytes();
+		byte[] second = ",\"timestamp\":\"2026-10-18T23:00:00\"}".getBytes();
+		CRC32 whole = new CRC32();
+		whole.update(first);
+		whole.update(second);
+
+		assertEquals((int) whole.getValue(), CachedResponseBody.crc32Combine(crc(first), crc(second), second.length));
+	}
+
+	private static CachedResponseBody cached(boolean gzip) throws IOException {
+		byte[] json = MAPPER.writeValueAsBytes(new ApiResponse<>(MUSIC, "Success", null));
+		return CachedResponseBody.of(json, gzip, Set.of("music-7", "author-1"));
+	}
+
+	private static int crc(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,117 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorResponse;
+import br.com.labs.dto.response.MusicFacets;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
+import br.com.labs.dto.response.PageResponse;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogProtobufWriterTest {
+
+	private static final ResolvableType MUSIC =
+			ResolvableType.forClassWithGenerics(ApiResponse.class, MusicResponse.class);
+	private static final ResolvableType AUTHOR_PAGE = ResolvableType.forClassWithGenerics(ApiResponse.class,
+			ResolvableType.forClassWithGenerics(PageResponse.class, AuthorResponse.class));
+
+	@Test
+	void musicFollowsTheSchemaFieldNumbers() throws IOException {
+		MusicResponse music = new MusicResponse(7L, "Imagine", 183, "Rock",
+				new MusicResponse.AuthorSummary(1L, "John Lennon"), null, null, 42L);
+
+		CodedInputStream response = CodedInputStream.newInstance(write(ApiResponse.success(music), MUSIC));
+		assertEquals(tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED), response.readTag());
+		CodedInputStream message = CodedInputStream.newInstance(response.readByteArray());
+
+		assertEquals(tag(1, WireFormat.WIRETYPE_VARINT), message.readTag());
+		assertEquals(7L, message.readInt64());
+		assertEquals(tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		assertEquals("Imagine", message.readString());
+		assertEquals(tag(3, WireFormat.WIRETYPE_VARINT), message.readTag());
+		assertEquals(183, message.readInt32());
+		assertEquals(tag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		assertEquals("Rock", message.readString());
+		assertEquals(tag(5, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		CodedInputStream author = CodedInputStream.newInstance(message.readByteArray());
+		author.readTag();
+		assertEquals(1L, author.readInt64());
+		author.readTag();
+		assertEquals("John Lennon", author.readString());
+		// Null timestamps are omitted
+		assertEquals(tag(8, WireFormat.WIRETYPE_VARINT), message.readTag());
+		assertEquals(42L, message.readInt64());
+		assertTrue(message.isAtEnd());
+	}
+
+	@Test
+	void emptyPageIsTypedByItsDeclaredElement() throws IOException {
+		PageResponse<AuthorResponse> page = new PageResponse<>(List.of(), 0, 20, 0, 0, true, true);
+
+		CodedInputStream response = CodedInputStream.newInstance(write(ApiResponse.success(page), AUTHOR_PAGE));
+
+		assertEquals(5, WireFormat.getTagFieldNumber(response.readTag()));
+	}
+
+	@Test
+	void searchFacetsExtendTheMusicPage() throws IOException {
+		MusicFacets facets = new MusicFacets(List.of(new MusicFacets.GenreCount("Rock", 3)),
+				List.of(new MusicFacets.DurationRange(0, 180, 0), new MusicFacets.DurationRange(180, null, 3)));
+		MusicSearchResponse search = new MusicSearchResponse(List.of(), 0, 20, 3, 1, true, true, facets);
+
+		CodedInputStream response = CodedInputStream.newInstance(write(ApiResponse.success(search),
+				ResolvableType.forClassWithGenerics(ApiResponse.class, MusicSearchResponse.class)));
+		assertEquals(tag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED), response.readTag());
+		CodedInputStream page = CodedInputStream.newInstance(response.readByteArray());
+
+		int tag;
+		while ((tag = page.readTag()) != tag(8, WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+			page.skipField(tag);
+		}
+		CodedInputStream message = CodedInputStream.newInstance(page.readByteArray());
+		assertEquals(tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		message.skipRawBytes(message.readRawVarint32());
+
+		// The first range sets max_seconds but has a zero count; the last one is open-ended
+		assertEquals(tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		CodedInputStream first = CodedInputStream.newInstance(message.readByteArray());
+		assertEquals(tag(2, WireFormat.WIRETYPE_VARINT), first.readTag());
+		assertEquals(180, first.readInt32());
+		assertTrue(first.isAtEnd());
+		assertEquals(tag(2, WireFormat.WIRETYPE_LENGTH_DELIMITED), message.readTag());
+		CodedInputStream last = CodedInputStream.newInstance(message.readByteArray());
+		assertEquals(tag(1, WireFormat.WIRETYPE_VARINT), last.readTag());
+		assertEquals(180, last.readInt32());
+		assertEquals(tag(3, WireFormat.WIRETYPE_VARINT), last.readTag());
+		assertEquals(3L, last.readInt64());
+		assertTrue(message.isAtEnd());
+	}
+
+	@Test
+	void typesWithoutAMessageAreRejected() {
+		assertTrue(CatalogProtobufWriter.canWrite(AUTHOR_PAGE));
+		assertFalse(CatalogProtobufWriter.canWrite(ResolvableType.forClassWithGenerics(ApiResponse.class, String.class)));
+		assertFalse(CatalogProtobufWriter.canWrite(ResolvableType.forClass(ApiResponse.class)));
+	}
+
+	private static int tag(int field, int wireType) {
+		return field << 3 | wireType;
+	}
+
+	private static byte[] write(Object value, ResolvableType type) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CatalogProtobufWriter.write(value, type, out);
+		return out.toByteArray();
+	}
+}
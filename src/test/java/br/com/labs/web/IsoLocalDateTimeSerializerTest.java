@@ -0,0 +1,47 @@
+package br.com.labs.web;
+
+import br.com.labs.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IsoLocalDateTimeSerializerTest {
+
+	private static final ObjectMapper DEFAULT = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private static final ObjectMapper TUNED = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.registerModule(JacksonConfig.localDateTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	void matchesJavaTimeModuleOutput() throws Exception {
+		List<LocalDateTime> values = List.of(
+				LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_238),
+				LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_000_000),
+				LocalDateTime.of(2024, 3, 14, 9, 26, 53, 1),
+				LocalDateTime.of(2024, 3, 14, 0, 0),
+				LocalDateTime.of(999, 1, 1, 23, 59, 59, 100_000_000),
+				LocalDateTime.of(12024, 12, 31, 12, 0));
+
+		for (LocalDateTime value : values) {
+			assertEquals(DEFAULT.writeValueAsString(value), TUNED.writeValueAsString(value));
+		}
+	}
+
+	@Test
+	void honoursNumericTimestamps() throws Exception {
+		LocalDateTime value = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_000_000);
+
+		assertEquals(DEFAULT.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(value),
+				TUNED.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(value));
+	}
+}
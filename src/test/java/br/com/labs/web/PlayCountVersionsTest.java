@@ -0,0 +1,80 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.request.AuthorRequest;
+import br.com.labs.dto.request.MusicRequest;
+import br.com.labs.service.AuthorService;
+import br.com.labs.service.MusicService;
+import br.com.labs.service.PlayCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlayCountVersionsTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthorService authorService;
+
+	@Autowired
+	private MusicService musicService;
+
+	@Autowired
+	private PlayCounter playCounter;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private Long authorId;
+
+	@AfterEach
+	void deleteAuthor() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("DELETE FROM music_play_count WHERE author_id = ?", authorId);
+		jdbcTemplate.update("DELETE FROM music WHERE author_id = ?", authorId);
+		jdbcTemplate.update("DELETE FROM author WHERE id = ?", authorId);
+	}
+
+	@Test
+	void writtenPlaysMoveTheMusicETagOn() throws Exception {
+		authorId = authorService.create(new AuthorRequest("Play Count Versions", "play-count-versions-"
+				+ System.nanoTime() + "@test.com")).id();
+		Long musicId = musicService.create(new MusicRequest("Play Count Versions", 100, "Rock", authorId)).id();
+		String uri = "/api/v1/musics/" + musicId;
+
+		MvcResult first = mockMvc.perform(get(uri))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.playCount").value(0))
+				.andReturn();
+		String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		playCounter.record(musicId);
+		playCounter.record(musicId);
+		playCounter.flush();
+		resourceVersions.bumpPlayed();
+
+		mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.playCount").value(2));
+	}
+}
@@ -0,0 +1,114 @@
+package br.com.labs.web;
+
+import br.com.labs.config.QueryDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class QueryDeadlineInterceptorTest {
+
+	private static final String SLOW_QUERY = "SELECT pg_sleep(30) /* query deadline interceptor test */";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private QueryTimeoutProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void abortedAsyncRequestCancelsItsRunningStatement() throws Exception {
+		QueryDeadlineInterceptor interceptor = new QueryDeadlineInterceptor(properties);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/analytics/slow");
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("slowHandler"));
+		double aborted = abortedCount();
+
+		interceptor.preHandle(request, response, handler);
+		request.startAsync();
+		interceptor.afterConcurrentHandlingStarted(request, response, handler);
+		assertNull(QueryDeadline.current());
+
+		Callable<Void> task = () -> null;
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		CompletableFuture<Void> query = CompletableFuture.runAsync(() -> {
+			interceptor.preProcess(webRequest, task);
+			try (Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement()) {
+				statement.execute(SLOW_QUERY);
+			} catch (SQLException ex) {
+				throw new CompletionException(ex);
+			} finally {
+				interceptor.postProcess(webRequest, task, null);
+			}
+		});
+		awaitRunning();
+
+		// The container reports the broken connection to the async listeners
+		long abortedAt = System.nanoTime();
+		MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+		}
+
+		Exception failure = assertThrows(Exception.class, () -> query.get(5, TimeUnit.SECONDS));
+		SQLException cause = assertInstanceOf(SQLException.class, failure.getCause());
+		assertEquals("57014", cause.getSQLState());
+		// Well before the read group's own timeout would have cancelled it
+		assertTrue(System.nanoTime() - abortedAt < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(aborted + 1, abortedCount());
+	}
+
+	@SuppressWarnings("unused")
+	private void slowHandler() {
+	}
+
+	private void awaitRunning() throws InterruptedException {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (System.nanoTime() < giveUpAt) {
+			Integer running = jdbcTemplate.queryForObject(
+					"SELECT count(*) FROM pg_stat_activity WHERE state = 'active' AND query = ?", Integer.class,
+					SLOW_QUERY);
+			if (running != null && running > 0) {
+				return;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("The slow query never started");
+	}
+
+	private double abortedCount() {
+		var counter = meterRegistry.find("db.query.cancellations").tags("group", "read", "reason", "aborted").counter();
+		return counter == null ? 0 : counter.count();
+	}
+}
@@ -0,0 +1,99 @@
+package br.com.labs.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResourceVersionsTest {
+
+	private static final String CACHE_CONTROL = "max-age=30, public, s-maxage=600";
+	private static final ResourceVersion VERSION = new ResourceVersion("\"m7-1700000000000-3\"", 1_700_000_000_000L);
+
+	@Test
+	void everyFormatHasItsOwnETagAndVariesOnAccept() {
+		MockHttpServletResponse json = get("application/json", null);
+		MockHttpServletResponse cbor = get("application/cbor", null);
+
+		assertEquals("\"m7-1700000000000-3-json\"", json.getHeader(HttpHeaders.ETAG));
+		assertEquals("\"m7-1700000000000-3-cbor\"", cbor.getHeader(HttpHeaders.ETAG));
+		assertEquals(HttpHeaders.ACCEPT, json.getHeader(HttpHeaders.VARY));
+		assertEquals(HttpHeaders.ACCEPT, cbor.getHeader(HttpHeaders.VARY));
+	}
+
+	@Test
+	void validatorsOfOneFormatDoNotRevalidateAnother() {
+		String jsonETag = get("*/*", null).getHeader(HttpHeaders.ETAG);
+
+		assertEquals(304, get("application/json", jsonETag).getStatus());
+		assertEquals(200, get("application/x-protobuf", jsonETag).getStatus());
+	}
+
+	@Test
+	void notModifiedKeepsTheCachePolicy() {
+		String jsonETag = get("application/json", null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = get("application/json", jsonETag);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+		assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+	}
+
+	@Test
+	void errorResponsesCarryNoValidators() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/musics/7");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertFalse(ResourceVersions.isNotModified(new ServletWebRequest(request, response), VERSION, CACHE_CONTROL));
+
+		response.setStatus(404);
+		ResourceVersions.addValidators(request, response);
+
+		assertNull(response.getHeader(HttpHeaders.ETAG));
+		assertNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+	}
+
+	@Test
+	void negotiatesLikeTheConverters() {
+		assertEquals(RepresentationFormat.JSON, RepresentationFormat.negotiate(null));
+		assertEquals(RepresentationFormat.JSON, RepresentationFormat.negotiate("*/*"));
+		assertEquals(RepresentationFormat.SMILE,
+				RepresentationFormat.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+		assertEquals(RepresentationFormat.PROTOBUF, RepresentationFormat.negotiate("application/protobuf, */*;q=0.1"));
+		assertNull(RepresentationFormat.negotiate("text/csv"));
+	}
+
+	@Test
+	void varyIsAddedOnce() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.addHeader(HttpHeaders.VARY, "Accept-Encoding, Accept");
+
+		RepresentationFormat.varyOnAccept(response);
+
+		assertEquals(1, response.getHeaders(HttpHeaders.VARY).size());
+	}
+
+	private static MockHttpServletResponse get(String accept, String ifNoneMatch) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/musics/7");
+		request.addHeader(HttpHeaders.ACCEPT, accept);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		boolean notModified = ResourceVersions.isNotModified(new ServletWebRequest(request, response), VERSION,
+				CACHE_CONTROL);
+		if (notModified) {
+			assertEquals(304, response.getStatus());
+		} else {
+			assertNull(response.getHeader(HttpHeaders.ETAG));
+			// What the body advice does once the handler returns
+			ResourceVersions.addValidators(request, response);
+		}
+		return response;
+	}
+}
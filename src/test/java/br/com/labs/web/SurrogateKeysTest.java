@@ -0,0 +1,52 @@
+package br.com.labs.web;
+
+import br.com.labs.dto.response.ApiResponse;
+import br.com.labs.dto.response.AuthorStatsResponse;
+import br.com.labs.dto.response.MusicResponse;
+import br.com.labs.dto.response.MusicSearchResponse;
+import br.com.labs.dto.response.PageResponse;
+import br.com.labs.event.CatalogChangeEvent;
+import br.com.labs.model.ChangeOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SurrogateKeysTest {
+
+	@Test
+	void pageIsTaggedWithEveryRenderedEntity() {
+		MusicResponse music = new MusicResponse(7L, "Imagine", 183, "Rock",
+				new MusicResponse.AuthorSummary(1L, "John Lennon"), null, null, null);
+		PageResponse<MusicResponse> page = new PageResponse<>(List.of(music), 0, 20, 1, 1, true, true);
+
+		assertEquals(Set.of("music-7", "author-1"), SurrogateKeys.forBody(ApiResponse.success(page)));
+		assertEquals(Set.of("music-7", "author-1"),
+				SurrogateKeys.forBody(ApiResponse.success(MusicSearchResponse.of(page, null))));
+	}
+
+	@Test
+	void authorRankingIsTaggedWithEveryAuthor() {
+		List<AuthorStatsResponse> top = List.of(
+				new AuthorStatsResponse(2L, "Prolific Artist", 451, 90200, null, null),
+				new AuthorStatsResponse(1L, "John Lennon", 1, 184, null, null));
+
+		assertEquals(Set.of("author-2", "author-1"), SurrogateKeys.forBody(ApiResponse.success(top)));
+	}
+
+	@Test
+	void movedMusicPurgesBothAuthors() {
+		CatalogChangeEvent event = CatalogChangeEvent.musicMoved(7L, 2L, 1L);
+
+		assertEquals(Set.of("music-7", "musics", "author-2", "author-1"), SurrogateKeys.forEvent(event));
+	}
+
+	@Test
+	void deletedAuthorPurgesMusicLists() {
+		CatalogChangeEvent event = CatalogChangeEvent.author(ChangeOperation.DELETED, 1L);
+
+		assertEquals(Set.of("authors", "musics", "author-1"), SurrogateKeys.forEvent(event));
+	}
+}